@@ -0,0 +1,52 @@
+package com.itsazni.simpleLimbo.bridge;
+
+import com.itsazni.simpleLimbo.stub.StubProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alias lookups as done for every ServerPreConnectEvent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VelocityAliasBridgeBenchmark {
+
+    private StubProxy proxy;
+    private VelocityAliasBridge bridge;
+
+    @Setup
+    public void setup() {
+        proxy = new StubProxy(1, null);
+        bridge = proxy.boot().getVelocityAliasBridge();
+    }
+
+    @TearDown
+    public void tearDown() {
+        proxy.close();
+    }
+
+    @Benchmark
+    public String resolveHit() {
+        return bridge.resolveLimboByAlias("Auth");
+    }
+
+    @Benchmark
+    public String resolveMiss() {
+        return bridge.resolveLimboByAlias("survival");
+    }
+}
@@ -0,0 +1,69 @@
+package com.itsazni.simpleLimbo.compat;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap cost of the channel behind an injected fake server connection, per limbo player.
+ *
+ * Run with the gc profiler (enabled by default in build.gradle) and compare
+ * {@code gc.alloc.rate.norm}: it is the number of bytes allocated for one player's fake
+ * channel, plus one plugin message written to it while they sit in limbo. The discarding
+ * channel is registered with a shared event loop, standing in for the player's own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FakeChannelBenchmark {
+
+    private EventLoop playerLoop;
+
+    @Setup
+    public void setUp() {
+        playerLoop = new DefaultEventLoop();
+    }
+
+    @TearDown
+    public void tearDown() {
+        playerLoop.shutdownGracefully();
+    }
+
+    @Benchmark
+    public Channel embeddedChannelPerPlayer() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ByteBuf message = Unpooled.buffer(16).writeLong(0L);
+        channel.writeAndFlush(message);
+        channel.close();
+        channel.releaseOutbound();
+        return channel;
+    }
+
+    @Benchmark
+    public Channel discardingChannelPerPlayer() throws InterruptedException {
+        Channel channel = DiscardingChannel.register(playerLoop);
+        ByteBuf message = Unpooled.buffer(16).writeLong(0L);
+        channel.writeAndFlush(message).sync();
+        channel.close().sync();
+        return channel;
+    }
+}
@@ -0,0 +1,207 @@
+package com.itsazni.simpleLimbo.compat;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old per-call reflection path of {@link ServerConnectionInjector} with the
+ * MethodHandle/VarHandle path it uses now.
+ *
+ * Velocity internals are not on the benchmark classpath, so the stand-in classes below mirror
+ * the shapes the injector touches: the four-argument VelocityServerConnection constructor, the
+ * two-argument MinecraftConnection constructor, set/getConnectedServer on ConnectedPlayer,
+ * getChannel on MinecraftConnection and the private connection/hasCompletedJoin fields. The
+ * handles have the same kinds and call-site types as the injector's.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerConnectionInjectorBenchmark {
+
+    private static final MethodHandle NEW_SERVER_CONNECTION;
+    private static final MethodHandle NEW_MINECRAFT_CONNECTION;
+    private static final MethodHandle SET_CONNECTED_SERVER;
+    private static final MethodHandle GET_CONNECTED_SERVER;
+    private static final VarHandle HAS_COMPLETED_JOIN;
+    private static final VarHandle CONNECTION;
+    private static final MethodHandle GET_CHANNEL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEW_SERVER_CONNECTION = lookup.findConstructor(StubServerConnection.class, MethodType.methodType(void.class,
+                            StubRegisteredServer.class, StubRegisteredServer.class, StubPlayer.class, StubProxy.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Object.class, Object.class, Object.class));
+            NEW_MINECRAFT_CONNECTION = lookup.findConstructor(StubMinecraftConnection.class, MethodType.methodType(void.class,
+                            Channel.class, StubProxy.class))
+                    .asType(MethodType.methodType(Object.class, Channel.class, Object.class));
+            SET_CONNECTED_SERVER = lookup.findVirtual(StubPlayer.class, "setConnectedServer",
+                            MethodType.methodType(void.class, StubServerConnection.class))
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            GET_CONNECTED_SERVER = lookup.findVirtual(StubPlayer.class, "getConnectedServer",
+                            MethodType.methodType(StubServerConnection.class))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            HAS_COMPLETED_JOIN = lookup.findVarHandle(StubServerConnection.class, "hasCompletedJoin", boolean.class);
+            CONNECTION = lookup.findVarHandle(StubServerConnection.class, "connection", StubMinecraftConnection.class);
+            GET_CHANNEL = lookup.findVirtual(StubMinecraftConnection.class, "getChannel", MethodType.methodType(Channel.class))
+                    .asType(MethodType.methodType(Channel.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Constructor<?> serverConnectionConstructor;
+    private Constructor<?> minecraftConnectionConstructor;
+    private Method setConnectedServerMethod;
+    private Method getConnectedServerMethod;
+    private Field hasCompletedJoinField;
+    private Field connectionField;
+
+    private Channel channel;
+    private StubProxy proxy;
+    private StubRegisteredServer registeredServer;
+    private StubPlayer player;
+    private StubServerConnection injected;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        serverConnectionConstructor = StubServerConnection.class.getConstructor(
+                StubRegisteredServer.class, StubRegisteredServer.class, StubPlayer.class, StubProxy.class);
+        minecraftConnectionConstructor = StubMinecraftConnection.class.getConstructor(Channel.class, StubProxy.class);
+        setConnectedServerMethod = StubPlayer.class.getMethod("setConnectedServer", StubServerConnection.class);
+        getConnectedServerMethod = StubPlayer.class.getMethod("getConnectedServer");
+        hasCompletedJoinField = StubServerConnection.class.getDeclaredField("hasCompletedJoin");
+        hasCompletedJoinField.setAccessible(true);
+        connectionField = StubServerConnection.class.getDeclaredField("connection");
+        connectionField.setAccessible(true);
+
+        channel = new EmbeddedChannel();
+        proxy = new StubProxy();
+        registeredServer = new StubRegisteredServer();
+        player = new StubPlayer();
+        injected = new StubServerConnection(registeredServer, null, player, proxy);
+        injected.connection = new StubMinecraftConnection(channel, proxy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.close();
+    }
+
+    @Benchmark
+    public Object injectReflection() throws ReflectiveOperationException {
+        Object serverConnection = serverConnectionConstructor.newInstance(registeredServer, null, player, proxy);
+        Object minecraftConnection = minecraftConnectionConstructor.newInstance(channel, proxy);
+        connectionField.set(serverConnection, minecraftConnection);
+        hasCompletedJoinField.setBoolean(serverConnection, true);
+        setConnectedServerMethod.invoke(player, serverConnection);
+        return serverConnection;
+    }
+
+    @Benchmark
+    public Object injectHandles() throws Throwable {
+        Object serverConnection = (Object) NEW_SERVER_CONNECTION.invokeExact(
+                (Object) registeredServer, (Object) null, (Object) player, (Object) proxy);
+        Object minecraftConnection = (Object) NEW_MINECRAFT_CONNECTION.invokeExact(channel, (Object) proxy);
+        CONNECTION.set(serverConnection, minecraftConnection);
+        HAS_COMPLETED_JOIN.set(serverConnection, true);
+        SET_CONNECTED_SERVER.invokeExact((Object) player, serverConnection);
+        return serverConnection;
+    }
+
+    @Benchmark
+    public Object clearReflection() throws ReflectiveOperationException {
+        player.connectedServer = injected;
+
+        Object currentConnection = getConnectedServerMethod.invoke(player);
+        Object minecraftConn = connectionField.get(currentConnection);
+        Field channelField = StubMinecraftConnection.class.getDeclaredField("channel");
+        channelField.setAccessible(true);
+        Object minecraftChannel = channelField.get(minecraftConn);
+        setConnectedServerMethod.invoke(player, (Object) null);
+        return minecraftChannel;
+    }
+
+    @Benchmark
+    public Object clearHandles() throws Throwable {
+        player.connectedServer = injected;
+
+        Object currentConnection = (Object) GET_CONNECTED_SERVER.invokeExact((Object) player);
+        Object minecraftConn = CONNECTION.get(currentConnection);
+        Channel minecraftChannel = (Channel) GET_CHANNEL.invokeExact(minecraftConn);
+        SET_CONNECTED_SERVER.invokeExact((Object) player, (Object) null);
+        return minecraftChannel;
+    }
+
+    public static final class StubProxy {
+    }
+
+    public static final class StubRegisteredServer {
+    }
+
+    public static final class StubPlayer {
+        private StubServerConnection connectedServer;
+
+        public StubServerConnection getConnectedServer() {
+            return connectedServer;
+        }
+
+        public void setConnectedServer(StubServerConnection connectedServer) {
+            this.connectedServer = connectedServer;
+        }
+    }
+
+    public static final class StubMinecraftConnection {
+        private final Channel channel;
+        private final StubProxy server;
+
+        public StubMinecraftConnection(Channel channel, StubProxy server) {
+            this.channel = channel;
+            this.server = server;
+        }
+
+        public Channel getChannel() {
+            return channel;
+        }
+    }
+
+    public static final class StubServerConnection {
+        private final StubRegisteredServer registeredServer;
+        private final StubRegisteredServer previousServer;
+        private final StubPlayer proxyPlayer;
+        private final StubProxy server;
+        private StubMinecraftConnection connection;
+        private boolean hasCompletedJoin;
+
+        public StubServerConnection(StubRegisteredServer registeredServer, StubRegisteredServer previousServer,
+                                    StubPlayer proxyPlayer, StubProxy server) {
+            this.registeredServer = registeredServer;
+            this.previousServer = previousServer;
+            this.proxyPlayer = proxyPlayer;
+            this.server = server;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.itsazni.simpleLimbo.limbo;
+
+import com.itsazni.simpleLimbo.stub.StubProxy;
+import com.velocitypowered.api.proxy.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player count and lookup queries with the given number of players spread over the default limbos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LimboManagerBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int players;
+
+    private StubProxy proxy;
+    private LimboManager manager;
+    private Player probe;
+
+    @Setup
+    public void setup() {
+        proxy = new StubProxy(2, null);
+        manager = proxy.boot().getLimboManager();
+        String[] limbos = manager.getLimboNames().toArray(new String[0]);
+        for (int i = 0; i < players; i++) {
+            Player player = proxy.join("player" + i);
+            manager.sendPlayerToLimbo(player, limbos[i % limbos.length]);
+            probe = player;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        proxy.close();
+    }
+
+    @Benchmark
+    public int getPlayerCount() {
+        return manager.getPlayerCount("afk");
+    }
+
+    @Benchmark
+    public int getTotalPlayersInLimbos() {
+        return manager.getTotalPlayersInLimbos();
+    }
+
+    @Benchmark
+    public boolean isPlayerInLimbo() {
+        return manager.isPlayerInLimbo(probe);
+    }
+}
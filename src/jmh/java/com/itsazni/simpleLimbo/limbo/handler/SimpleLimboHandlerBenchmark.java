@@ -0,0 +1,77 @@
+package com.itsazni.simpleLimbo.limbo.handler;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.stub.StubProxy;
+import com.velocitypowered.api.proxy.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-packet handler paths for one player in the "auth" limbo, with anti-fall active.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleLimboHandlerBenchmark {
+
+    private StubProxy proxy;
+    private SimpleLimboHandler handler;
+    private double y;
+
+    @Setup
+    public void setup() {
+        // Anti-fall straight away, so onMove runs the full hold-Y check
+        proxy = new StubProxy(1, StubProxy.defaultConfig().replace("disable-falling-delay-ms: 5000", "disable-falling-delay-ms: 0"));
+        SimpleLimbo plugin = proxy.boot();
+        Player player = proxy.join("bench");
+        plugin.getLimboManager().sendPlayerToLimbo(player, "auth");
+        handler = (SimpleLimboHandler) proxy.getLimboHandler(player);
+        handler.onMove(0.5, 100.0, 0.5, 0f, 0f);
+        y = 100.0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        proxy.close();
+    }
+
+    @Benchmark
+    public void onMoveSteady() {
+        handler.onMove(0.5, y, 0.5, 90f, 0f);
+    }
+
+    @Benchmark
+    public void onMoveFalling() {
+        // Below the held Y, so every call teleports back
+        handler.onMove(0.5, y - 1.0, 0.5, 90f, 0f);
+    }
+
+    @Benchmark
+    public void onChatPlain() {
+        handler.onChat("hello there");
+    }
+
+    @Benchmark
+    public void onChatBlockedCommand() {
+        handler.onChat("/spawn now");
+    }
+
+    @Benchmark
+    public void onChatAllowedCommand() {
+        handler.onChat("/login secret");
+    }
+}
@@ -0,0 +1,54 @@
+package com.itsazni.simpleLimbo.loadsim;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-capacity latency samples for one operation. Samples past the capacity are counted but
+ * not kept, so recording never allocates once the run has started.
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(String name, int capacity) {
+        this.name = name;
+        this.samples = new long[capacity];
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        }
+    }
+
+    int count() {
+        return count.get();
+    }
+
+    String summary(double elapsedSeconds) {
+        int total = count.get();
+        if (total == 0) {
+            return String.format("%-12s no samples", name);
+        }
+
+        long[] sorted = Arrays.copyOf(samples, Math.min(total, samples.length));
+        Arrays.sort(sorted);
+        return String.format("%-12s %9d ops %11.0f ops/s   p50 %9s   p99 %9s   p99.9 %9s   max %9s",
+                name, total, total / elapsedSeconds,
+                micros(percentile(sorted, 0.50)), micros(percentile(sorted, 0.99)),
+                micros(percentile(sorted, 0.999)), micros(sorted[sorted.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+}
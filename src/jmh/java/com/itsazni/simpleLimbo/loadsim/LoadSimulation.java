@@ -0,0 +1,225 @@
+package com.itsazni.simpleLimbo.loadsim;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.listener.PlayerListener;
+import com.itsazni.simpleLimbo.stub.StubProxy;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.player.KickedFromServerEvent;
+import com.velocitypowered.api.event.player.PlayerChatEvent;
+import com.velocitypowered.api.event.player.ServerPreConnectEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import net.elytrium.limboapi.api.LimboSessionHandler;
+import net.kyori.adventure.text.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless load simulation: boots the plugin on a {@link StubProxy} and drives a fallback storm
+ * through {@link PlayerListener}, {@link com.itsazni.simpleLimbo.limbo.LimboManager} and the
+ * limbo session handlers.
+ *
+ * Phases:
+ * <ol>
+ *   <li>join: every player connects to a backend (ServerPreConnectEvent, no alias)</li>
+ *   <li>storm: every player is kicked with a fallback reason and lands in the fallback limbo</li>
+ *   <li>traffic: each player sends moves and chat from their own "event loop" thread</li>
+ *   <li>quit: every player disconnects</li>
+ * </ol>
+ *
+ * Events are issued at {@code rate} per second; latencies are measured from the intended send
+ * time, so queueing behind a slow call shows up in the percentiles.
+ *
+ * Options (all {@code --key=value}): players, rate, moves, chats, threads.
+ */
+public final class LoadSimulation {
+
+    private static final String KICK_REASON = "Server closed";
+
+    private final int players;
+    private final double rate;
+    private final int moves;
+    private final int chats;
+    private final int threads;
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private LoadSimulation(Map<String, String> options) {
+        this.players = Integer.parseInt(options.getOrDefault("players", "10000"));
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "20000"));
+        this.moves = Integer.parseInt(options.getOrDefault("moves", "20"));
+        this.chats = Integer.parseInt(options.getOrDefault("chats", "2"));
+        this.threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new LoadSimulation(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("players=%d rate=%.0f/s moves=%d chats=%d threads=%d%n", players, rate, moves, chats, threads);
+
+        // Event loops: each player's events always run on the same thread, as with Netty
+        ExecutorService[] loops = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = Executors.newSingleThreadExecutor();
+        }
+
+        try (StubProxy proxy = new StubProxy(threads, null)) {
+            SimpleLimbo plugin = proxy.boot();
+            PlayerListener listener = proxy.getListener(PlayerListener.class);
+            RegisteredServer backend = proxy.addServer("lobby");
+            Component reason = Component.text(KICK_REASON);
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            long baselineHeap = usedHeapAfterGc(memory);
+
+            List<Player> online = new ArrayList<>(players);
+            for (int i = 0; i < players; i++) {
+                online.add(proxy.join("sim" + i));
+            }
+
+            LatencyRecorder join = new LatencyRecorder("join", players);
+            phase("join", loops, join, index -> {
+                Player player = online.get(index);
+                listener.onServerPreConnect(new ServerPreConnectEvent(player, backend));
+            });
+
+            LatencyRecorder kick = new LatencyRecorder("kick", players);
+            phase("storm", loops, kick, index -> {
+                Player player = online.get(index);
+                listener.onKickedFromServer(new KickedFromServerEvent(player, backend, reason, false,
+                        KickedFromServerEvent.DisconnectPlayer.create(reason)));
+            });
+
+            long peakHeap = usedHeapAfterGc(memory);
+            int inLimbo = plugin.getLimboManager().getTotalPlayersInLimbos();
+
+            int perPlayer = moves + chats;
+            LatencyRecorder move = new LatencyRecorder("move", players * Math.max(1, moves));
+            LatencyRecorder chat = new LatencyRecorder("chat", players * Math.max(1, chats));
+            if (perPlayer > 0) {
+                phase("traffic", loops, players * perPlayer, index -> {
+                    Player player = online.get(index % players);
+                    int step = index / players;
+                    LimboSessionHandler handler = proxy.getLimboHandler(player);
+                    if (handler == null) {
+                        errors.incrementAndGet();
+                        return null;
+                    }
+                    if (step < moves) {
+                        handler.onMove(0.5, 100.0 - (step % 3) * 0.5, 0.5, step, 0f);
+                        return move;
+                    }
+                    handler.onChat(step % 2 == 0 ? "hello" : "/spawn");
+                    listener.onPlayerChat(new PlayerChatEvent(player, "hello"));
+                    return chat;
+                }, move, chat);
+            }
+
+            LatencyRecorder quit = new LatencyRecorder("quit", players);
+            phase("quit", loops, quit, index -> {
+                Player player = online.get(index);
+                proxy.quit(player);
+                listener.onDisconnect(new DisconnectEvent(player, DisconnectEvent.LoginStatus.SUCCESSFUL_LOGIN));
+            });
+
+            System.out.println();
+            System.out.printf("players in limbo after storm: %d of %d%n", inLimbo, players);
+            System.out.printf("heap per session: %.0f bytes (%.1f MiB over baseline)%n",
+                    (peakHeap - baselineHeap) / (double) players, (peakHeap - baselineHeap) / (1024.0 * 1024.0));
+            System.out.println();
+            System.out.println("leaked tracking entries:");
+            System.out.printf("  sessions:           %d%n", plugin.getSessionRegistry().size());
+            System.out.printf("  limbo player count: %d%n", plugin.getLimboManager().getTotalPlayersInLimbos());
+            System.out.printf("  limbo handlers:     %d%n", proxy.getLimboHandlerCount());
+            System.out.printf("errors: %d%n", errors.get());
+        } finally {
+            for (ExecutorService loop : loops) {
+                loop.shutdownNow();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(int index);
+    }
+
+    @FunctionalInterface
+    private interface RecordingStep {
+        LatencyRecorder run(int index);
+    }
+
+    private void phase(String name, ExecutorService[] loops, LatencyRecorder recorder, Step step) throws InterruptedException {
+        phase(name, loops, players, index -> {
+            step.run(index);
+            return recorder;
+        }, recorder);
+    }
+
+    private void phase(String name, ExecutorService[] loops, int events, RecordingStep step,
+                       LatencyRecorder... recorders) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(events);
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < events; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int index = i;
+            loops[(index % players) % loops.length].execute(() -> {
+                try {
+                    LatencyRecorder recorder = step.run(index);
+                    if (recorder != null) {
+                        recorder.record(System.nanoTime() - intended);
+                    }
+                } catch (Throwable e) {
+                    if (errors.getAndIncrement() == 0) {
+                        e.printStackTrace();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        if (!done.await(10, TimeUnit.MINUTES)) {
+            System.out.printf("[%s] timed out with %d events outstanding%n", name, done.getCount());
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("[%s] %d events in %.2fs%n", name, events, elapsed);
+        for (LatencyRecorder recorder : recorders) {
+            System.out.println("  " + recorder.summary(elapsed));
+        }
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
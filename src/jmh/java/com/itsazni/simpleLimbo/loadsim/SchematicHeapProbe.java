@@ -0,0 +1,250 @@
+package com.itsazni.simpleLimbo.loadsim;
+
+import com.itsazni.simpleLimbo.stub.Stubs;
+import com.itsazni.simpleLimbo.world.StreamingSchemFile;
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
+import net.elytrium.limboapi.api.chunk.VirtualWorld;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.NumberBinaryTag;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures peak heap while loading a large generated Sponge schematic, with {@link StreamingSchemFile}
+ * and with a tree loader that works like LimboAPI's (read the whole NBT tree, expand the block data to
+ * an int per block, then place). Blocks go into a world that only counts them, so the figures are the
+ * loader's own memory on top of whatever the placed world needs.
+ *
+ * Peaks come from the heap memory pools, reset after a full GC before each load. Eden is left out:
+ * it fills with short-lived garbage up to its size whatever the loader does, while large arrays
+ * and anything that stays alive end up in the other pools. Run each loader in its own JVM
+ * ({@code --loader=streaming} or {@code --loader=tree}) for the cleanest numbers.
+ *
+ * Options (all {@code --key=value}): size (width and length, default 512), height (default 128),
+ * palette (distinct blocks, default 200), loader (streaming, tree or both), file (keep the schematic here).
+ */
+public final class SchematicHeapProbe {
+
+    private final int size;
+    private final int height;
+    private final int paletteSize;
+    private final String loader;
+    private final Path file;
+
+    private SchematicHeapProbe(Map<String, String> options) throws IOException {
+        this.size = Integer.parseInt(options.getOrDefault("size", "512"));
+        this.height = Integer.parseInt(options.getOrDefault("height", "128"));
+        this.paletteSize = Integer.parseInt(options.getOrDefault("palette", "200"));
+        this.loader = options.getOrDefault("loader", "both");
+        this.file = options.containsKey("file")
+                ? Path.of(options.get("file"))
+                : Files.createTempFile("simplelimbo-probe", ".schem");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new SchematicHeapProbe(options).run(options.containsKey("file"));
+    }
+
+    private void run(boolean keepFile) throws Exception {
+        long blocks = (long) size * size * height;
+        writeSchematic();
+        System.out.printf("schematic=%s blocks=%d palette=%d file=%.1f MiB max-heap=%.0f MiB%n",
+                file, blocks, paletteSize, Files.size(file) / 1048576.0, Runtime.getRuntime().maxMemory() / 1048576.0);
+
+        try {
+            if (loader.equals("streaming") || loader.equals("both")) {
+                measure("streaming", (factory, world) -> new StreamingSchemFile(file).toWorld(factory, world, 0, 0, 0, 15));
+            }
+            if (loader.equals("tree") || loader.equals("both")) {
+                measure("tree", this::loadTree);
+            }
+        } finally {
+            if (!keepFile) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private interface Loader {
+        void load(LimboFactory factory, VirtualWorld world) throws Exception;
+    }
+
+    private void measure(String name, Loader load) throws Exception {
+        AtomicLong placed = new AtomicLong();
+        LimboFactory factory = Stubs.of(LimboFactory.class);
+        VirtualWorld world = Stubs.of(VirtualWorld.class, Map.of(
+                "setBlock", args -> {
+                    placed.incrementAndGet();
+                    return null;
+                }
+        ));
+
+        long baseline = resetPeaks();
+        long start = System.nanoTime();
+        load.load(factory, world);
+        long elapsed = System.nanoTime() - start;
+        long peak = peakHeap();
+
+        System.out.printf("%-9s placed=%d time=%dms peak-heap=%.1f MiB (+%.1f MiB over baseline)%n",
+                name, placed.get(), elapsed / 1_000_000, peak / 1048576.0, (peak - baseline) / 1048576.0);
+    }
+
+    /**
+     * The same steps as LimboAPI's WorldEditSchemFile: whole tree, then an int per block, then placement.
+     */
+    private void loadTree(LimboFactory factory, VirtualWorld world) throws IOException {
+        CompoundBinaryTag root;
+        try (InputStream in = Files.newInputStream(file)) {
+            root = BinaryTagIO.unlimitedReader().read(in, BinaryTagIO.Compression.GZIP);
+        }
+        int width = root.getShort("Width");
+        int schemHeight = root.getShort("Height");
+        int length = root.getShort("Length");
+        byte[] data = root.getByteArray("BlockData");
+
+        int[] indices = new int[width * schemHeight * length];
+        int position = 0;
+        for (int i = 0; i < indices.length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            indices[i] = value;
+        }
+
+        CompoundBinaryTag paletteTag = root.getCompound("Palette");
+        VirtualBlock[] palette = new VirtualBlock[paletteTag.keySet().size()];
+        for (Map.Entry<String, ? extends BinaryTag> entry : paletteTag) {
+            palette[((NumberBinaryTag) entry.getValue()).intValue()] = factory.createSimpleBlock(entry.getKey());
+        }
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < schemHeight; y++) {
+                for (int z = 0; z < length; z++) {
+                    world.setBlock(x, y, z, palette[indices[(y * length + z) * width + x]]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a version 2 schematic directly as NBT, so generating it needs no memory either.
+     */
+    private void writeSchematic() throws IOException {
+        long blocks = (long) size * size * height;
+        Random random = new Random(42);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024), 64 * 1024))) {
+            out.writeByte(10);
+            out.writeUTF("Schematic");
+
+            out.writeByte(3);
+            out.writeUTF("Version");
+            out.writeInt(2);
+            writeShort(out, "Width", size);
+            writeShort(out, "Height", height);
+            writeShort(out, "Length", size);
+
+            out.writeByte(10);
+            out.writeUTF("Palette");
+            for (int i = 0; i < paletteSize; i++) {
+                out.writeByte(3);
+                out.writeUTF("minecraft:probe_block_" + i);
+                out.writeInt(i);
+            }
+            out.writeByte(0);
+
+            // Count the varint bytes first, the array length comes before the data
+            int[] layer = new int[size * size];
+            long dataBytes = 0;
+            for (int i = 0; i < layer.length; i++) {
+                layer[i] = random.nextInt(paletteSize);
+                dataBytes += layer[i] < 128 ? 1 : 2;
+            }
+            dataBytes *= height;
+            if (dataBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Schematic too large: " + blocks + " blocks");
+            }
+
+            out.writeByte(7);
+            out.writeUTF("BlockData");
+            out.writeInt((int) dataBytes);
+            // Every layer repeats the same random pattern; the content does not matter for memory
+            for (int y = 0; y < height; y++) {
+                for (int index : layer) {
+                    if (index < 128) {
+                        out.writeByte(index);
+                    } else {
+                        out.writeByte((index & 0x7F) | 0x80);
+                        out.writeByte(index >>> 7);
+                    }
+                }
+            }
+
+            out.writeByte(9);
+            out.writeUTF("BlockEntities");
+            out.writeByte(10);
+            out.writeInt(0);
+
+            out.writeByte(0);
+        }
+    }
+
+    private static void writeShort(DataOutputStream out, String name, int value) throws IOException {
+        out.writeByte(2);
+        out.writeUTF(name);
+        out.writeShort(value);
+    }
+
+    private static long resetPeaks() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (isRetainedPool(pool)) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (isRetainedPool(pool)) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static boolean isRetainedPool(MemoryPoolMXBean pool) {
+        return pool.getType() == MemoryType.HEAP && !pool.getName().contains("Eden");
+    }
+}
@@ -0,0 +1,197 @@
+package com.itsazni.simpleLimbo.loadsim;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.listener.PlayerListener;
+import com.itsazni.simpleLimbo.stub.StubProxy;
+import com.itsazni.simpleLimbo.trace.TraceEvent;
+import com.itsazni.simpleLimbo.trace.TraceReader;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.player.KickedFromServerEvent;
+import com.velocitypowered.api.event.player.PlayerChatEvent;
+import com.velocitypowered.api.event.player.ServerPreConnectEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import net.elytrium.limboapi.api.LimboSessionHandler;
+import net.kyori.adventure.text.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a trace recorded by {@link com.itsazni.simpleLimbo.trace.TraceRecorder} against the
+ * plugin running on a {@link StubProxy}, keeping the recorded timing scaled by {@code speed}
+ * (1 = real time, 10 = ten times faster, 0 = as fast as possible).
+ *
+ * Spawn and exit events are only replayed when the preceding events did not already produce
+ * them, e.g. players moved with /simplelimbo send.
+ *
+ * Options (all {@code --key=value}): trace (required), speed, threads, config (path to a config.yml).
+ */
+public final class TraceReplay {
+
+    private final Path trace;
+    private final double speed;
+    private final int threads;
+    private final Path config;
+
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    private TraceReplay(Map<String, String> options) {
+        if (!options.containsKey("trace")) {
+            throw new IllegalArgumentException("--trace=<file> is required");
+        }
+        this.trace = Path.of(options.get("trace"));
+        this.speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        this.threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.config = options.containsKey("config") ? Path.of(options.get("config")) : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new TraceReplay(options).run();
+    }
+
+    private void run() throws Exception {
+        List<TraceEvent> events;
+        long recordedAt;
+        try (TraceReader reader = new TraceReader(trace)) {
+            recordedAt = reader.getStartEpochMillis();
+            events = reader.readAll();
+        }
+        if (events.isEmpty()) {
+            System.out.println("Trace is empty");
+            return;
+        }
+
+        double recordedSeconds = events.get(events.size() - 1).getTimeNanos() / 1e9;
+        System.out.printf("trace=%s recorded=%s events=%d span=%.1fs speed=%s threads=%d%n",
+                trace, Instant.ofEpochMilli(recordedAt), events.size(), recordedSeconds,
+                speed <= 0 ? "max" : speed + "x", threads);
+
+        Map<TraceEvent.Type, LatencyRecorder> recorders = new EnumMap<>(TraceEvent.Type.class);
+        for (TraceEvent.Type type : TraceEvent.Type.values()) {
+            recorders.put(type, new LatencyRecorder(type.name().toLowerCase(), events.size()));
+        }
+
+        ExecutorService[] loops = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            loops[i] = Executors.newSingleThreadExecutor();
+        }
+
+        String configText = config == null ? null : Files.readString(config);
+        try (StubProxy proxy = new StubProxy(threads, configText)) {
+            SimpleLimbo plugin = proxy.boot();
+            PlayerListener listener = proxy.getListener(PlayerListener.class);
+
+            CountDownLatch done = new CountDownLatch(events.size());
+            long start = System.nanoTime();
+            for (TraceEvent event : events) {
+                long intended = speed <= 0 ? System.nanoTime() : start + (long) (event.getTimeNanos() / speed);
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                // Same player, same thread: keeps each player's events in recorded order
+                int loop = Math.floorMod(event.getPlayer().hashCode(), loops.length);
+                loops[loop].execute(() -> {
+                    try {
+                        long begin = System.nanoTime();
+                        maxLagNanos.accumulateAndGet(begin - intended, Math::max);
+                        apply(proxy, plugin, listener, event);
+                        recorders.get(event.getType()).record(System.nanoTime() - intended);
+                    } catch (Throwable e) {
+                        if (errors.getAndIncrement() == 0) {
+                            e.printStackTrace();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            done.await(1, TimeUnit.HOURS);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%nreplayed %d events in %.2fs (%.0f events/s), max lag behind schedule %.1fms%n",
+                    events.size(), elapsed, events.size() / elapsed, maxLagNanos.get() / 1e6);
+            for (LatencyRecorder recorder : recorders.values()) {
+                if (recorder.count() > 0) {
+                    System.out.println("  " + recorder.summary(elapsed));
+                }
+            }
+            System.out.println();
+            System.out.printf("players still online: %d%n", players.size());
+            System.out.printf("sessions: %d, in limbo: %d, limbo handlers: %d%n",
+                    plugin.getSessionRegistry().size(),
+                    plugin.getLimboManager().getTotalPlayersInLimbos(),
+                    proxy.getLimboHandlerCount());
+            System.out.printf("errors: %d%n", errors.get());
+        } finally {
+            for (ExecutorService loop : loops) {
+                loop.shutdownNow();
+            }
+        }
+    }
+
+    private void apply(StubProxy proxy, SimpleLimbo plugin, PlayerListener listener, TraceEvent event) {
+        Player player = players.computeIfAbsent(event.getPlayer(), proxy::join);
+        switch (event.getType()) {
+            case PRE_CONNECT -> listener.onServerPreConnect(new ServerPreConnectEvent(player, server(proxy, event.getTarget())));
+            case KICK -> {
+                Component reason = Component.text(event.getText());
+                listener.onKickedFromServer(new KickedFromServerEvent(player, server(proxy, event.getTarget()), reason, false,
+                        KickedFromServerEvent.DisconnectPlayer.create(reason)));
+            }
+            case CHAT -> {
+                LimboSessionHandler handler = proxy.getLimboHandler(player);
+                if (handler != null) {
+                    handler.onChat(event.getText());
+                } else {
+                    listener.onPlayerChat(new PlayerChatEvent(player, event.getText()));
+                }
+            }
+            case LIMBO_SPAWN -> {
+                Optional<String> current = plugin.getLimboManager().getPlayerLimbo(player);
+                if (current.isEmpty() || !current.get().equals(event.getTarget())) {
+                    plugin.getLimboManager().sendPlayerToLimbo(player, event.getTarget());
+                }
+            }
+            case LIMBO_EXIT -> {
+                Optional<String> current = plugin.getLimboManager().getPlayerLimbo(player);
+                if (current.isPresent() && current.get().equals(event.getTarget())) {
+                    proxy.leaveLimbo(player);
+                }
+            }
+            case DISCONNECT -> {
+                proxy.quit(player);
+                listener.onDisconnect(new DisconnectEvent(player, DisconnectEvent.LoginStatus.SUCCESSFUL_LOGIN));
+                players.remove(event.getPlayer());
+            }
+        }
+    }
+
+    private static RegisteredServer server(StubProxy proxy, String name) {
+        return proxy.getServer().getServer(name).orElseGet(() -> proxy.addServer(name));
+    }
+}
@@ -0,0 +1,70 @@
+package com.itsazni.simpleLimbo.loadsim;
+
+import com.itsazni.simpleLimbo.display.ActionBarSlot;
+import com.itsazni.simpleLimbo.display.LimboDisplay;
+import com.itsazni.simpleLimbo.limbo.handler.SimpleLimboHandler;
+import com.itsazni.simpleLimbo.metrics.LimboStats;
+import com.itsazni.simpleLimbo.session.PlayerSession;
+import com.itsazni.simpleLimbo.session.SessionRegistry;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures the per-player objects behind {@link SessionRegistry#estimateHeapBytes()} with JOL, so
+ * its constants can be checked after the session classes change, and the per-limbo
+ * {@link LimboStats#ESTIMATED_BYTES}.
+ *
+ * Sizes are shallow and only cover objects owned by one player's tracking: the Player, the limbo,
+ * the plugin and the event loop are shared and left out. Timers are sized as the Netty task the
+ * player's event loop creates for them, plus the lambda it runs. LimboStats owns nothing shared,
+ * so it is measured as its whole object graph.
+ */
+public final class TrackingHeapProbe {
+
+    private TrackingHeapProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println(VM.current().details());
+
+        long session = size(PlayerSession.class) + size(ActionBarSlot.class) + size(AtomicReference.class)
+                + size(Class.forName("java.util.concurrent.ConcurrentHashMap$Node"));
+        long stint = size(SimpleLimboHandler.class) + size(Double.class);
+        long display = size(LimboDisplay.class);
+        long timer = timerBytes();
+
+        print("session (session, action bar slot, map node)", session);
+        print("limbo stint (handler, boxed hold height)", stint);
+        print("display", display);
+        print("timer (scheduled task and lambda)", timer);
+        print("limbo stats (per limbo)", GraphLayout.parseInstance(new LimboStats()).totalSize());
+    }
+
+    private static long timerBytes() throws Exception {
+        DefaultEventLoop loop = new DefaultEventLoop();
+        try {
+            Object owner = new Object();
+            Runnable task = () -> owner.hashCode();
+            ScheduledFuture<?> future = loop.schedule(task, 1, TimeUnit.HOURS);
+            long bytes = ClassLayout.parseInstance(future).instanceSize() + ClassLayout.parseInstance(task).instanceSize();
+            future.cancel(false);
+            return bytes;
+        } finally {
+            loop.shutdownGracefully().sync();
+        }
+    }
+
+    private static long size(Class<?> type) {
+        return ClassLayout.parseClass(type).instanceSize();
+    }
+
+    private static void print(String name, long bytes) {
+        System.out.printf("%-46s %4d bytes%n", name, bytes);
+    }
+}
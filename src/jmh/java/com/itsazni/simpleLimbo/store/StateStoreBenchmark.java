@@ -0,0 +1,109 @@
+package com.itsazni.simpleLimbo.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State store writes and reads as seen by the join path and the queue tick. The network store
+ * runs against an in-process {@link StateStoreServer} with a second proxy connected; replication
+ * itself is covered by StateStoreServerTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateStoreBenchmark {
+
+    private static final long CONNECT_TIMEOUT_MS = 5000;
+    private static final String SECRET = "bench";
+
+    @Param({"memory", "network"})
+    public String type;
+
+    @Param({"1000"})
+    public int queued;
+
+    private StateStoreServer server;
+    private StateStore store;
+    private StateStore peer;
+    private UUID player;
+
+    @Setup
+    public void setup() throws Exception {
+        if (type.equals("network")) {
+            server = new StateStoreServer("127.0.0.1", 0, SECRET, NOPLogger.NOP_LOGGER);
+            server.start();
+            store = new NetworkStateStore("bench-a", "127.0.0.1", server.getPort(), SECRET, 50, NOPLogger.NOP_LOGGER);
+            peer = new NetworkStateStore("bench-b", "127.0.0.1", server.getPort(), SECRET, 50, NOPLogger.NOP_LOGGER);
+            peer.start();
+        } else {
+            store = new MemoryStateStore("bench-a");
+        }
+        store.start();
+
+        for (int i = 0; i < queued; i++) {
+            store.enqueue("queue", new QueueTicket(UUID.randomUUID(), i % 3, System.currentTimeMillis(), store.getProxyId()));
+        }
+        player = UUID.randomUUID();
+
+        if (peer != null) {
+            // Measure with the connection up, not the local-only fallback
+            awaitConnected((NetworkStateStore) store);
+            awaitConnected((NetworkStateStore) peer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+        if (peer != null) {
+            peer.close();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public void joinAndLeave() {
+        store.addMember("limbo", player);
+        store.removeMember("limbo", player);
+    }
+
+    @Benchmark
+    public int memberCount() {
+        return store.getMemberCount("limbo");
+    }
+
+    @Benchmark
+    public List<QueueTicket> queueSnapshot() {
+        return store.getQueue("queue");
+    }
+
+    private static void awaitConnected(NetworkStateStore networkStore) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+        while (!networkStore.isConnected()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("State store did not connect within " + CONNECT_TIMEOUT_MS + "ms");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.itsazni.simpleLimbo.stub;
+
+import com.velocitypowered.api.proxy.Player;
+import net.elytrium.limboapi.api.player.LimboPlayer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Stub {@link Player} and {@link LimboPlayer} instances. Messages, titles, teleports and the
+ * like are swallowed; identity, permissions and the scheduled executor behave like the real ones.
+ */
+public final class StubPlayers {
+
+    private StubPlayers() {
+    }
+
+    public static Player player(String name) {
+        return player(name, UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static Player player(String name, UUID uniqueId) {
+        return Stubs.of(Player.class, Map.of(
+                "getUsername", args -> name,
+                "getUniqueId", args -> uniqueId,
+                "isActive", args -> true,
+                "hasPermission", args -> false
+        ));
+    }
+
+    public static LimboPlayer limboPlayer(Player player, ScheduledExecutorService executor, Runnable onDisconnect) {
+        return Stubs.of(LimboPlayer.class, Map.of(
+                "getProxyPlayer", args -> player,
+                "getScheduledExecutor", args -> executor,
+                "disconnect", args -> {
+                    onDisconnect.run();
+                    return null;
+                }
+        ));
+    }
+}
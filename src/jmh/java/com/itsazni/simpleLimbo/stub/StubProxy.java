@@ -0,0 +1,333 @@
+package com.itsazni.simpleLimbo.stub;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.listener.PlayerListener;
+import com.velocitypowered.api.command.CommandManager;
+import com.velocitypowered.api.event.Continuation;
+import com.velocitypowered.api.event.EventManager;
+import com.velocitypowered.api.event.EventTask;
+import com.velocitypowered.api.event.connection.LoginEvent;
+import com.velocitypowered.api.event.proxy.ProxyInitializeEvent;
+import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginManager;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import com.velocitypowered.api.scheduler.Scheduler;
+import net.elytrium.limboapi.api.Limbo;
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.LimboSessionHandler;
+import net.elytrium.limboapi.api.player.LimboPlayer;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory stand-in for a Velocity proxy with LimboAPI installed.
+ *
+ * Boots a real {@link SimpleLimbo} against stub {@link ProxyServer}, {@link LimboFactory},
+ * {@link Limbo} and {@link LimboPlayer} instances. Spawning into a stub limbo calls the session
+ * handler's onSpawn straight away, and {@link LimboPlayer#disconnect()} calls onDisconnect, so
+ * the plugin sees the same callback order as on a proxy.
+ */
+public final class StubProxy implements AutoCloseable {
+
+    private final ScheduledExecutorService executor;
+    private final Map<String, RegisteredServer> servers = new ConcurrentHashMap<>();
+    private final Map<UUID, Player> players = new ConcurrentHashMap<>();
+    private final Map<UUID, LimboSessionHandler> limboHandlers = new ConcurrentHashMap<>();
+    private final List<Object> listeners = new CopyOnWriteArrayList<>();
+    private final ProxyServer server;
+    private final LimboFactory factory;
+    private final Path dataDirectory;
+
+    private SimpleLimbo plugin;
+
+    /**
+     * @param threads threads for scheduled tasks and limbo player event loops
+     * @param config  config.yml contents, or null for the bundled default
+     */
+    public StubProxy(int threads, String config) {
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "StubProxy Worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.factory = createFactory();
+        this.server = createServer();
+
+        try {
+            this.dataDirectory = Files.createTempDirectory("simplelimbo-stub");
+            if (config != null) {
+                Files.writeString(dataDirectory.resolve("config.yml"), config, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The bundled default config.yml, for callers that only need to tweak a few values.
+     */
+    public static String defaultConfig() {
+        try (var in = SimpleLimbo.class.getResourceAsStream("/config.yml")) {
+            if (in == null) {
+                throw new IllegalStateException("Bundled config.yml not found");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Construct and initialize the plugin, waiting for the asynchronous config load to finish.
+     */
+    public SimpleLimbo boot() {
+        return boot(NOPLogger.NOP_LOGGER);
+    }
+
+    public SimpleLimbo boot(Logger logger) {
+        plugin = new SimpleLimbo(server, logger, dataDirectory);
+        await(plugin.onProxyInitialization(new ProxyInitializeEvent()));
+        return plugin;
+    }
+
+    /**
+     * Run a task returned by a listener on the calling thread and wait for it, as Velocity waits
+     * before applying the event's result. A null task is a listener that finished synchronously.
+     */
+    public void await(EventTask task) {
+        if (task == null) {
+            return;
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        task.execute(new Continuation() {
+            @Override
+            public void resume() {
+                done.complete(null);
+            }
+
+            @Override
+            public void resumeWithException(Throwable exception) {
+                done.completeExceptionally(exception);
+            }
+        });
+        done.join();
+    }
+
+    public RegisteredServer addServer(String name) {
+        return server.registerServer(new ServerInfo(name, InetSocketAddress.createUnresolved("127.0.0.1", 25565)));
+    }
+
+    /**
+     * Connect a player to the proxy, firing the login event once the plugin has booted.
+     */
+    public Player join(String name) {
+        Player player = StubPlayers.player(name);
+        players.put(player.getUniqueId(), player);
+        if (plugin != null) {
+            getListener(PlayerListener.class).onLogin(new LoginEvent(player));
+        }
+        return player;
+    }
+
+    /**
+     * Remove a player from the proxy, leaving any limbo first as LimboAPI would.
+     */
+    public void quit(Player player) {
+        leaveLimbo(player);
+        players.remove(player.getUniqueId());
+    }
+
+    /**
+     * Run the limbo session handler's onDisconnect, if the player is in a stub limbo.
+     */
+    public boolean leaveLimbo(Player player) {
+        LimboSessionHandler handler = limboHandlers.remove(player.getUniqueId());
+        if (handler == null) {
+            return false;
+        }
+        handler.onDisconnect();
+        return true;
+    }
+
+    public LimboSessionHandler getLimboHandler(Player player) {
+        return limboHandlers.get(player.getUniqueId());
+    }
+
+    public int getLimboHandlerCount() {
+        return limboHandlers.size();
+    }
+
+    public <T> T getListener(Class<T> type) {
+        for (Object listener : listeners) {
+            if (type.isInstance(listener)) {
+                return type.cast(listener);
+            }
+        }
+        throw new IllegalStateException("No listener registered of type " + type.getName());
+    }
+
+    public ProxyServer getServer() {
+        return server;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        if (plugin != null) {
+            plugin.onProxyShutdown(new ProxyShutdownEvent());
+        }
+        executor.shutdownNow();
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Temp directory, nothing to do
+        }
+    }
+
+    private ProxyServer createServer() {
+        PluginContainer limboApi = Stubs.of(PluginContainer.class, Map.of(
+                "getInstance", args -> Optional.of(factory)
+        ));
+        PluginManager pluginManager = Stubs.of(PluginManager.class, Map.of(
+                "getPlugin", args -> "limboapi".equals(args[0]) ? Optional.of(limboApi) : Optional.empty()
+        ));
+        EventManager eventManager = Stubs.of(EventManager.class, Map.of(
+                "register", args -> {
+                    listeners.add(args[args.length - 1]);
+                    return null;
+                }
+        ));
+        CommandManager commandManager = Stubs.of(CommandManager.class, Map.of(
+                "executeAsync", args -> CompletableFuture.completedFuture(true)
+        ));
+        Scheduler scheduler = Stubs.of(Scheduler.class, Map.of(
+                "buildTask", args -> taskBuilder((Runnable) args[1])
+        ));
+
+        return Stubs.of(ProxyServer.class, Map.ofEntries(
+                Map.entry("getPluginManager", args -> pluginManager),
+                Map.entry("getEventManager", args -> eventManager),
+                Map.entry("getCommandManager", args -> commandManager),
+                Map.entry("getScheduler", args -> scheduler),
+                Map.entry("getServer", args -> Optional.ofNullable(servers.get((String) args[0]))),
+                Map.entry("getAllServers", args -> List.copyOf(servers.values())),
+                Map.entry("registerServer", args -> registerServer((ServerInfo) args[0])),
+                Map.entry("unregisterServer", args -> {
+                    servers.remove(((ServerInfo) args[0]).getName());
+                    return null;
+                }),
+                Map.entry("getAllPlayers", args -> (Collection<Player>) new ArrayList<>(players.values())),
+                Map.entry("getPlayerCount", args -> players.size()),
+                Map.entry("getPlayer", args -> args[0] instanceof UUID id
+                        ? Optional.ofNullable(players.get(id))
+                        : players.values().stream().filter(p -> p.getUsername().equalsIgnoreCase((String) args[0])).findFirst())
+        ));
+    }
+
+    private RegisteredServer registerServer(ServerInfo info) {
+        RegisteredServer registered = Stubs.of(RegisteredServer.class, Map.of(
+                "getServerInfo", args -> info
+        ));
+        servers.put(info.getName(), registered);
+        return registered;
+    }
+
+    private Scheduler.TaskBuilder taskBuilder(Runnable task) {
+        long[] delayAndRepeat = new long[2];
+        Scheduler.TaskBuilder[] self = new Scheduler.TaskBuilder[1];
+        self[0] = Stubs.of(Scheduler.TaskBuilder.class, Map.of(
+                "delay", args -> {
+                    delayAndRepeat[0] = toMillis(args);
+                    return self[0];
+                },
+                "repeat", args -> {
+                    delayAndRepeat[1] = toMillis(args);
+                    return self[0];
+                },
+                "schedule", args -> schedule(task, delayAndRepeat[0], delayAndRepeat[1])
+        ));
+        return self[0];
+    }
+
+    private ScheduledTask schedule(Runnable task, long delayMs, long repeatMs) {
+        Future<?> future = repeatMs > 0
+                ? executor.scheduleAtFixedRate(task, delayMs, repeatMs, TimeUnit.MILLISECONDS)
+                : executor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        return Stubs.of(ScheduledTask.class, Map.of(
+                "cancel", args -> {
+                    future.cancel(false);
+                    return null;
+                }
+        ));
+    }
+
+    private static long toMillis(Object[] args) {
+        if (args.length == 1) {
+            return ((Duration) args[0]).toMillis();
+        }
+        return ((TimeUnit) args[1]).toMillis((Long) args[0]);
+    }
+
+    private LimboFactory createFactory() {
+        return Stubs.of(LimboFactory.class, Map.of(
+                "createLimbo", args -> createLimbo()
+        ));
+    }
+
+    private Limbo createLimbo() {
+        Limbo[] self = new Limbo[1];
+        self[0] = Stubs.of(Limbo.class, Map.of(
+                "spawnPlayer", args -> {
+                    Player player = (Player) args[0];
+                    LimboSessionHandler handler = (LimboSessionHandler) args[1];
+                    UUID id = player.getUniqueId();
+
+                    // A player moved between limbos leaves the old one first
+                    LimboSessionHandler previous = limboHandlers.put(id, handler);
+                    if (previous != null) {
+                        previous.onDisconnect();
+                    }
+
+                    LimboPlayer limboPlayer = StubPlayers.limboPlayer(player, executor, () -> {
+                        if (limboHandlers.remove(id, handler)) {
+                            handler.onDisconnect();
+                        }
+                    });
+                    handler.onSpawn(self[0], limboPlayer);
+                    return null;
+                }
+        ));
+        return self[0];
+    }
+}
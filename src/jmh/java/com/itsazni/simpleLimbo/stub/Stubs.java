@@ -0,0 +1,126 @@
+package com.itsazni.simpleLimbo.stub;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Deep stubs for Velocity and LimboAPI interfaces, so plugin code can run outside a proxy.
+ *
+ * Methods without an answer return a harmless default: zero, empty, a completed future,
+ * the stub itself for fluent builders, or another stub for any other interface.
+ */
+public final class Stubs {
+
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    private Stubs() {
+    }
+
+    public static <T> T of(Class<T> type) {
+        return of(type, Map.of());
+    }
+
+    /**
+     * @param answers method name to answer; overloads share one answer
+     */
+    public static <T> T of(Class<T> type, Map<String, Answer> answers) {
+        Map<String, Answer> copy = new HashMap<>(answers);
+        InvocationHandler handler = (proxy, method, args) -> {
+            Answer answer = copy.get(method.getName());
+            if (answer != null) {
+                return answer.answer(args == null ? new Object[0] : args);
+            }
+            return defaultAnswer(type, proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultAnswer(Class<?> type, Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals" -> {
+                return args != null && args.length == 1 && proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                return "Stub<" + type.getSimpleName() + ">";
+            }
+            default -> {
+            }
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            return null;
+        }
+        if (returnType.isPrimitive()) {
+            return primitiveDefault(returnType);
+        }
+        if (returnType.isInstance(proxy)) {
+            return proxy;
+        }
+        if (returnType == String.class) {
+            return "";
+        }
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (returnType == CompletableFuture.class) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (returnType == List.class || returnType == Collection.class) {
+            return List.of();
+        }
+        if (returnType == Set.class) {
+            return Set.of();
+        }
+        if (returnType == Map.class) {
+            return Map.of();
+        }
+        if (returnType.isArray()) {
+            return Array.newInstance(returnType.getComponentType(), 0);
+        }
+        if (returnType.isInterface()) {
+            return of(returnType);
+        }
+        return null;
+    }
+
+    private static Object primitiveDefault(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        return 0d;
+    }
+}
@@ -0,0 +1,62 @@
+package com.itsazni.simpleLimbo.trigger;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.stub.StubProxy;
+import com.velocitypowered.api.proxy.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fallback kick matching and activity tracking against the default config's patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerManagerBenchmark {
+
+    private StubProxy proxy;
+    private TriggerManager triggers;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        proxy = new StubProxy(1, null);
+        SimpleLimbo plugin = proxy.boot();
+        triggers = plugin.getTriggerManager();
+        player = proxy.join("bench");
+    }
+
+    @TearDown
+    public void tearDown() {
+        proxy.close();
+    }
+
+    @Benchmark
+    public boolean shouldFallbackMatch() {
+        return triggers.shouldFallback("The server you were previously on went down, you have been connected to a fallback server: timed out");
+    }
+
+    @Benchmark
+    public boolean shouldFallbackMiss() {
+        return triggers.shouldFallback("You are banned from this server.");
+    }
+
+    @Benchmark
+    public void markActivity() {
+        triggers.markActivity(player);
+    }
+}
@@ -0,0 +1,39 @@
+package com.itsazni.simpleLimbo.util;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy message deserialization, the cost the compiled config avoids on hot paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageUtilBenchmark {
+
+    private String plain = "Please authenticate";
+    private String colored = "&eUse &f/login <password> &eor &f/register <password> <password>";
+
+    @Benchmark
+    public Component componentPlain() {
+        return MessageUtil.component(plain);
+    }
+
+    @Benchmark
+    public Component componentColored() {
+        return MessageUtil.component(colored);
+    }
+}
@@ -1,15 +1,37 @@
 package com.itsazni.simpleLimbo;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.inject.Inject;
 import com.itsazni.simpleLimbo.bridge.VelocityAliasBridge;
 import com.itsazni.simpleLimbo.command.SimpleLimboCommand;
 import com.itsazni.simpleLimbo.config.ConfigLoader;
+import com.itsazni.simpleLimbo.config.ConfigWatcher;
+import com.itsazni.simpleLimbo.config.HealthConfig;
+import com.itsazni.simpleLimbo.config.LoadConfig;
+import com.itsazni.simpleLimbo.config.MetricsConfig;
 import com.itsazni.simpleLimbo.compat.ServerConnectionInjector;
+import com.itsazni.simpleLimbo.config.RuntimeConfig;
 import com.itsazni.simpleLimbo.config.Settings;
+import com.itsazni.simpleLimbo.config.StateStoreConfig;
+import com.itsazni.simpleLimbo.config.TraceConfig;
 import com.itsazni.simpleLimbo.display.DisplayManager;
+import com.itsazni.simpleLimbo.health.HealthMonitor;
+import com.itsazni.simpleLimbo.limbo.InitialSpawner;
+import com.itsazni.simpleLimbo.limbo.LimboInstance;
 import com.itsazni.simpleLimbo.limbo.LimboManager;
 import com.itsazni.simpleLimbo.listener.PlayerListener;
+import com.itsazni.simpleLimbo.load.LoadController;
+import com.itsazni.simpleLimbo.metrics.LimboMetrics;
+import com.itsazni.simpleLimbo.metrics.MetricsServer;
+import com.itsazni.simpleLimbo.session.PlayerSession;
+import com.itsazni.simpleLimbo.session.SessionRegistry;
+import com.itsazni.simpleLimbo.store.MemoryStateStore;
+import com.itsazni.simpleLimbo.store.NetworkStateStore;
+import com.itsazni.simpleLimbo.store.StateStore;
+import com.itsazni.simpleLimbo.store.StateStoreServer;
+import com.itsazni.simpleLimbo.trace.TraceRecorder;
 import com.itsazni.simpleLimbo.trigger.TriggerManager;
+import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.proxy.ProxyInitializeEvent;
 import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
 import com.velocitypowered.api.event.Subscribe;
@@ -21,7 +43,17 @@ import com.velocitypowered.api.proxy.ProxyServer;
 import net.elytrium.limboapi.api.LimboFactory;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Plugin(
         id = "simplelimbo",
@@ -36,9 +68,26 @@ public class SimpleLimbo {
     private final ProxyServer server;
     private final Logger logger;
     private final Path dataDirectory;
+    private final LimboMetrics metrics = new LimboMetrics();
+    private final SessionRegistry sessionRegistry = new SessionRegistry(metrics);
+    private final TraceRecorder traceRecorder;
+    private final HealthMonitor healthMonitor;
+    private final LoadController loadController;
+    private final InitialSpawner initialSpawner;
+    // Applies parsed configs on the proxy scheduler, one at a time and in the order they were parsed
+    private final Executor configApplier;
+    // Used as the proxy id when none is configured
+    private final String generatedProxyId = UUID.randomUUID().toString().substring(0, 8);
 
     private ConfigLoader configLoader;
-    private Settings settings;
+    private ConfigWatcher configWatcher;
+    private MetricsServer metricsServer;
+    private StateStoreServer stateStoreServer;
+    private volatile StateStore stateStore;
+    private String stateStoreDescription;
+    private String stateStoreSecret;
+    // Swapped as a whole on reload; never mutated after publication
+    private volatile RuntimeConfig runtimeConfig;
     private LimboManager limboManager;
     private DisplayManager displayManager;
     private TriggerManager triggerManager;
@@ -49,15 +98,27 @@ public class SimpleLimbo {
         this.server = server;
         this.logger = logger;
         this.dataDirectory = dataDirectory;
+        this.traceRecorder = new TraceRecorder(logger);
+        this.healthMonitor = new HealthMonitor(this);
+        this.loadController = new LoadController(this);
+        this.initialSpawner = new InitialSpawner(this);
+        this.stateStore = new MemoryStateStore(generatedProxyId);
+        this.configApplier = MoreExecutors.newSequentialExecutor(task -> server.getScheduler().buildTask(this, task).schedule());
     }
 
     @Subscribe
-    public void onProxyInitialization(ProxyInitializeEvent event) {
+    public EventTask onProxyInitialization(ProxyInitializeEvent event) {
         this.configLoader = new ConfigLoader(dataDirectory, logger);
-        this.settings = configLoader.load();
+
+        // Parse the config on the loader thread and set up off it; startup resumes once both are done
+        return EventTask.resumeWhenComplete(configLoader.loadAsync().thenAcceptAsync(this::initialize, configApplier));
+    }
+
+    private void initialize(RuntimeConfig config) {
+        this.runtimeConfig = config;
 
         // Initialize fake server connection injector for auth plugin compatibility
-        ServerConnectionInjector.init(logger);
+        ServerConnectionInjector.init(logger, metrics);
 
         LimboFactory factory = (LimboFactory) server.getPluginManager()
                 .getPlugin("limboapi")
@@ -69,9 +130,18 @@ public class SimpleLimbo {
         this.triggerManager = new TriggerManager(this);
         this.velocityAliasBridge = new VelocityAliasBridge(this);
 
+        updateStateStore(config);
         this.limboManager.loadAll();
         this.velocityAliasBridge.registerAliases();
         this.triggerManager.start();
+        this.metrics.setPlayerCounts(limboManager::getPlayerCounts);
+        this.metrics.setQueueSizes(limboManager::getQueueSizes);
+        this.metrics.setBackendAvailability(healthMonitor::getAvailability);
+        updateConfigWatcher(config);
+        updateMetricsServer(config);
+        updateTraceRecorder(config);
+        updateHealthMonitor(config);
+        updateLoadController(config);
 
         this.server.getEventManager().register(this, new PlayerListener(this));
         this.server.getCommandManager().register(
@@ -84,6 +154,22 @@ public class SimpleLimbo {
 
     @Subscribe
     public void onProxyShutdown(ProxyShutdownEvent event) {
+        if (configWatcher != null) {
+            configWatcher.close();
+        }
+        if (configLoader != null) {
+            configLoader.shutdown();
+        }
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
+        traceRecorder.stop();
+        healthMonitor.stop();
+        loadController.stop();
+        stateStore.close();
+        if (stateStoreServer != null) {
+            stateStoreServer.stop();
+        }
         if (displayManager != null) {
             displayManager.clearAll();
         }
@@ -95,18 +181,210 @@ public class SimpleLimbo {
         }
     }
 
-    public void reload() {
-        this.settings = configLoader.load();
+    /**
+     * Reload the config in the background. The new config is only applied if it parses and
+     * validates; otherwise the current one stays active.
+     *
+     * Only parsing and validation run on the config loader thread. Applying the config (limbo and
+     * world rebuilds, listeners, servers) runs on the proxy scheduler, so a slow apply never holds
+     * up the next parse or watcher event, and applies still happen one at a time in parse order.
+     *
+     * @return future completing with whether the new config was applied
+     */
+    public CompletableFuture<Boolean> reload() {
+        return configLoader.reloadAsync()
+                .thenApplyAsync(config -> {
+                    apply(config);
+                    return true;
+                }, configApplier)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    logger.error("Configuration reload failed, keeping the current configuration: {}", cause.getMessage());
+                    return false;
+                });
+    }
+
+    private synchronized void apply(RuntimeConfig config) {
+        this.runtimeConfig = config;
         this.displayManager.clearAll();
         this.triggerManager.stop();
         this.velocityAliasBridge.unregisterAliases();
+        updateStateStore(config);
         this.limboManager.reload();
         this.velocityAliasBridge.registerAliases();
         this.triggerManager.start();
+        updateConfigWatcher(config);
+        updateMetricsServer(config);
+        updateTraceRecorder(config);
+        updateHealthMonitor(config);
+        updateLoadController(config);
 
         this.logger.info("SimpleLimbo configuration reloaded");
     }
 
+    private synchronized void updateConfigWatcher(RuntimeConfig config) {
+        Settings settings = config.getSettings();
+        long debounceMs = Math.max(0, settings.getAutoReloadDebounceMs());
+        if (configWatcher != null) {
+            if (settings.isAutoReload() && configWatcher.getDebounceMs() == debounceMs) {
+                return;
+            }
+            configWatcher.close();
+            configWatcher = null;
+        }
+
+        if (!settings.isAutoReload()) {
+            return;
+        }
+
+        ConfigWatcher watcher = new ConfigWatcher(configLoader.getConfigFile(), debounceMs, this::reload, logger);
+        try {
+            watcher.start();
+            configWatcher = watcher;
+        } catch (IOException e) {
+            watcher.close();
+            logger.warn("Failed to watch config.yml, auto-reload disabled: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void updateMetricsServer(RuntimeConfig config) {
+        MetricsConfig metricsConfig = config.getSettings().getMetrics();
+        if (metricsServer != null) {
+            if (metricsConfig.isEnabled() && metricsServer.isBoundTo(metricsConfig.getHost(), metricsConfig.getPort())) {
+                return;
+            }
+            metricsServer.stop();
+            metricsServer = null;
+        }
+
+        if (!metricsConfig.isEnabled()) {
+            return;
+        }
+
+        MetricsServer server = new MetricsServer(metrics, logger, metricsConfig.getHost(), metricsConfig.getPort());
+        try {
+            server.start();
+            metricsServer = server;
+        } catch (IOException e) {
+            server.stop();
+            logger.warn("Failed to start metrics endpoint on {}:{}: {}",
+                    metricsConfig.getHost(), metricsConfig.getPort(), e.getMessage());
+        }
+    }
+
+    private synchronized void updateTraceRecorder(RuntimeConfig config) {
+        TraceConfig traceConfig = config.getSettings().getTrace();
+        if (!traceConfig.isEnabled()) {
+            traceRecorder.stop();
+            return;
+        }
+        if (traceRecorder.isRecording()) {
+            // Keep appending to the current trace across reloads
+            return;
+        }
+
+        String fileName = "trace-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".sltrace";
+        Path file = dataDirectory.resolve(traceConfig.getDirectory()).resolve(fileName);
+        try {
+            traceRecorder.start(file, traceConfig.getQueueSize());
+        } catch (IOException e) {
+            logger.warn("Failed to start event trace {}: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized void updateHealthMonitor(RuntimeConfig config) {
+        HealthConfig healthConfig = config.getSettings().getHealth();
+        if (healthConfig.isEnabled()) {
+            healthMonitor.start(healthConfig);
+        } else {
+            healthMonitor.stop();
+        }
+    }
+
+    private synchronized void updateLoadController(RuntimeConfig config) {
+        LoadConfig loadConfig = config.getSettings().getLoad();
+        if (loadConfig.isEnabled()) {
+            loadController.start(loadConfig);
+        } else {
+            loadController.stop();
+        }
+    }
+
+    private synchronized void updateStateStore(RuntimeConfig config) {
+        StateStoreConfig storeConfig = config.getSettings().getStateStore();
+        boolean network = "NETWORK".equals(storeConfig.getType().toUpperCase(Locale.ROOT));
+        String secret = storeConfig.getSecret();
+        if (network && secret.isBlank()) {
+            logger.warn("state-store.secret is empty; using the memory state store until one is set");
+            network = false;
+        }
+
+        // Start the embedded server first so this proxy can connect to it
+        boolean serve = network && storeConfig.isServe();
+        if (stateStoreServer != null && !(serve && stateStoreServer.isBoundTo(storeConfig.getHost(), storeConfig.getPort(), secret))) {
+            stateStoreServer.stop();
+            stateStoreServer = null;
+        }
+        if (serve && stateStoreServer == null) {
+            StateStoreServer server = new StateStoreServer(storeConfig.getHost(), storeConfig.getPort(), secret, logger);
+            try {
+                server.start();
+                stateStoreServer = server;
+            } catch (IOException e) {
+                server.stop();
+                logger.warn("Failed to start state store server on {}:{}: {}",
+                        storeConfig.getHost(), storeConfig.getPort(), e.getMessage());
+            }
+        }
+
+        String proxyId = storeConfig.getProxyId().isBlank() ? generatedProxyId : storeConfig.getProxyId();
+        String description = network
+                ? "network state store " + storeConfig.getHost() + ":" + storeConfig.getPort()
+                        + " as '" + proxyId + "' (flush " + storeConfig.getFlushIntervalMs() + "ms)"
+                : "memory state store";
+        if (description.equals(stateStoreDescription) && (!network || secret.equals(stateStoreSecret))) {
+            return;
+        }
+
+        StateStore next = network
+                ? new NetworkStateStore(proxyId, storeConfig.getHost(), storeConfig.getPort(), secret,
+                        storeConfig.getFlushIntervalMs(), logger)
+                : new MemoryStateStore(proxyId);
+        try {
+            next.start();
+        } catch (IOException e) {
+            logger.warn("Failed to start {}, keeping the current one: {}", description, e.getMessage());
+            return;
+        }
+        copyLocalState(next);
+
+        StateStore previous = stateStore;
+        stateStore = next;
+        stateStoreDescription = description;
+        stateStoreSecret = secret;
+        previous.close();
+        logger.info("Using {}", description);
+    }
+
+    /**
+     * Seed a new state store with this proxy's limbo members and queue tickets, so global counts
+     * and queue positions carry over instead of starting from an empty store.
+     */
+    private void copyLocalState(StateStore next) {
+        Set<LimboInstance> limbos = new HashSet<>();
+        for (PlayerSession session : sessionRegistry.getSessions()) {
+            LimboInstance limbo = session.getLimbo();
+            if (limbo != null) {
+                next.addMember(limbo.getName(), session.getPlayer().getUniqueId());
+                limbos.add(limbo);
+            }
+        }
+        // Queued players are all in one of these limbos, including ones replaced by a reload
+        for (LimboInstance limbo : limbos) {
+            limbo.getQueue().copyTo(next);
+        }
+    }
+
     public ProxyServer getServer() {
         return server;
     }
@@ -120,7 +398,39 @@ public class SimpleLimbo {
     }
 
     public Settings getSettings() {
-        return settings;
+        return runtimeConfig.getSettings();
+    }
+
+    public RuntimeConfig getRuntimeConfig() {
+        return runtimeConfig;
+    }
+
+    public LimboMetrics getMetrics() {
+        return metrics;
+    }
+
+    public TraceRecorder getTraceRecorder() {
+        return traceRecorder;
+    }
+
+    public StateStore getStateStore() {
+        return stateStore;
+    }
+
+    public HealthMonitor getHealthMonitor() {
+        return healthMonitor;
+    }
+
+    public InitialSpawner getInitialSpawner() {
+        return initialSpawner;
+    }
+
+    public LoadController getLoadController() {
+        return loadController;
+    }
+
+    public SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
     }
 
     public LimboManager getLimboManager() {
@@ -59,18 +59,7 @@ public class VelocityAliasBridge {
     }
 
     public String resolveLimboByAlias(String alias) {
-        VelocityBridgeConfig cfg = plugin.getSettings().getVelocityBridge();
-        if (!cfg.isEnabled() || alias == null) {
-            return null;
-        }
-
-        for (Map.Entry<String, String> entry : cfg.getAliases().entrySet()) {
-            if (entry.getKey().equalsIgnoreCase(alias)) {
-                return entry.getValue();
-            }
-        }
-
-        return null;
+        return plugin.getRuntimeConfig().resolveAlias(alias);
     }
 
     public boolean isManagedAlias(String name) {
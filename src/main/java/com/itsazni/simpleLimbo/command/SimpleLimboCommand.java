@@ -1,6 +1,10 @@
 package com.itsazni.simpleLimbo.command;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.limbo.LimboInstance;
+import com.itsazni.simpleLimbo.metrics.EgressEstimate;
+import com.itsazni.simpleLimbo.metrics.LimboStats;
+import com.itsazni.simpleLimbo.session.PlayerSession;
 import com.itsazni.simpleLimbo.util.MessageUtil;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.command.SimpleCommand;
@@ -9,6 +13,7 @@ import com.velocitypowered.api.proxy.Player;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 public class SimpleLimboCommand implements SimpleCommand {
@@ -36,10 +41,9 @@ public class SimpleLimboCommand implements SimpleCommand {
 
         String subcommand = args[0].toLowerCase(Locale.ROOT);
         switch (subcommand) {
-            case "reload" -> {
-                plugin.reload();
-                source.sendMessage(MessageUtil.component("&aSimpleLimbo reloaded."));
-            }
+            case "reload" -> plugin.reload().thenAccept(applied -> source.sendMessage(MessageUtil.component(applied
+                    ? "&aSimpleLimbo reloaded."
+                    : "&cReload failed, the current configuration was kept. Check the console for details.")));
             case "list" -> {
                 String names = String.join(", ", plugin.getLimboManager().getLimboNames());
                 source.sendMessage(MessageUtil.component("&eLimbos: &f" + (names.isEmpty() ? "none" : names)));
@@ -47,6 +51,8 @@ public class SimpleLimboCommand implements SimpleCommand {
             case "send" -> handleSend(source, args);
             case "sendall" -> handleSendAll(source, args);
             case "info" -> handleInfo(source, args);
+            case "stats" -> handleStats(source, args);
+            case "world" -> handleWorld(source, args);
             default -> sendHelp(source);
         }
     }
@@ -55,21 +61,26 @@ public class SimpleLimboCommand implements SimpleCommand {
     public List<String> suggest(Invocation invocation) {
         String[] args = invocation.arguments();
         if (args.length == 0) {
-            return List.of("reload", "list", "send", "sendall", "info");
+            return List.of("reload", "list", "send", "sendall", "info", "stats", "world");
         }
 
         if (args.length == 1) {
-            return filter(List.of("reload", "list", "send", "sendall", "info"), args[0]);
+            return filter(List.of("reload", "list", "send", "sendall", "info", "stats", "world"), args[0]);
         }
 
-        if (args.length == 2 && (args[0].equalsIgnoreCase("send") || args[0].equalsIgnoreCase("info") || args[0].equalsIgnoreCase("sendall"))) {
+        if (args.length == 2 && (args[0].equalsIgnoreCase("send") || args[0].equalsIgnoreCase("info")
+                || args[0].equalsIgnoreCase("sendall") || args[0].equalsIgnoreCase("stats"))) {
             if (args[0].equalsIgnoreCase("send")) {
                 return filter(plugin.getServer().getAllPlayers().stream().map(Player::getUsername).collect(Collectors.toList()), args[1]);
             }
             return filter(new ArrayList<>(plugin.getLimboManager().getLimboNames()), args[1]);
         }
 
-        if (args.length == 3 && args[0].equalsIgnoreCase("send")) {
+        if (args.length == 2 && args[0].equalsIgnoreCase("world")) {
+            return filter(List.of("import"), args[1]);
+        }
+
+        if (args.length == 3 && (args[0].equalsIgnoreCase("send") || args[0].equalsIgnoreCase("world"))) {
             return filter(new ArrayList<>(plugin.getLimboManager().getLimboNames()), args[2]);
         }
 
@@ -117,12 +128,123 @@ public class SimpleLimboCommand implements SimpleCommand {
 
         plugin.getLimboManager().getLimbo(args[1]).ifPresentOrElse(instance -> {
             source.sendMessage(MessageUtil.component("&eLimbo: &f" + instance.getName()));
-            source.sendMessage(MessageUtil.component("&ePlayers: &f" + plugin.getLimboManager().getPlayerCount(instance.getName())));
+            source.sendMessage(MessageUtil.component("&ePlayers: &f" + plugin.getLimboManager().getPlayerCount(instance.getName())
+                    + " &7(&f" + plugin.getLimboManager().getGlobalPlayerCount(instance.getName()) + " &7on all proxies)"));
             source.sendMessage(MessageUtil.component("&eDimension: &f" + instance.getConfig().getDimension()));
-            source.sendMessage(MessageUtil.component("&eGamemode: &f" + instance.getConfig().getGamemode()));
+            source.sendMessage(MessageUtil.component("&eGamemode: &f" + instance.getConfig().getGameMode()));
+            if (instance.getConfig().isLowBandwidth()) {
+                source.sendMessage(MessageUtil.component("&eProfile: &flow-bandwidth"));
+            }
+            EgressEstimate egress = EgressEstimate.of(instance.getConfig());
+            source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                    "&eEgress: &f~%.0f B&7/player/min (&f%.0f&7 keepalive, &f%.0f&7 display), &f~%.1f MiB&7/min per 1000 players",
+                    egress.getBytesPerMinute(), egress.getKeepAliveBytesPerMinute(), egress.getDisplayBytesPerMinute(),
+                    egress.getBytesPerMinute() * 1000 / 1048576.0)));
+            if (instance.getWorld() != null) {
+                source.sendMessage(MessageUtil.component("&eWorld chunks: &f" + instance.getWorld().getChunks().size()));
+            }
         }, () -> source.sendMessage(MessageUtil.component("&cLimbo not found.")));
     }
 
+    private void handleStats(CommandSource source, String[] args) {
+        if (args.length >= 2) {
+            plugin.getLimboManager().getLimbo(args[1]).ifPresentOrElse(
+                    instance -> sendLimboStats(source, instance),
+                    () -> source.sendMessage(MessageUtil.component("&cLimbo not found.")));
+            return;
+        }
+
+        for (LimboInstance instance : plugin.getLimboManager().getAllLimbos().values()) {
+            LimboStats stats = instance.getStats();
+            source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                    "&e%s&7: &f%d&7/%d players, &f%d&7 in &f%d&7 out /min, p99 spawn &f%.1fms&7, &f%.0f&7 pkt/s",
+                    instance.getName(), instance.getPlayerCount(), stats.getPeakPlayers(),
+                    stats.getJoinsPerMinute(), stats.getLeavesPerMinute(),
+                    stats.spawnLatencyMillis(0.99), stats.getPacketsPerSecond())));
+        }
+
+        int timers = 0;
+        int displayTasks = 0;
+        for (PlayerSession session : plugin.getSessionRegistry().getSessions()) {
+            timers += session.getActiveTimerCount();
+            if (session.getDisplay() != null && session.getDisplay().hasActionBarTask()) {
+                displayTasks++;
+            }
+        }
+        long trackingBytes = plugin.getSessionRegistry().estimateHeapBytes()
+                + plugin.getLimboManager().getAllLimbos().size() * LimboStats.ESTIMATED_BYTES;
+        source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                "&eSessions: &f%d &7| &eTimers: &f%d &7| &eDisplay tasks: &f%d &7| &eTracking heap (est.): &f~%.1f KiB",
+                plugin.getSessionRegistry().size(), timers, displayTasks, trackingBytes / 1024.0)));
+        if (plugin.getLoadController().isDegraded()) {
+            source.sendMessage(MessageUtil.component("&eLoad: &chigh &7(cosmetic packets skipped)"));
+        }
+    }
+
+    private void handleWorld(CommandSource source, String[] args) {
+        if (args.length < 3 || !args[1].equalsIgnoreCase("import")) {
+            source.sendMessage(MessageUtil.component("&cUsage: /simplelimbo world import <limbo>"));
+            return;
+        }
+
+        String limbo = args[2];
+        source.sendMessage(MessageUtil.component("&7Importing world file for limbo &f" + limbo + "&7..."));
+        plugin.getLimboManager().importWorld(limbo).whenComplete((summary, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                plugin.getLogger().error("Failed to import world file for limbo {}", limbo, cause);
+                source.sendMessage(MessageUtil.component("&cImport failed: " + cause.getMessage()));
+                return;
+            }
+            source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                    "&aImported &f%d &ablocks in &f%d &asections and &f%d &ablock entities in &f%dms",
+                    summary.getBlocks(), summary.getSections(), summary.getBlockEntities(), summary.getDurationMillis())));
+            source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                    "&7Wrote &f%s &7(%.1f KiB, source %.1f KiB). Run &f/simplelimbo reload &7to use it.",
+                    summary.getFile().getFileName(), summary.getCompactBytes() / 1024.0, summary.getSourceBytes() / 1024.0)));
+        });
+    }
+
+    private void sendLimboStats(CommandSource source, LimboInstance instance) {
+        LimboStats stats = instance.getStats();
+        int timers = 0;
+        int displayTasks = 0;
+        int bossBars = 0;
+        for (PlayerSession session : plugin.getSessionRegistry().getSessions()) {
+            if (session.getLimbo() != instance) {
+                continue;
+            }
+            timers += session.getActiveTimerCount();
+            if (session.getDisplay() != null) {
+                displayTasks += session.getDisplay().hasActionBarTask() ? 1 : 0;
+                bossBars += session.getDisplay().hasBossBar() ? 1 : 0;
+            }
+        }
+
+        long uptimeSeconds = (System.currentTimeMillis() - stats.getCreatedMillis()) / 1000;
+        source.sendMessage(MessageUtil.component("&eLimbo: &f" + instance.getName()
+                + " &7(stats since load, " + uptimeSeconds + "s ago)"));
+        source.sendMessage(MessageUtil.component("&ePlayers: &f" + instance.getPlayerCount()
+                + " &7(peak &f" + stats.getPeakPlayers() + "&7, &f"
+                + plugin.getLimboManager().getGlobalPlayerCount(instance.getName()) + " &7on all proxies)"));
+        source.sendMessage(MessageUtil.component("&eLast minute: &f" + stats.getJoinsPerMinute() + " &7joins, &f"
+                + stats.getLeavesPerMinute() + " &7leaves"));
+        source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                "&eSpawn latency: &7p50 &f%.1fms &7p95 &f%.1fms &7p99 &f%.1fms &7(%d spawns)",
+                stats.spawnLatencyMillis(0.5), stats.spawnLatencyMillis(0.95), stats.spawnLatencyMillis(0.99),
+                stats.getSpawnCount())));
+        source.sendMessage(MessageUtil.component(String.format(Locale.ROOT,
+                "&eInbound packets: &f%.1f/s", stats.getPacketsPerSecond())));
+        source.sendMessage(MessageUtil.component("&eTimers: &f" + timers + " &7| &eDisplay tasks: &f" + displayTasks
+                + " &7| &eBossbars: &f" + bossBars));
+        source.sendMessage(MessageUtil.component("&eFake server injections: &f" + stats.getActiveInjections()
+                + " &7active, &f" + stats.getInjections() + " &7total"));
+        if (instance.getConfig().isQueueEnabled()) {
+            source.sendMessage(MessageUtil.component("&eQueue: &f" + instance.getQueue().size()
+                    + " &7waiting for &f" + instance.getConfig().getQueueServer()));
+        }
+    }
+
     private void sendHelp(CommandSource source) {
         source.sendMessage(MessageUtil.component("&eSimpleLimbo commands:"));
         source.sendMessage(MessageUtil.component("&7/simplelimbo reload"));
@@ -130,6 +252,8 @@ public class SimpleLimboCommand implements SimpleCommand {
         source.sendMessage(MessageUtil.component("&7/simplelimbo send <player> <limbo>"));
         source.sendMessage(MessageUtil.component("&7/simplelimbo sendall <limbo>"));
         source.sendMessage(MessageUtil.component("&7/simplelimbo info <limbo>"));
+        source.sendMessage(MessageUtil.component("&7/simplelimbo stats [limbo]"));
+        source.sendMessage(MessageUtil.component("&7/simplelimbo world import <limbo>"));
     }
 
     private List<String> filter(List<String> values, String input) {
@@ -0,0 +1,126 @@
+package com.itsazni.simpleLimbo.compat;
+
+import io.netty.channel.AbstractChannel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelMetadata;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelConfig;
+import io.netty.channel.EventLoop;
+
+import java.net.SocketAddress;
+
+/**
+ * Channel that discards everything written to it, behind the fake MinecraftConnection injected
+ * by {@link ServerConnectionInjector}.
+ *
+ * Each limbo player gets their own, registered to the event loop of the player's client channel,
+ * so its pipeline and promises are only ever touched on the thread that already serves that player.
+ * Unlike an EmbeddedChannel it has no event loop or message queues of its own: writes are released
+ * as soon as they are flushed. It stays active until closed and never has a remote end.
+ */
+final class DiscardingChannel extends AbstractChannel {
+
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false);
+    private static final SocketAddress ADDRESS = new LimboAddress();
+
+    private final ChannelConfig config = new DefaultChannelConfig(this);
+    private volatile boolean open = true;
+
+    private DiscardingChannel() {
+        super(null);
+    }
+
+    /**
+     * Create a channel for one player and register it with the event loop of their client channel.
+     * The event loop is assigned straight away, so the channel can be written to before the
+     * registration task has run; writes queue up behind it on the same loop.
+     */
+    static DiscardingChannel register(EventLoop playerLoop) {
+        DiscardingChannel channel = new DiscardingChannel();
+        playerLoop.register(channel);
+        return channel;
+    }
+
+    @Override
+    protected AbstractUnsafe newUnsafe() {
+        return new AbstractUnsafe() {
+            @Override
+            public void connect(SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) {
+                promise.setFailure(new UnsupportedOperationException("connect"));
+            }
+        };
+    }
+
+    @Override
+    protected boolean isCompatible(EventLoop loop) {
+        // Nothing is registered with the loop's selector, so any event loop can run it
+        return true;
+    }
+
+    @Override
+    protected SocketAddress localAddress0() {
+        return ADDRESS;
+    }
+
+    @Override
+    protected SocketAddress remoteAddress0() {
+        return ADDRESS;
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) {
+        throw new UnsupportedOperationException("bind");
+    }
+
+    @Override
+    protected void doDisconnect() {
+        doClose();
+    }
+
+    @Override
+    protected void doClose() {
+        open = false;
+    }
+
+    @Override
+    protected void doBeginRead() {
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) {
+        // remove() releases the message and completes its promise
+        while (in.current() != null) {
+            in.remove();
+        }
+    }
+
+    @Override
+    public ChannelConfig config() {
+        return config;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public boolean isActive() {
+        return open;
+    }
+
+    @Override
+    public ChannelMetadata metadata() {
+        return METADATA;
+    }
+
+    private static final class LimboAddress extends SocketAddress {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String toString() {
+            return "limbo";
+        }
+    }
+}
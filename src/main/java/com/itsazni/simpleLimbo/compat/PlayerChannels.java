@@ -0,0 +1,75 @@
+package com.itsazni.simpleLimbo.compat;
+
+import com.velocitypowered.api.proxy.Player;
+import io.netty.channel.Channel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Looks up a player's Netty channel for checks the Velocity API does not expose, such as
+ * whether the connection can take more writes.
+ *
+ * Note: Uses ConnectedPlayer.getConnection().getChannel() from Velocity internals; when those
+ * cannot be resolved {@link #channel(Player)} returns null and callers fall back to plain sends.
+ */
+public final class PlayerChannels {
+
+    private static final String CONNECTED_PLAYER_CLASS = "com.velocitypowered.proxy.connection.client.ConnectedPlayer";
+    private static final String MINECRAFT_CONNECTION_CLASS = "com.velocitypowered.proxy.connection.MinecraftConnection";
+
+    private PlayerChannels() {
+    }
+
+    /**
+     * The player's client channel, or null if it cannot be looked up.
+     */
+    public static Channel channel(Player player) {
+        Class<?> connectedPlayer;
+        try {
+            connectedPlayer = Handles.CONNECTED_PLAYER;
+        } catch (LinkageError e) {
+            return null;
+        }
+        if (connectedPlayer == null || !connectedPlayer.isInstance(player)) {
+            return null;
+        }
+        try {
+            return (Channel) Handles.GET_CHANNEL.invokeExact(Handles.GET_CONNECTION.invokeExact((Object) player));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static final class Handles {
+        static final Class<?> CONNECTED_PLAYER;
+        static final MethodHandle GET_CONNECTION;
+        static final MethodHandle GET_CHANNEL;
+
+        static {
+            Class<?> connectedPlayer = null;
+            MethodHandle getConnection = null;
+            MethodHandle getChannel = null;
+            try {
+                Class<?> player = Class.forName(CONNECTED_PLAYER_CLASS);
+                Class<?> minecraftConnection = Class.forName(MINECRAFT_CONNECTION_CLASS);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+                // public MinecraftConnection getConnection()
+                getConnection = lookup.findVirtual(player, "getConnection", MethodType.methodType(minecraftConnection))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                // public Channel getChannel()
+                getChannel = lookup.findVirtual(minecraftConnection, "getChannel", MethodType.methodType(Channel.class))
+                        .asType(MethodType.methodType(Channel.class, Object.class));
+                connectedPlayer = player;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                getConnection = null;
+                getChannel = null;
+            }
+            CONNECTED_PLAYER = connectedPlayer;
+            GET_CONNECTION = getConnection;
+            GET_CHANNEL = getChannel;
+        }
+    }
+}
@@ -1,25 +1,28 @@
 package com.itsazni.simpleLimbo.compat;
 
+import com.itsazni.simpleLimbo.metrics.LimboMetrics;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
-import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.Channel;
 import org.slf4j.Logger;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
 
 /**
  * Provides compatibility with auth plugins by injecting a server connection stub.
- * 
+ *
  * When players are in limbo, they have no backend server connection. This causes
  * auth plugins (like JPremium) that call player.getCurrentServer() to fail.
- * This class injects a VelocityServerConnection backed by an EmbeddedChannel
- * to satisfy those checks.
- * 
- * Note: Uses reflection to access internal Velocity APIs and may require updates
- * when Velocity internals change.
+ * This class injects a VelocityServerConnection backed by a per-player
+ * {@link DiscardingChannel} to satisfy those checks.
+ *
+ * Note: Uses MethodHandles/VarHandles on internal Velocity APIs and may require
+ * updates when Velocity internals change. All handles are resolved once in
+ * {@link Handles} and kept in static final fields so the JIT can inline them.
  */
 public class ServerConnectionInjector {
 
@@ -30,84 +33,39 @@ public class ServerConnectionInjector {
     private static final String VELOCITY_SERVER_CONNECTION_CLASS = "com.velocitypowered.proxy.connection.backend.VelocityServerConnection";
     private static final String MINECRAFT_CONNECTION_CLASS = "com.velocitypowered.proxy.connection.MinecraftConnection";
 
-    // Cached reflection objects
-    private static Class<?> connectedPlayerClass;
-    private static Class<?> velocityServerClass;
-    private static Class<?> velocityRegisteredServerClass;
-    private static Class<?> velocityServerConnectionClass;
-    private static Class<?> minecraftConnectionClass;
-    
-    private static Constructor<?> serverConnectionConstructor;
-    private static Constructor<?> minecraftConnectionConstructor;
-    private static Method setConnectedServerMethod;
-    private static Method getConnectedServerMethod;
-    private static Field hasCompletedJoinField;
-    private static Field connectionField; // VelocityServerConnection.connection
-
     private static boolean initialized = false;
-    private static boolean available = false;
+    private static volatile boolean available = false;
+    private static volatile LimboMetrics metrics;
 
     /**
-     * Initialize the reflective access to Velocity internal classes.
+     * Initialize the handles to Velocity internal classes.
      * This should be called once at plugin startup.
      */
-    public static synchronized void init(Logger logger) {
+    public static synchronized void init(Logger logger, LimboMetrics limboMetrics) {
+        metrics = limboMetrics;
         if (initialized) {
             return;
         }
         initialized = true;
 
+        Throwable failure;
         try {
-            // Load internal classes
-            connectedPlayerClass = Class.forName(CONNECTED_PLAYER_CLASS);
-            velocityServerClass = Class.forName(VELOCITY_SERVER_CLASS);
-            velocityRegisteredServerClass = Class.forName(VELOCITY_REGISTERED_SERVER_CLASS);
-            velocityServerConnectionClass = Class.forName(VELOCITY_SERVER_CONNECTION_CLASS);
-            minecraftConnectionClass = Class.forName(MINECRAFT_CONNECTION_CLASS);
-
-            // Get VelocityServerConnection constructor:
-            // public VelocityServerConnection(VelocityRegisteredServer registeredServer,
-            //     @Nullable VelocityRegisteredServer previousServer,
-            //     ConnectedPlayer proxyPlayer, VelocityServer server)
-            serverConnectionConstructor = velocityServerConnectionClass.getConstructor(
-                    velocityRegisteredServerClass,  // registeredServer
-                    velocityRegisteredServerClass,  // previousServer (nullable)
-                    connectedPlayerClass,           // proxyPlayer
-                    velocityServerClass             // server
-            );
-
-            // Get MinecraftConnection constructor:
-            // public MinecraftConnection(Channel channel, VelocityServer server)
-            minecraftConnectionConstructor = minecraftConnectionClass.getConstructor(
-                    io.netty.channel.Channel.class,
-                    velocityServerClass
-            );
-
-            // Get setConnectedServer method (public)
-            setConnectedServerMethod = connectedPlayerClass.getMethod(
-                    "setConnectedServer", velocityServerConnectionClass);
-
-            // Get getConnectedServer method (public, returns VelocityServerConnection)
-            getConnectedServerMethod = connectedPlayerClass.getMethod("getConnectedServer");
-
-            // Get hasCompletedJoin field in VelocityServerConnection
-            hasCompletedJoinField = velocityServerConnectionClass.getDeclaredField("hasCompletedJoin");
-            hasCompletedJoinField.setAccessible(true);
-
-            // Get connection field in VelocityServerConnection
-            connectionField = velocityServerConnectionClass.getDeclaredField("connection");
-            connectionField.setAccessible(true);
+            failure = Handles.FAILURE;
+        } catch (LinkageError e) {
+            failure = e;
+        }
 
+        if (failure == null) {
             available = true;
             logger.debug("ServerConnectionInjector initialized successfully - using real VelocityServerConnection with fake MinecraftConnection");
-        } catch (ClassNotFoundException e) {
-            logger.warn("Could not find Velocity internal class: {} - fake server injection not available", e.getMessage());
-        } catch (NoSuchMethodException e) {
-            logger.warn("Could not find required method: {} - fake server injection not available", e.getMessage());
-        } catch (NoSuchFieldException e) {
-            logger.warn("Could not find required field: {} - fake server injection not available", e.getMessage());
-        } catch (Exception e) {
-            logger.warn("Failed to initialize ServerConnectionInjector: {}", e.getMessage());
+        } else if (failure instanceof ClassNotFoundException) {
+            logger.warn("Could not find Velocity internal class: {} - fake server injection not available", failure.getMessage());
+        } else if (failure instanceof NoSuchMethodException) {
+            logger.warn("Could not find required method: {} - fake server injection not available", failure.getMessage());
+        } else if (failure instanceof NoSuchFieldException) {
+            logger.warn("Could not find required field: {} - fake server injection not available", failure.getMessage());
+        } else {
+            logger.warn("Failed to initialize ServerConnectionInjector: {}", failure.getMessage());
         }
     }
 
@@ -120,8 +78,10 @@ public class ServerConnectionInjector {
 
     /**
      * Inject a VelocityServerConnection into the player, making getCurrentServer() return a valid connection.
-     * Also injects a fake MinecraftConnection backed by EmbeddedChannel to satisfy ensureConnected() checks.
-     * 
+     * Also injects a fake MinecraftConnection to satisfy ensureConnected() checks. It is backed by a
+     * {@link DiscardingChannel} on the player's own event loop, so nothing written to it is kept and
+     * no state is shared with other players.
+     *
      * @param player The player to inject into
      * @param fakeServer The RegisteredServer to use as the "connected" server
      * @param proxyServer The Velocity proxy server instance
@@ -134,62 +94,79 @@ public class ServerConnectionInjector {
             return false;
         }
 
+        DiscardingChannel fakeChannel = null;
         try {
             // Only inject if player doesn't already have a server connection
             if (player.getCurrentServer().isPresent()) {
                 logger.debug("Player {} already has a server connection, skipping injection", player.getUsername());
+                recordInjection(LimboMetrics.RESULT_SKIPPED);
                 return false;
             }
 
             // Cast to internal types
             // ProxyServer -> VelocityServer
-            if (!velocityServerClass.isInstance(proxyServer)) {
+            if (!Handles.VELOCITY_SERVER.isInstance(proxyServer)) {
                 logger.warn("ProxyServer is not a VelocityServer instance");
+                recordInjection(LimboMetrics.RESULT_FAILURE);
                 return false;
             }
 
             // RegisteredServer -> VelocityRegisteredServer
-            if (!velocityRegisteredServerClass.isInstance(fakeServer)) {
+            if (!Handles.VELOCITY_REGISTERED_SERVER.isInstance(fakeServer)) {
                 logger.warn("RegisteredServer is not a VelocityRegisteredServer instance");
+                recordInjection(LimboMetrics.RESULT_FAILURE);
                 return false;
             }
 
             // Player -> ConnectedPlayer
-            if (!connectedPlayerClass.isInstance(player)) {
+            if (!Handles.CONNECTED_PLAYER.isInstance(player)) {
                 logger.warn("Player is not a ConnectedPlayer instance");
+                recordInjection(LimboMetrics.RESULT_FAILURE);
                 return false;
             }
 
             // Create VelocityServerConnection instance
-            Object serverConnection = serverConnectionConstructor.newInstance(
-                    fakeServer,     // registeredServer (VelocityRegisteredServer)
-                    null,           // previousServer (nullable)
-                    player,         // proxyPlayer (ConnectedPlayer)
-                    proxyServer     // server (VelocityServer)
+            Object serverConnection = (Object) Handles.NEW_SERVER_CONNECTION.invokeExact(
+                    (Object) fakeServer,    // registeredServer (VelocityRegisteredServer)
+                    (Object) null,          // previousServer (nullable)
+                    (Object) player,        // proxyPlayer (ConnectedPlayer)
+                    (Object) proxyServer    // server (VelocityServer)
             );
 
-            // Create fake MinecraftConnection with EmbeddedChannel
-            EmbeddedChannel fakeChannel = new EmbeddedChannel();
-            Object minecraftConnection = minecraftConnectionConstructor.newInstance(
-                    fakeChannel,    // channel (EmbeddedChannel - Netty test channel)
-                    proxyServer     // server (VelocityServer)
+            Channel playerChannel = PlayerChannels.channel(player);
+            if (playerChannel == null) {
+                logger.warn("Could not look up the client channel of {}", player.getUsername());
+                recordInjection(LimboMetrics.RESULT_FAILURE);
+                return false;
+            }
+
+            // Create fake MinecraftConnection over a discarding channel on the player's event loop
+            fakeChannel = DiscardingChannel.register(playerChannel.eventLoop());
+            Object minecraftConnection = (Object) Handles.NEW_MINECRAFT_CONNECTION.invokeExact(
+                    (Channel) fakeChannel,  // channel (discards writes)
+                    (Object) proxyServer    // server (VelocityServer)
             );
 
             // Inject the MinecraftConnection into VelocityServerConnection
-            connectionField.set(serverConnection, minecraftConnection);
+            Handles.CONNECTION.set(serverConnection, minecraftConnection);
 
             // Set hasCompletedJoin = true to prevent issues
-            hasCompletedJoinField.setBoolean(serverConnection, true);
+            Handles.HAS_COMPLETED_JOIN.set(serverConnection, true);
 
             // Use public setConnectedServer method
-            setConnectedServerMethod.invoke(player, serverConnection);
+            Handles.SET_CONNECTED_SERVER.invokeExact((Object) player, serverConnection);
 
-            logger.debug("Injected VelocityServerConnection '{}' for player {} in limbo (with fake MinecraftConnection)", 
+            logger.debug("Injected VelocityServerConnection '{}' for player {} in limbo (with fake MinecraftConnection)",
                     fakeServer.getServerInfo().getName(), player.getUsername());
+            recordInjection(LimboMetrics.RESULT_SUCCESS);
             return true;
-            
-        } catch (Exception e) {
+
+        } catch (Throwable e) {
+            if (fakeChannel != null) {
+                fakeChannel.close();
+            }
             logger.error("Failed to inject server connection for {}: {}", player.getUsername(), e.getMessage(), e);
+            recordInjection(LimboMetrics.RESULT_FAILURE);
             return false;
         }
     }
@@ -197,7 +174,7 @@ public class ServerConnectionInjector {
     /**
      * Remove the injected ServerConnection from the player.
      * This should be called when player leaves limbo.
-     * 
+     *
      * @param player The player to clear
      * @param logger Logger for debug output
      * @return true if removal was successful
@@ -209,38 +186,48 @@ public class ServerConnectionInjector {
 
         try {
             // Check if player has a connection
-            Object currentConnection = getConnectedServerMethod.invoke(player);
+            Object currentConnection = (Object) Handles.GET_CONNECTED_SERVER.invokeExact((Object) player);
             if (currentConnection == null) {
+                recordClear(LimboMetrics.RESULT_SKIPPED);
                 return false;
             }
 
             // Close the fake channel if present
-            try {
-                Object minecraftConn = connectionField.get(currentConnection);
-                if (minecraftConn != null) {
-                    // Get channel field from MinecraftConnection and close it
-                    Field channelField = minecraftConnectionClass.getDeclaredField("channel");
-                    channelField.setAccessible(true);
-                    Object channel = channelField.get(minecraftConn);
-                    if (channel instanceof EmbeddedChannel) {
-                        ((EmbeddedChannel) channel).close();
-                    }
+            Object minecraftConnection = (Object) Handles.CONNECTION.get(currentConnection);
+            if (minecraftConnection != null) {
+                Channel channel = (Channel) Handles.GET_CHANNEL.invokeExact(minecraftConnection);
+                if (channel instanceof DiscardingChannel) {
+                    channel.close();
                 }
-            } catch (Exception e) {
-                logger.debug("Could not close fake channel: {}", e.getMessage());
             }
 
             // Clear by calling setConnectedServer(null)
-            setConnectedServerMethod.invoke(player, (Object) null);
+            Handles.SET_CONNECTED_SERVER.invokeExact((Object) player, (Object) null);
             logger.debug("Cleared fake server connection for player {}", player.getUsername());
+            recordClear(LimboMetrics.RESULT_SUCCESS);
             return true;
-            
-        } catch (Exception e) {
+
+        } catch (Throwable e) {
             logger.warn("Failed to clear fake server for {}: {}", player.getUsername(), e.getMessage());
+            recordClear(LimboMetrics.RESULT_FAILURE);
             return false;
         }
     }
 
+    private static void recordInjection(String result) {
+        LimboMetrics current = metrics;
+        if (current != null) {
+            current.recordInjection(result);
+        }
+    }
+
+    private static void recordClear(String result) {
+        LimboMetrics current = metrics;
+        if (current != null) {
+            current.recordClear(result);
+        }
+    }
+
     /**
      * Check if the player currently has a server connection.
      */
@@ -250,10 +237,125 @@ public class ServerConnectionInjector {
         }
 
         try {
-            Object currentConnection = getConnectedServerMethod.invoke(player);
+            Object currentConnection = (Object) Handles.GET_CONNECTED_SERVER.invokeExact((Object) player);
             return currentConnection != null;
-        } catch (Exception e) {
+        } catch (Throwable e) {
             return false;
         }
     }
+
+    /**
+     * Holder for the resolved Velocity internals. Loaded on first access from {@link #init};
+     * if resolution fails every handle is null and {@link #FAILURE} holds the cause.
+     *
+     * Method handles are adapted to erased (Object) signatures so call sites can use invokeExact
+     * without referencing internal Velocity types.
+     */
+    private static final class Handles {
+
+        static final Class<?> CONNECTED_PLAYER;
+        static final Class<?> VELOCITY_SERVER;
+        static final Class<?> VELOCITY_REGISTERED_SERVER;
+
+        // (Object registeredServer, Object previousServer, Object proxyPlayer, Object server) -> Object
+        static final MethodHandle NEW_SERVER_CONNECTION;
+        // (Channel channel, Object server) -> Object
+        static final MethodHandle NEW_MINECRAFT_CONNECTION;
+        // (Object player, Object serverConnection) -> void
+        static final MethodHandle SET_CONNECTED_SERVER;
+        // (Object player) -> Object
+        static final MethodHandle GET_CONNECTED_SERVER;
+        // (Object minecraftConnection) -> Channel
+        static final MethodHandle GET_CHANNEL;
+
+        static final VarHandle HAS_COMPLETED_JOIN;  // VelocityServerConnection.hasCompletedJoin
+        static final VarHandle CONNECTION;          // VelocityServerConnection.connection
+
+        static final Throwable FAILURE;
+
+        static {
+            Class<?> connectedPlayer = null;
+            Class<?> velocityServer = null;
+            Class<?> velocityRegisteredServer = null;
+            MethodHandle newServerConnection = null;
+            MethodHandle newMinecraftConnection = null;
+            MethodHandle setConnectedServer = null;
+            MethodHandle getConnectedServer = null;
+            MethodHandle getChannel = null;
+            VarHandle hasCompletedJoin = null;
+            VarHandle connection = null;
+            Throwable failure = null;
+
+            try {
+                // Load internal classes
+                connectedPlayer = Class.forName(CONNECTED_PLAYER_CLASS);
+                velocityServer = Class.forName(VELOCITY_SERVER_CLASS);
+                velocityRegisteredServer = Class.forName(VELOCITY_REGISTERED_SERVER_CLASS);
+                Class<?> velocityServerConnection = Class.forName(VELOCITY_SERVER_CONNECTION_CLASS);
+                Class<?> minecraftConnection = Class.forName(MINECRAFT_CONNECTION_CLASS);
+
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandles.Lookup serverConnectionLookup = MethodHandles.privateLookupIn(velocityServerConnection, lookup);
+
+                // public VelocityServerConnection(VelocityRegisteredServer registeredServer,
+                //     @Nullable VelocityRegisteredServer previousServer,
+                //     ConnectedPlayer proxyPlayer, VelocityServer server)
+                newServerConnection = lookup.findConstructor(velocityServerConnection, MethodType.methodType(void.class,
+                                velocityRegisteredServer, velocityRegisteredServer, connectedPlayer, velocityServer))
+                        .asType(MethodType.methodType(Object.class, Object.class, Object.class, Object.class, Object.class));
+
+                // public MinecraftConnection(Channel channel, VelocityServer server)
+                newMinecraftConnection = lookup.findConstructor(minecraftConnection, MethodType.methodType(void.class,
+                                Channel.class, velocityServer))
+                        .asType(MethodType.methodType(Object.class, Channel.class, Object.class));
+
+                // public void setConnectedServer(VelocityServerConnection)
+                setConnectedServer = lookup.findVirtual(connectedPlayer, "setConnectedServer",
+                                MethodType.methodType(void.class, velocityServerConnection))
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+                // public VelocityServerConnection getConnectedServer()
+                getConnectedServer = lookup.findVirtual(connectedPlayer, "getConnectedServer",
+                                MethodType.methodType(velocityServerConnection))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+
+                // public Channel getChannel()
+                getChannel = lookup.findVirtual(minecraftConnection, "getChannel", MethodType.methodType(Channel.class))
+                        .asType(MethodType.methodType(Channel.class, Object.class));
+
+                hasCompletedJoin = serverConnectionLookup.findVarHandle(velocityServerConnection, "hasCompletedJoin", boolean.class);
+                connection = serverConnectionLookup.findVarHandle(velocityServerConnection, "connection", minecraftConnection);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                failure = e;
+            }
+
+            if (failure != null) {
+                connectedPlayer = null;
+                velocityServer = null;
+                velocityRegisteredServer = null;
+                newServerConnection = null;
+                newMinecraftConnection = null;
+                setConnectedServer = null;
+                getConnectedServer = null;
+                getChannel = null;
+                hasCompletedJoin = null;
+                connection = null;
+            }
+
+            CONNECTED_PLAYER = connectedPlayer;
+            VELOCITY_SERVER = velocityServer;
+            VELOCITY_REGISTERED_SERVER = velocityRegisteredServer;
+            NEW_SERVER_CONNECTION = newServerConnection;
+            NEW_MINECRAFT_CONNECTION = newMinecraftConnection;
+            SET_CONNECTED_SERVER = setConnectedServer;
+            GET_CONNECTED_SERVER = getConnectedServer;
+            GET_CHANNEL = getChannel;
+            HAS_COMPLETED_JOIN = hasCompletedJoin;
+            CONNECTION = connection;
+            FAILURE = failure;
+        }
+
+        private Handles() {
+        }
+    }
 }
@@ -93,6 +93,13 @@ public class AutoTriggerConfig {
         @Comment("Message when moved to fallback")
         private String message = "&cServer is unavailable. You've been moved to fallback limbo.";
 
+        @Comment("Backend servers to try before the fallback limbo, in order of preference. " +
+                 "The least loaded available one is used; the limbo only when none is available")
+        private List<String> failoverServers = new ArrayList<>();
+
+        @Comment("Message when moved to a failover server, supports {server}")
+        private String failoverMessage = "&eServer is unavailable. You've been moved to {server}.";
+
         public FallbackTriggerConfig() {}
 
         public boolean isEnabled() {
@@ -110,6 +117,14 @@ public class AutoTriggerConfig {
         public String getMessage() {
             return message;
         }
+
+        public List<String> getFailoverServers() {
+            return failoverServers;
+        }
+
+        public String getFailoverMessage() {
+            return failoverMessage;
+        }
     }
 
 }
@@ -0,0 +1,447 @@
+package com.itsazni.simpleLimbo.config;
+
+import com.itsazni.simpleLimbo.util.MessageUtil;
+import net.elytrium.limboapi.api.chunk.Dimension;
+import net.elytrium.limboapi.api.file.BuiltInWorldFileType;
+import net.elytrium.limboapi.api.player.GameMode;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable, pre-parsed view of one {@link LimboServerConfig}.
+ *
+ * Enum strings are parsed, messages are deserialized into components and the command
+ * whitelist is case-folded once here, so nothing on the join/move/chat path touches the
+ * raw config strings.
+ */
+public final class CompiledLimbo {
+
+    // Countdown action bars are prebuilt for every value up to this many seconds
+    private static final int MAX_PREBUILT_COUNTDOWN = 600;
+
+    // Smallest view and simulation distance clients accept
+    private static final int MIN_DISTANCE = 2;
+
+    private final String name;
+    private final LimboServerConfig source;
+
+    private final boolean enabled;
+    private final Dimension dimension;
+    private final GameMode gameMode;
+    private final long worldTime;
+    private final int readTimeout;
+    private final BuiltInWorldFileType worldFileType;
+    private final WorldMode worldMode;
+    private final boolean lowBandwidth;
+    private final int viewDistance;
+    private final int simulationDistance;
+
+    private final List<String> commands;
+    private final Set<String> allowedCommands;
+
+    private final Component joinChat;
+    private final Title joinTitle;
+    private final Component joinActionBar;
+
+    private final boolean bossBarEnabled;
+    private final Component bossBarTitle;
+    private final float bossBarProgress;
+    private final BossBar.Color bossBarColor;
+    private final BossBar.Overlay bossBarOverlay;
+
+    private final Component periodicActionBar;
+    private final long periodicActionBarIntervalMs;
+
+    private final boolean autoReconnectEnabled;
+    private final int autoReconnectInterval;
+    private final String autoReconnectServer;
+    private final Component autoReconnectSuccessMessage;
+    private final String countdownTemplate;
+    private final Component[] countdownActionBars;
+
+    private final boolean queueEnabled;
+    private final String queueServer;
+    private final double queueReleaseRate;
+    private final int queueMaxPlayers;
+    private final List<String> queuePriorityPermissions;
+    private final String queueTemplate;
+    private final Component[] queueActionBars;
+    private final Component queueReleaseMessage;
+
+    private final String fakeServerName;
+
+    CompiledLimbo(String name, LimboServerConfig config, Logger logger) {
+        this.name = name;
+        this.source = config;
+
+        this.enabled = config.isEnabled();
+        this.dimension = parseDimension(config.getDimension());
+        this.gameMode = parseGameMode(config.getGamemode());
+        this.worldTime = config.getWorldTime();
+        this.readTimeout = sanitizeReadTimeout(config.getSettings().getReadTimeout(), logger);
+        this.worldFileType = parseWorldFileType(config.getWorldFile().getType());
+        this.worldMode = parseWorldMode(config.getWorldFile().getType());
+
+        // Low bandwidth keeps only the join display; everything sent on a timer is left out
+        this.lowBandwidth = config.getSettings().isLowBandwidth();
+        // A void world has nothing to see, so it asks clients for as few chunks as possible too
+        boolean minimalDistance = lowBandwidth || (config.getWorldFile().isEnabled() && worldMode == WorldMode.VOID);
+        this.viewDistance = minimalDistance ? MIN_DISTANCE : config.getSettings().getViewDistance();
+        this.simulationDistance = minimalDistance ? MIN_DISTANCE : config.getSettings().getSimulationDistance();
+
+        this.commands = List.copyOf(config.getCommands());
+        Set<String> folded = new LinkedHashSet<>();
+        for (String command : commands) {
+            folded.add(command.toLowerCase(Locale.ROOT));
+        }
+        this.allowedCommands = Set.copyOf(folded);
+
+        DisplayConfig display = config.getDisplay();
+        DisplayConfig.OnJoinConfig onJoin = display.getOnJoin();
+        this.joinChat = optionalComponent(onJoin.getChat());
+
+        DisplayConfig.TitleConfig titleConfig = onJoin.getTitle();
+        if (titleConfig.isEnabled()) {
+            Title.Times times = Title.Times.times(
+                    Duration.ofMillis(titleConfig.getFadeIn() * 50L),
+                    Duration.ofMillis(titleConfig.getStay() * 50L),
+                    Duration.ofMillis(titleConfig.getFadeOut() * 50L)
+            );
+            this.joinTitle = Title.title(
+                    MessageUtil.component(titleConfig.getTitle()),
+                    MessageUtil.component(titleConfig.getSubtitle()),
+                    times
+            );
+        } else {
+            this.joinTitle = null;
+        }
+
+        DisplayConfig.ActionBarOnJoinConfig onJoinActionBar = onJoin.getActionbar();
+        this.joinActionBar = onJoinActionBar.isEnabled() ? optionalComponent(onJoinActionBar.getMessage()) : null;
+
+        DisplayConfig.BossBarConfig bossBarConfig = display.getBossbar();
+        this.bossBarEnabled = bossBarConfig.isEnabled() && !lowBandwidth;
+        this.bossBarTitle = MessageUtil.component(bossBarConfig.getTitle());
+        this.bossBarProgress = normalizeProgress(bossBarConfig.getProgress());
+        this.bossBarColor = parseColor(bossBarConfig.getColor());
+        this.bossBarOverlay = parseOverlay(bossBarConfig.getStyle());
+
+        DisplayConfig.PeriodicActionBarConfig periodicActionbar = display.getActionbar();
+        if (periodicActionbar.isEnabled() && !periodicActionbar.getMessage().isEmpty() && !lowBandwidth) {
+            this.periodicActionBar = MessageUtil.component(periodicActionbar.getMessage());
+            this.periodicActionBarIntervalMs = Math.max(1, periodicActionbar.getInterval()) * 50L;
+        } else {
+            this.periodicActionBar = null;
+            this.periodicActionBarIntervalMs = 0;
+        }
+
+        LimboServerConfig.AutoReconnectConfig reconnect = config.getAutoReconnect();
+        this.autoReconnectEnabled = reconnect.isEnabled();
+        this.autoReconnectInterval = Math.max(1, reconnect.getInterval());
+        this.autoReconnectServer = reconnect.getServer();
+        this.autoReconnectSuccessMessage = MessageUtil.component(reconnect.getSuccessMessage());
+        this.countdownTemplate = lowBandwidth ? "" : display.getActionbar().getMessage();
+        this.countdownActionBars = autoReconnectEnabled && !lowBandwidth
+                ? prebuild(countdownTemplate, "{countdown}", Math.min(autoReconnectInterval, MAX_PREBUILT_COUNTDOWN))
+                : new Component[0];
+
+        LimboServerConfig.QueueConfig queue = config.getQueue();
+        this.queueEnabled = queue.isEnabled();
+        this.queueServer = queue.getServer();
+        this.queueReleaseRate = queue.getReleaseRate() > 0 ? queue.getReleaseRate() : 1.0;
+        this.queueMaxPlayers = Math.max(0, queue.getMaxPlayers());
+        this.queuePriorityPermissions = List.copyOf(queue.getPriorityPermissions());
+        this.queueTemplate = lowBandwidth ? "" : queue.getMessage();
+        // {size} changes every tick, so only templates without it can be prebuilt
+        this.queueActionBars = queueEnabled && !lowBandwidth && queueTemplate != null && !queueTemplate.contains("{size}")
+                ? prebuild(queueTemplate, "{position}", MAX_PREBUILT_COUNTDOWN)
+                : new Component[0];
+        this.queueReleaseMessage = optionalComponent(queue.getReleaseMessage());
+
+        String fakeServer = config.getFakeServerName();
+        this.fakeServerName = fakeServer == null || fakeServer.isBlank() ? null : fakeServer;
+    }
+
+    /**
+     * Auto-reconnect countdown action bar for the given number of seconds, or null if the
+     * configured template is empty.
+     */
+    public Component countdownActionBar(int seconds) {
+        if (seconds >= 0 && seconds < countdownActionBars.length) {
+            return countdownActionBars[seconds];
+        }
+        return optionalComponent(MessageUtil.replace(countdownTemplate, "{countdown}", String.valueOf(seconds)));
+    }
+
+    /**
+     * Queue position action bar, or null if the configured template is empty.
+     */
+    public Component queueActionBar(int position, int size) {
+        if (position >= 0 && position < queueActionBars.length) {
+            return queueActionBars[position];
+        }
+        String message = MessageUtil.replace(queueTemplate, "{position}", String.valueOf(position));
+        return optionalComponent(MessageUtil.replace(message, "{size}", String.valueOf(size)));
+    }
+
+    public boolean isCommandAllowed(String commandRoot) {
+        return allowedCommands.contains(commandRoot.toLowerCase(Locale.ROOT));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LimboServerConfig getSource() {
+        return source;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+
+    public long getWorldTime() {
+        return worldTime;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public BuiltInWorldFileType getWorldFileType() {
+        return worldFileType;
+    }
+
+    public WorldMode getWorldMode() {
+        return worldMode;
+    }
+
+    public boolean isLowBandwidth() {
+        return lowBandwidth;
+    }
+
+    /**
+     * View distance sent to players, the minimum when the low-bandwidth profile is on or the world is VOID.
+     */
+    public int getViewDistance() {
+        return viewDistance;
+    }
+
+    public int getSimulationDistance() {
+        return simulationDistance;
+    }
+
+    public SpawnConfig getSpawn() {
+        return source.getSpawn();
+    }
+
+    public LimboSettingsConfig getSettings() {
+        return source.getSettings();
+    }
+
+    public WorldFileConfig getWorldFile() {
+        return source.getWorldFile();
+    }
+
+    public List<String> getCommands() {
+        return commands;
+    }
+
+    public Component getJoinChat() {
+        return joinChat;
+    }
+
+    public Title getJoinTitle() {
+        return joinTitle;
+    }
+
+    public Component getJoinActionBar() {
+        return joinActionBar;
+    }
+
+    public boolean isBossBarEnabled() {
+        return bossBarEnabled;
+    }
+
+    public Component getBossBarTitle() {
+        return bossBarTitle;
+    }
+
+    public float getBossBarProgress() {
+        return bossBarProgress;
+    }
+
+    public BossBar.Color getBossBarColor() {
+        return bossBarColor;
+    }
+
+    public BossBar.Overlay getBossBarOverlay() {
+        return bossBarOverlay;
+    }
+
+    public Component getPeriodicActionBar() {
+        return periodicActionBar;
+    }
+
+    public long getPeriodicActionBarIntervalMs() {
+        return periodicActionBarIntervalMs;
+    }
+
+    public boolean isAutoReconnectEnabled() {
+        return autoReconnectEnabled;
+    }
+
+    public int getAutoReconnectInterval() {
+        return autoReconnectInterval;
+    }
+
+    public String getAutoReconnectServer() {
+        return autoReconnectServer;
+    }
+
+    public Component getAutoReconnectSuccessMessage() {
+        return autoReconnectSuccessMessage;
+    }
+
+    public boolean isQueueEnabled() {
+        return queueEnabled;
+    }
+
+    public String getQueueServer() {
+        return queueServer;
+    }
+
+    public double getQueueReleaseRate() {
+        return queueReleaseRate;
+    }
+
+    public int getQueueMaxPlayers() {
+        return queueMaxPlayers;
+    }
+
+    public List<String> getQueuePriorityPermissions() {
+        return queuePriorityPermissions;
+    }
+
+    public Component getQueueReleaseMessage() {
+        return queueReleaseMessage;
+    }
+
+    public String getFakeServerName() {
+        return fakeServerName;
+    }
+
+    private static Component[] prebuild(String template, String placeholder, int maxValue) {
+        Component[] components = new Component[maxValue + 1];
+        for (int value = 0; value <= maxValue; value++) {
+            components[value] = optionalComponent(MessageUtil.replace(template, placeholder, String.valueOf(value)));
+        }
+        return components;
+    }
+
+    static Component optionalComponent(String message) {
+        if (message == null || message.isEmpty()) {
+            return null;
+        }
+        return MessageUtil.component(message);
+    }
+
+    private static Dimension parseDimension(String dimensionStr) {
+        return switch (dimensionStr.toUpperCase(Locale.ROOT)) {
+            case "NETHER", "THE_NETHER" -> Dimension.NETHER;
+            case "END", "THE_END" -> Dimension.THE_END;
+            default -> Dimension.OVERWORLD;
+        };
+    }
+
+    private static GameMode parseGameMode(String gameModeStr) {
+        return switch (gameModeStr.toUpperCase(Locale.ROOT)) {
+            case "SURVIVAL" -> GameMode.SURVIVAL;
+            case "CREATIVE" -> GameMode.CREATIVE;
+            case "SPECTATOR" -> GameMode.SPECTATOR;
+            default -> GameMode.ADVENTURE;
+        };
+    }
+
+    private static BuiltInWorldFileType parseWorldFileType(String typeStr) {
+        return switch (typeStr.toUpperCase(Locale.ROOT)) {
+            case "WORLDEDIT_SCHEM", "SCHEM" -> BuiltInWorldFileType.WORLDEDIT_SCHEM;
+            case "STRUCTURE" -> BuiltInWorldFileType.STRUCTURE;
+            default -> BuiltInWorldFileType.SCHEMATIC;
+        };
+    }
+
+    private static WorldMode parseWorldMode(String typeStr) {
+        return switch (typeStr.toUpperCase(Locale.ROOT)) {
+            case "PLATFORM" -> WorldMode.PLATFORM;
+            case "VOID" -> WorldMode.VOID;
+            default -> WorldMode.FILE;
+        };
+    }
+
+    private static BossBar.Color parseColor(String color) {
+        try {
+            return BossBar.Color.valueOf(color.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return BossBar.Color.WHITE;
+        }
+    }
+
+    private static BossBar.Overlay parseOverlay(String overlay) {
+        try {
+            return BossBar.Overlay.valueOf(overlay.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return BossBar.Overlay.PROGRESS;
+        }
+    }
+
+    private static float normalizeProgress(float progress) {
+        if (progress < 0f) {
+            return 0f;
+        }
+        return Math.min(progress, 1f);
+    }
+
+    private int sanitizeReadTimeout(long timeout, Logger logger) {
+        if (timeout <= 0) {
+            logger.warn("Limbo {} has invalid read-timeout={} (must be > 0). Using 30000ms.", name, timeout);
+            return 30000;
+        }
+
+        if (timeout > Integer.MAX_VALUE) {
+            logger.warn("Limbo {} read-timeout too large ({}). Capping to {}.", name, timeout, Integer.MAX_VALUE);
+            return Integer.MAX_VALUE;
+        }
+
+        return (int) timeout;
+    }
+
+    /**
+     * Where a limbo's blocks come from when its world-file section is enabled.
+     */
+    public enum WorldMode {
+        // Load the configured schematic or structure file
+        FILE,
+        // Build a floor around the spawn, no file I/O
+        PLATFORM,
+        // Place nothing and skip the light fill; only the empty chunks LimboAPI creates around
+        // the spawn exist, and view and simulation distance are forced to the minimum
+        VOID
+    }
+}
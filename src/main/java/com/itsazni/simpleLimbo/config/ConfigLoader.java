@@ -10,62 +10,121 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ConfigLoader {
 
     private final Path dataDirectory;
     private final Logger logger;
-    private Settings settings;
+    // Single worker so parses never overlap and never run on the proxy or command threads
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SimpleLimbo Config Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Settings settings;
 
     public ConfigLoader(Path dataDirectory, Logger logger) {
         this.dataDirectory = dataDirectory;
         this.logger = logger;
     }
 
-    public Settings load() {
-        Path configFile = dataDirectory.resolve("config.yml");
+    public Path getConfigFile() {
+        return dataDirectory.resolve("config.yml");
+    }
 
+    public Settings load() {
         try {
-            // Create data directory if it doesn't exist
-            if (!Files.exists(dataDirectory)) {
-                Files.createDirectories(dataDirectory);
+            settings = parse();
+            logger.info("Configuration loaded successfully");
+            return settings;
+
+        } catch (IOException e) {
+            logger.error("Failed to load configuration: {}", e.getMessage(), e);
+            settings = new Settings();
+            return settings;
+        }
+    }
+
+    /**
+     * Load and compile the config on the worker thread. Used at startup, where there is no
+     * previous config to keep: parse failures fall back to defaults and problems are only logged.
+     */
+    public CompletableFuture<RuntimeConfig> loadAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            RuntimeConfig config = RuntimeConfig.compile(load(), logger);
+            config.getProblems().forEach(problem -> logger.warn("Configuration problem: {}", problem));
+            return config;
+        }, worker);
+    }
+
+    /**
+     * Parse, compile and validate the config on the worker thread. The future completes
+     * exceptionally if the file cannot be parsed or the result has problems, in which case the
+     * caller should keep its current config.
+     */
+    public CompletableFuture<RuntimeConfig> reloadAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            Settings parsed;
+            try {
+                parsed = parse();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to parse config.yml: " + e.getMessage(), e);
             }
 
-            // Copy default config if it doesn't exist
-            if (!Files.exists(configFile)) {
-                saveDefaultConfig(configFile);
+            RuntimeConfig config = RuntimeConfig.compile(parsed, logger);
+            if (!config.getProblems().isEmpty()) {
+                throw new IllegalStateException(String.join("; ", config.getProblems()));
             }
 
-            // Load configuration
-            YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
-                    .path(configFile)
-                    .nodeStyle(NodeStyle.BLOCK)
-                    .build();
+            settings = parsed;
+            return config;
+        }, worker);
+    }
 
-            CommentedConfigurationNode node = loader.load();
-            settings = node.get(Settings.class);
+    public void shutdown() {
+        worker.shutdownNow();
+    }
 
-            if (settings == null) {
-                logger.warn("Failed to load config, using defaults");
-                settings = new Settings();
-            }
+    private Settings parse() throws IOException {
+        Path configFile = getConfigFile();
 
-            logger.info("Configuration loaded successfully");
-            return settings;
+        // Create data directory if it doesn't exist
+        if (!Files.exists(dataDirectory)) {
+            Files.createDirectories(dataDirectory);
+        }
 
-        } catch (IOException e) {
-            logger.error("Failed to load configuration: {}", e.getMessage(), e);
-            settings = new Settings();
-            return settings;
+        // Copy default config if it doesn't exist
+        if (!Files.exists(configFile)) {
+            saveDefaultConfig(configFile);
         }
+
+        // Load configuration
+        YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+                .path(configFile)
+                .nodeStyle(NodeStyle.BLOCK)
+                .build();
+
+        CommentedConfigurationNode node = loader.load();
+        Settings parsed = node.get(Settings.class);
+
+        if (parsed == null) {
+            logger.warn("Failed to load config, using defaults");
+            parsed = new Settings();
+        }
+
+        return parsed;
     }
 
     public void save() {
-        if (settings == null) {
+        Settings current = settings;
+        if (current == null) {
             return;
         }
 
-        Path configFile = dataDirectory.resolve("config.yml");
+        Path configFile = getConfigFile();
 
         try {
             YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
@@ -74,7 +133,7 @@ public class ConfigLoader {
                     .build();
 
             CommentedConfigurationNode node = loader.load();
-            node.set(Settings.class, settings);
+            node.set(Settings.class, current);
             loader.save(node);
 
             logger.info("Configuration saved successfully");
@@ -92,7 +151,7 @@ public class ConfigLoader {
             } else {
                 // No default config in resources, create from Settings class
                 settings = new Settings();
-                
+
                 YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
                         .path(configFile)
                         .nodeStyle(NodeStyle.BLOCK)
@@ -101,7 +160,7 @@ public class ConfigLoader {
                 CommentedConfigurationNode node = loader.load();
                 node.set(Settings.class, settings);
                 loader.save(node);
-                
+
                 logger.info("Generated default configuration");
             }
         } catch (IOException e) {
@@ -0,0 +1,116 @@
+package com.itsazni.simpleLimbo.config;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches config.yml and runs a callback once the file has stopped changing for the debounce
+ * period. Editors usually write a file in several steps, so each change pushes the callback back.
+ */
+public class ConfigWatcher {
+
+    private final Path file;
+    private final long debounceMs;
+    private final Runnable onChange;
+    private final Logger logger;
+
+    private WatchService watchService;
+    private Thread thread;
+    private ScheduledExecutorService debouncer;
+    private ScheduledFuture<?> pending;
+
+    public ConfigWatcher(Path file, long debounceMs, Runnable onChange, Logger logger) {
+        this.file = file;
+        this.debounceMs = debounceMs;
+        this.onChange = onChange;
+        this.logger = logger;
+    }
+
+    public void start() throws IOException {
+        // Directory watches also see editors that replace the file instead of writing in place
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        debouncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread debounceThread = new Thread(runnable, "SimpleLimbo Config Debounce");
+            debounceThread.setDaemon(true);
+            return debounceThread;
+        });
+
+        thread = new Thread(this::watch, "SimpleLimbo Config Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public long getDebounceMs() {
+        return debounceMs;
+    }
+
+    public synchronized void close() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (debouncer != null) {
+            debouncer.shutdown();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close config watcher: {}", e.getMessage());
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+
+                if (changed) {
+                    schedule();
+                }
+
+                if (!key.reset()) {
+                    logger.warn("Config directory is no longer accessible, auto-reload stopped");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private synchronized void schedule() {
+        if (debouncer.isShutdown()) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = debouncer.schedule(onChange, debounceMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,50 @@
+package com.itsazni.simpleLimbo.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class HealthConfig {
+
+    @Comment("Ping registered backend servers in the background and cache their status")
+    private boolean enabled = false;
+
+    @Comment("Milliseconds between pings of each server")
+    private long intervalMs = 5000;
+
+    @Comment("Milliseconds before a ping counts as failed")
+    private long timeoutMs = 2000;
+
+    @Comment("Consecutive failed pings before a server is marked down")
+    private int failureThreshold = 3;
+
+    @Comment("Milliseconds a down server is left alone before it is probed again")
+    private long openDurationMs = 30000;
+
+    @Comment("Send any kick from a server marked down to the fallback limbo, not only kicks matching its patterns")
+    private boolean routeDownKicks = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getOpenDurationMs() {
+        return openDurationMs;
+    }
+
+    public boolean isRouteDownKicks() {
+        return routeDownKicks;
+    }
+}
@@ -39,6 +39,9 @@ public class LimboServerConfig {
     @Comment("Auto-reconnect settings (for fallback limbos)")
     private AutoReconnectConfig autoReconnect = new AutoReconnectConfig();
 
+    @Comment("Admission queue settings (waiting room for a backend server)")
+    private QueueConfig queue = new QueueConfig();
+
     @Comment("Fake server name for auth plugin compatibility. When set, this limbo will appear " +
              "to auth plugins as if the player is connected to this backend server. " +
              "Leave empty to disable. Example: 'auth' or 'limbo-auth'")
@@ -86,6 +89,10 @@ public class LimboServerConfig {
         return autoReconnect;
     }
 
+    public QueueConfig getQueue() {
+        return queue;
+    }
+
     public String getFakeServerName() {
         return fakeServerName;
     }
@@ -130,4 +137,61 @@ public class LimboServerConfig {
             return successMessage;
         }
     }
+
+    @ConfigSerializable
+    public static class QueueConfig {
+
+        @Comment("Hold players in this limbo and release them to the server in order. " +
+                 "Takes precedence over auto-reconnect")
+        private boolean enabled = false;
+
+        @Comment("Server players are released to")
+        private String server = "lobby";
+
+        @Comment("Players released per second")
+        private double releaseRate = 5.0;
+
+        @Comment("Only release while the server has fewer players than this (0 = no limit)")
+        private int maxPlayers = 0;
+
+        @Comment("Permissions for priority tiers, highest priority first. " +
+                 "Players without any of them queue after all tiers")
+        private List<String> priorityPermissions = new ArrayList<>();
+
+        @Comment("Action bar shown every second while queued, supports {position} and {size}")
+        private String message = "&7Position in queue: &f{position}&7/&f{size}";
+
+        @Comment("Message when a player is released to the server")
+        private String releaseMessage = "&aConnecting you to the server...";
+
+        public QueueConfig() {}
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getServer() {
+            return server;
+        }
+
+        public double getReleaseRate() {
+            return releaseRate;
+        }
+
+        public int getMaxPlayers() {
+            return maxPlayers;
+        }
+
+        public List<String> getPriorityPermissions() {
+            return priorityPermissions;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getReleaseMessage() {
+            return releaseMessage;
+        }
+    }
 }
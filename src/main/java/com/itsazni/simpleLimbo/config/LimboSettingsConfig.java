@@ -30,6 +30,9 @@ public class LimboSettingsConfig {
     @Comment("Delay before anti-fall activates (milliseconds)")
     private long disableFallingDelayMs = 5000;
 
+    @Comment("Low-bandwidth profile for parked players: minimum view and simulation distance, no bossbar and no periodic action bars")
+    private boolean lowBandwidth = false;
+
     public LimboSettingsConfig() {}
 
     public long getReadTimeout() {
@@ -63,4 +66,8 @@ public class LimboSettingsConfig {
     public long getDisableFallingDelayMs() {
         return disableFallingDelayMs;
     }
+
+    public boolean isLowBandwidth() {
+        return lowBandwidth;
+    }
 }
@@ -0,0 +1,50 @@
+package com.itsazni.simpleLimbo.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class LoadConfig {
+
+    @Comment("Skip cosmetic packets (titles, action bars, bossbars) while the proxy is under load")
+    private boolean enabled = false;
+
+    @Comment("Milliseconds between load samples")
+    private long sampleIntervalMs = 1000;
+
+    @Comment("Degrade above this many limbo spawns per second (0 = ignore)")
+    private double maxSpawnsPerSecond = 50;
+
+    @Comment("Degrade when a limbo player's event loop takes longer than this to run a task (milliseconds, 0 = ignore)")
+    private long maxEventLoopLagMs = 50;
+
+    @Comment("Degrade above this many players across all limbos (0 = ignore)")
+    private int maxLimboPlayers = 0;
+
+    @Comment("Samples in a row below 80% of every threshold before cosmetic packets resume")
+    private int recoverySamples = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getSampleIntervalMs() {
+        return sampleIntervalMs;
+    }
+
+    public double getMaxSpawnsPerSecond() {
+        return maxSpawnsPerSecond;
+    }
+
+    public long getMaxEventLoopLagMs() {
+        return maxEventLoopLagMs;
+    }
+
+    public int getMaxLimboPlayers() {
+        return maxLimboPlayers;
+    }
+
+    public int getRecoverySamples() {
+        return recoverySamples;
+    }
+}
@@ -0,0 +1,29 @@
+package com.itsazni.simpleLimbo.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class MetricsConfig {
+
+    @Comment("Serve Prometheus metrics over HTTP")
+    private boolean enabled = false;
+
+    @Comment("Bind host for the metrics endpoint (keep it local unless scraped from another machine)")
+    private String host = "127.0.0.1";
+
+    @Comment("Port for the metrics endpoint, served at /metrics")
+    private int port = 9464;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+}
@@ -0,0 +1,249 @@
+package com.itsazni.simpleLimbo.config;
+
+import com.itsazni.simpleLimbo.util.MessageUtil;
+import net.kyori.adventure.text.Component;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable snapshot of the configuration compiled from {@link Settings}.
+ *
+ * Produced once per load by {@link #compile(Settings, Logger)} and published by the plugin
+ * through a single volatile field, so readers either see the old snapshot or the new one,
+ * never a mix of both.
+ */
+public final class RuntimeConfig {
+
+    private final Settings settings;
+    private final boolean debug;
+    private final Map<String, CompiledLimbo> limbos;
+    private final FallbackTrigger fallback;
+    private final AfkTrigger afk;
+    private final boolean bridgeEnabled;
+    private final Map<String, String> aliases;
+    private final List<String> problems;
+
+    private RuntimeConfig(Settings settings, Logger logger) {
+        this.settings = settings;
+        this.debug = settings.isDebug();
+
+        Map<String, CompiledLimbo> compiledLimbos = new LinkedHashMap<>();
+        for (Map.Entry<String, LimboServerConfig> entry : settings.getLimbos().entrySet()) {
+            compiledLimbos.put(entry.getKey(), new CompiledLimbo(entry.getKey(), entry.getValue(), logger));
+        }
+        this.limbos = Collections.unmodifiableMap(compiledLimbos);
+
+        this.fallback = new FallbackTrigger(settings.getAutoTriggers().getFallback(), logger);
+        this.afk = new AfkTrigger(settings.getAutoTriggers().getAfk());
+
+        VelocityBridgeConfig bridge = settings.getVelocityBridge();
+        this.bridgeEnabled = bridge.isEnabled();
+        Map<String, String> foldedAliases = new HashMap<>();
+        for (Map.Entry<String, String> entry : bridge.getAliases().entrySet()) {
+            if (entry.getKey() != null) {
+                foldedAliases.putIfAbsent(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+            }
+        }
+        this.aliases = Map.copyOf(foldedAliases);
+        this.problems = List.copyOf(findProblems());
+    }
+
+    /**
+     * Compile loaded settings into a runtime snapshot. Invalid values are logged and replaced
+     * with their defaults, the same way the plugin treated them before.
+     */
+    public static RuntimeConfig compile(Settings settings, Logger logger) {
+        return new RuntimeConfig(settings, logger);
+    }
+
+    /**
+     * Resolve a Velocity server alias to its limbo id, or null if the bridge does not map it.
+     */
+    public String resolveAlias(String alias) {
+        if (!bridgeEnabled || alias == null) {
+            return null;
+        }
+        return aliases.get(alias.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * References that point at limbos which do not exist. A reload is only applied when this
+     * is empty; at startup the problems are logged and the config is used anyway.
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+
+    private List<String> findProblems() {
+        List<String> found = new ArrayList<>();
+        if (fallback.isEnabled() && !limbos.containsKey(fallback.getLimbo())) {
+            found.add("auto-triggers.fallback.limbo '" + fallback.getLimbo() + "' is not a configured limbo");
+        }
+        if (afk.isEnabled() && !limbos.containsKey(afk.getLimbo())) {
+            found.add("auto-triggers.afk.limbo '" + afk.getLimbo() + "' is not a configured limbo");
+        }
+        if (bridgeEnabled) {
+            for (Map.Entry<String, String> entry : aliases.entrySet()) {
+                if (!limbos.containsKey(entry.getValue())) {
+                    found.add("velocity-bridge alias '" + entry.getKey() + "' points at unknown limbo '" + entry.getValue() + "'");
+                }
+            }
+        }
+        return found;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public Map<String, CompiledLimbo> getLimbos() {
+        return limbos;
+    }
+
+    public FallbackTrigger getFallback() {
+        return fallback;
+    }
+
+    public AfkTrigger getAfk() {
+        return afk;
+    }
+
+    public static final class FallbackTrigger {
+
+        private final boolean enabled;
+        private final String limbo;
+        private final List<Pattern> kickPatterns;
+        private final Component message;
+        private final List<String> failoverServers;
+        private final Map<String, Component> failoverMessages;
+
+        private FallbackTrigger(AutoTriggerConfig.FallbackTriggerConfig config, Logger logger) {
+            this.enabled = config.isEnabled();
+            this.limbo = config.getLimbo();
+
+            List<Pattern> patterns = new ArrayList<>();
+            for (String pattern : config.getKickPatterns()) {
+                try {
+                    patterns.add(Pattern.compile(pattern, Pattern.CASE_INSENSITIVE));
+                } catch (PatternSyntaxException e) {
+                    logger.warn("Ignoring invalid fallback kick pattern '{}': {}", pattern, e.getDescription());
+                }
+            }
+            this.kickPatterns = List.copyOf(patterns);
+            this.message = CompiledLimbo.optionalComponent(config.getMessage());
+
+            this.failoverServers = List.copyOf(config.getFailoverServers());
+            Map<String, Component> messages = new HashMap<>();
+            for (String server : failoverServers) {
+                Component built = CompiledLimbo.optionalComponent(
+                        MessageUtil.replace(config.getFailoverMessage(), "{server}", server));
+                if (built != null) {
+                    messages.put(server, built);
+                }
+            }
+            this.failoverMessages = Map.copyOf(messages);
+        }
+
+        /**
+         * Find the first kick pattern that matches the whole reason.
+         *
+         * @return the matching pattern, or null if fallback is disabled or nothing matches
+         */
+        public Pattern match(String reason) {
+            if (!enabled) {
+                return null;
+            }
+
+            String value = reason == null ? "" : reason;
+            for (Pattern pattern : kickPatterns) {
+                if (pattern.matcher(value).matches()) {
+                    return pattern;
+                }
+            }
+            return null;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getLimbo() {
+            return limbo;
+        }
+
+        public List<Pattern> getKickPatterns() {
+            return kickPatterns;
+        }
+
+        public Component getMessage() {
+            return message;
+        }
+
+        public List<String> getFailoverServers() {
+            return failoverServers;
+        }
+
+        /**
+         * Message for a player moved to the given failover server, or null if none is configured.
+         */
+        public Component getFailoverMessage(String server) {
+            return failoverMessages.get(server);
+        }
+    }
+
+    public static final class AfkTrigger {
+
+        private final boolean enabled;
+        private final String limbo;
+        private final long idleMillis;
+        private final long checkIntervalSeconds;
+        private final String exemptPermission;
+        private final Component message;
+
+        private AfkTrigger(AutoTriggerConfig.AfkTriggerConfig config) {
+            this.enabled = config.isEnabled();
+            this.limbo = config.getLimbo();
+            this.idleMillis = Math.max(1, config.getIdleTime()) * 1000L;
+            this.checkIntervalSeconds = Math.max(1, config.getCheckInterval());
+            this.exemptPermission = config.getExemptPermission();
+            this.message = CompiledLimbo.optionalComponent(config.getMessage());
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getLimbo() {
+            return limbo;
+        }
+
+        public long getIdleMillis() {
+            return idleMillis;
+        }
+
+        public long getCheckIntervalSeconds() {
+            return checkIntervalSeconds;
+        }
+
+        public String getExemptPermission() {
+            return exemptPermission;
+        }
+
+        public Component getMessage() {
+            return message;
+        }
+    }
+}
@@ -12,6 +12,12 @@ public class Settings {
     @Comment("Enable debug logging")
     private boolean debug = false;
 
+    @Comment("Reload automatically when config.yml changes on disk")
+    private boolean autoReload = false;
+
+    @Comment("Milliseconds config.yml must stay unchanged before an automatic reload")
+    private long autoReloadDebounceMs = 1000;
+
     @Comment("Auto-trigger settings")
     private AutoTriggerConfig autoTriggers = new AutoTriggerConfig();
 
@@ -21,6 +27,21 @@ public class Settings {
     @Comment("Bridge aliases for plugins that require Velocity [servers] names")
     private VelocityBridgeConfig velocityBridge = new VelocityBridgeConfig();
 
+    @Comment("Prometheus metrics endpoint")
+    private MetricsConfig metrics = new MetricsConfig();
+
+    @Comment("Event trace recording for replay")
+    private TraceConfig trace = new TraceConfig();
+
+    @Comment("Backend health monitoring")
+    private HealthConfig health = new HealthConfig();
+
+    @Comment("Limbo state shared between proxies")
+    private StateStoreConfig stateStore = new StateStoreConfig();
+
+    @Comment("Load-aware degradation of cosmetic packets")
+    private LoadConfig load = new LoadConfig();
+
     public Settings() {
         // Create default limbo configurations
         createDefaultLimbos();
@@ -40,6 +61,14 @@ public class Settings {
         return debug;
     }
 
+    public boolean isAutoReload() {
+        return autoReload;
+    }
+
+    public long getAutoReloadDebounceMs() {
+        return autoReloadDebounceMs;
+    }
+
     public AutoTriggerConfig getAutoTriggers() {
         return autoTriggers;
     }
@@ -55,4 +84,24 @@ public class Settings {
     public VelocityBridgeConfig getVelocityBridge() {
         return velocityBridge;
     }
+
+    public MetricsConfig getMetrics() {
+        return metrics;
+    }
+
+    public TraceConfig getTrace() {
+        return trace;
+    }
+
+    public HealthConfig getHealth() {
+        return health;
+    }
+
+    public StateStoreConfig getStateStore() {
+        return stateStore;
+    }
+
+    public LoadConfig getLoad() {
+        return load;
+    }
 }
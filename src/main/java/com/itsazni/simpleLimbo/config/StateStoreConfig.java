@@ -0,0 +1,57 @@
+package com.itsazni.simpleLimbo.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class StateStoreConfig {
+
+    @Comment("Where limbo membership and queues are kept: MEMORY (this proxy only) or NETWORK (shared between proxies)")
+    private String type = "MEMORY";
+
+    @Comment("Unique name of this proxy in the shared store. Empty = random per start")
+    private String proxyId = "";
+
+    @Comment("State store server address (NETWORK only)")
+    private String host = "127.0.0.1";
+
+    @Comment("State store server port (NETWORK only)")
+    private int port = 7420;
+
+    @Comment("Shared secret every proxy sends to the state store server. Required for NETWORK")
+    private String secret = "";
+
+    @Comment("Run the state store server inside this proxy, bound to host/port. Enable on exactly one proxy")
+    private boolean serve = false;
+
+    @Comment("Milliseconds between batched writes to the state store")
+    private long flushIntervalMs = 50;
+
+    public String getType() {
+        return type;
+    }
+
+    public String getProxyId() {
+        return proxyId;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public boolean isServe() {
+        return serve;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+}
@@ -0,0 +1,29 @@
+package com.itsazni.simpleLimbo.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class TraceConfig {
+
+    @Comment("Record a binary trace of player events for later replay")
+    private boolean enabled = false;
+
+    @Comment("Directory for trace files, relative to the plugin folder")
+    private String directory = "traces";
+
+    @Comment("Events buffered for the writer thread; events beyond this are dropped, never blocked on")
+    private int queueSize = 65536;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+}
@@ -6,13 +6,13 @@ import org.spongepowered.configurate.objectmapping.meta.Comment;
 @ConfigSerializable
 public class WorldFileConfig {
 
-    @Comment("Enable loading world from schematic file")
+    @Comment("Enable loading world from schematic file, or building a platform/void world")
     private boolean enabled = false;
 
-    @Comment("File type: SCHEMATIC, WORLDEDIT_SCHEM, STRUCTURE")
+    @Comment("File type: SCHEMATIC, WORLDEDIT_SCHEM, STRUCTURE. Or PLATFORM (a floor built around the spawn, no file) or VOID (no blocks at all)")
     private String type = "SCHEMATIC";
 
-    @Comment("Path to the world file (relative to plugin data folder)")
+    @Comment("Path to the world file (relative to plugin data folder). A .slworld copy made with /simplelimbo world import is preferred")
     private String path = "";
 
     @Comment("Offset for placing the schematic")
@@ -21,6 +21,15 @@ public class WorldFileConfig {
     @Comment("Light level (0-15)")
     private int lightLevel = 15;
 
+    @Comment("Only load chunks within the limbo's view distance of the spawn point, plus trim-margin chunks")
+    private boolean trimToViewDistance = false;
+
+    @Comment("Extra chunks kept around the view distance when trimming")
+    private int trimMargin = 1;
+
+    @Comment("Floor built under the spawn when type is PLATFORM")
+    private PlatformConfig platform = new PlatformConfig();
+
     public WorldFileConfig() {}
 
     public boolean isEnabled() {
@@ -43,6 +52,37 @@ public class WorldFileConfig {
         return lightLevel;
     }
 
+    public boolean isTrimToViewDistance() {
+        return trimToViewDistance;
+    }
+
+    public int getTrimMargin() {
+        return trimMargin;
+    }
+
+    public PlatformConfig getPlatform() {
+        return platform;
+    }
+
+    @ConfigSerializable
+    public static class PlatformConfig {
+        @Comment("Block id, e.g. minecraft:stone or minecraft:barrier")
+        private String block = "minecraft:stone";
+
+        @Comment("Blocks on each side of the spawn block (2 = a 5x5 floor)")
+        private int radius = 2;
+
+        public PlatformConfig() {}
+
+        public String getBlock() {
+            return block;
+        }
+
+        public int getRadius() {
+            return radius;
+        }
+    }
+
     @ConfigSerializable
     public static class OffsetConfig {
         private int x = 0;
@@ -0,0 +1,101 @@
+package com.itsazni.simpleLimbo.display;
+
+import com.itsazni.simpleLimbo.compat.PlayerChannels;
+import com.itsazni.simpleLimbo.metrics.LimboMetrics;
+import com.velocitypowered.api.proxy.Player;
+import io.netty.channel.Channel;
+import net.kyori.adventure.text.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One player's action bar, for updates that can be skipped: periodic messages, the auto-reconnect
+ * countdown and queue positions.
+ *
+ * An update is written right away while the player's connection is writable. Otherwise it is kept
+ * as the pending update and sent once the connection drains; a newer update replaces it, so a
+ * slow or stalled client holds at most one update here instead of a growing outbound buffer.
+ * Replaced updates are counted as dropped. Without access to the channel every update is sent.
+ */
+public final class ActionBarSlot {
+
+    public static final String SLOT = "actionbar";
+
+    private static final long RETRY_MS = 250;
+
+    private final Player player;
+    private final LimboMetrics metrics;
+    private final AtomicReference<Component> pending = new AtomicReference<>();
+
+    private volatile Channel channel;
+    private volatile boolean resolved;
+
+    public ActionBarSlot(Player player, LimboMetrics metrics) {
+        this.player = player;
+        this.metrics = metrics;
+    }
+
+    public void send(Component update) {
+        Channel current = channel();
+        if (current == null) {
+            player.sendActionBar(update);
+            return;
+        }
+        if (pending.get() == null && current.isWritable()) {
+            player.sendActionBar(update);
+            return;
+        }
+
+        if (pending.getAndSet(update) != null) {
+            metrics.recordDisplayDropped(SLOT);
+        } else {
+            scheduleFlush(current);
+        }
+    }
+
+    /**
+     * Forget the pending update, so nothing from a limbo is sent after the player left it.
+     */
+    public void clear() {
+        pending.set(null);
+    }
+
+    private Channel channel() {
+        if (!resolved) {
+            channel = PlayerChannels.channel(player);
+            resolved = true;
+        }
+        return channel;
+    }
+
+    private void scheduleFlush(Channel current) {
+        try {
+            current.eventLoop().schedule(() -> flush(current), RETRY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            drop();
+        }
+    }
+
+    private void flush(Channel current) {
+        if (!current.isActive()) {
+            drop();
+            return;
+        }
+        if (!current.isWritable()) {
+            scheduleFlush(current);
+            return;
+        }
+        Component update = pending.getAndSet(null);
+        if (update != null) {
+            player.sendActionBar(update);
+        }
+    }
+
+    private void drop() {
+        if (pending.getAndSet(null) != null) {
+            metrics.recordDisplayDropped(SLOT);
+        }
+    }
+}
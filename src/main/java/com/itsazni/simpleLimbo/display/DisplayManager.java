@@ -1,118 +1,95 @@
 package com.itsazni.simpleLimbo.display;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
-import com.itsazni.simpleLimbo.config.DisplayConfig;
-import com.itsazni.simpleLimbo.config.LimboServerConfig;
-import com.itsazni.simpleLimbo.util.MessageUtil;
+import com.itsazni.simpleLimbo.config.CompiledLimbo;
+import com.itsazni.simpleLimbo.load.LoadController;
+import com.itsazni.simpleLimbo.session.PlayerSession;
 import com.velocitypowered.api.proxy.Player;
-import com.velocitypowered.api.scheduler.ScheduledTask;
+import net.elytrium.limboapi.api.player.LimboPlayer;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.title.Title;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class DisplayManager {
 
     private final SimpleLimbo plugin;
-    private final Map<UUID, LimboDisplay> activeDisplays = new ConcurrentHashMap<>();
 
     public DisplayManager(SimpleLimbo plugin) {
         this.plugin = plugin;
     }
 
-    public void showJoinDisplay(Player player, LimboServerConfig config) {
-        DisplayConfig display = config.getDisplay();
-        DisplayConfig.OnJoinConfig onJoin = display.getOnJoin();
-
-        if (!onJoin.getChat().isEmpty()) {
-            player.sendMessage(MessageUtil.component(onJoin.getChat()));
+    /**
+     * Send the on-join display and start the periodic one. Under high load the title, action
+     * bars and bossbar are skipped (see {@link LoadController}); the chat message always goes out.
+     * The periodic action bar runs on the player's own event loop, like the handler's timers.
+     *
+     * @return handles for the bossbar and periodic task, to be stored in the player's session
+     */
+    public LimboDisplay showJoinDisplay(PlayerSession session, LimboPlayer limboPlayer, CompiledLimbo config) {
+        LoadController load = plugin.getLoadController();
+        Player player = session.getPlayer();
+        ActionBarSlot actionBar = session.getActionBar();
+
+        if (config.getJoinChat() != null) {
+            player.sendMessage(config.getJoinChat());
         }
 
-        DisplayConfig.TitleConfig titleConfig = onJoin.getTitle();
-        if (titleConfig.isEnabled()) {
-            Title.Times times = Title.Times.times(
-                    Duration.ofMillis(titleConfig.getFadeIn() * 50L),
-                    Duration.ofMillis(titleConfig.getStay() * 50L),
-                    Duration.ofMillis(titleConfig.getFadeOut() * 50L)
-            );
-            player.showTitle(Title.title(
-                    MessageUtil.component(titleConfig.getTitle()),
-                    MessageUtil.component(titleConfig.getSubtitle()),
-                    times
-            ));
+        if (config.getJoinTitle() != null && load.allowCosmetic(LoadController.TITLE)) {
+            player.showTitle(config.getJoinTitle());
         }
 
-        DisplayConfig.ActionBarOnJoinConfig onJoinActionBar = onJoin.getActionbar();
-        if (onJoinActionBar.isEnabled() && !onJoinActionBar.getMessage().isEmpty()) {
-            player.sendActionBar(MessageUtil.component(onJoinActionBar.getMessage()));
+        if (config.getJoinActionBar() != null && load.allowCosmetic(LoadController.ACTION_BAR)) {
+            player.sendActionBar(config.getJoinActionBar());
         }
 
         BossBar bossBar = null;
-        DisplayConfig.BossBarConfig bossBarConfig = display.getBossbar();
-        if (bossBarConfig.isEnabled()) {
+        boolean bossBarShown = false;
+        if (config.isBossBarEnabled()) {
+            // Bossbars are mutable per viewer, so each player still gets their own instance
             bossBar = BossBar.bossBar(
-                    MessageUtil.component(bossBarConfig.getTitle()),
-                    normalizeProgress(bossBarConfig.getProgress()),
-                    parseColor(bossBarConfig.getColor()),
-                    parseOverlay(bossBarConfig.getStyle())
+                    config.getBossBarTitle(),
+                    config.getBossBarProgress(),
+                    config.getBossBarColor(),
+                    config.getBossBarOverlay()
             );
-            player.showBossBar(bossBar);
+            // Held back under load and shown once it drops, see showDeferred
+            if (load.allowCosmetic(LoadController.BOSS_BAR)) {
+                player.showBossBar(bossBar);
+                bossBarShown = true;
+            }
         }
 
-        ScheduledTask actionBarTask = null;
-        DisplayConfig.PeriodicActionBarConfig periodicActionbar = display.getActionbar();
-        if (periodicActionbar.isEnabled() && !periodicActionbar.getMessage().isEmpty()) {
-            long intervalMs = Math.max(1, periodicActionbar.getInterval()) * 50L;
-            actionBarTask = plugin.getServer().getScheduler()
-                    .buildTask(plugin, () -> player.sendActionBar(MessageUtil.component(periodicActionbar.getMessage())))
-                    .repeat(Duration.ofMillis(intervalMs))
-                    .schedule();
+        ScheduledFuture<?> actionBarTask = null;
+        Component periodicActionBar = config.getPeriodicActionBar();
+        if (periodicActionBar != null) {
+            long interval = config.getPeriodicActionBarIntervalMs();
+            actionBarTask = limboPlayer.getScheduledExecutor().scheduleAtFixedRate(() -> {
+                if (load.allowCosmetic(LoadController.ACTION_BAR)) {
+                    actionBar.send(periodicActionBar);
+                }
+            }, 0, interval, TimeUnit.MILLISECONDS);
         }
 
-        activeDisplays.put(player.getUniqueId(), new LimboDisplay(player, bossBar, actionBarTask));
+        return new LimboDisplay(player, bossBar, bossBarShown, actionBarTask);
     }
 
-    public void clearDisplay(Player player) {
-        LimboDisplay display = activeDisplays.remove(player.getUniqueId());
-        if (display != null) {
-            display.clear();
+    /**
+     * Show bossbars that were held back under load to everyone still in a limbo, each on the
+     * player's own event loop.
+     */
+    public void showDeferred() {
+        for (PlayerSession session : plugin.getSessionRegistry().getSessions()) {
+            LimboDisplay display = session.getDisplay();
+            LimboPlayer limboPlayer = session.getLimboPlayer();
+            if (display != null && limboPlayer != null) {
+                limboPlayer.getScheduledExecutor().execute(display::showDeferredBossBar);
+            }
         }
     }
 
     public void clearAll() {
-        activeDisplays.values().forEach(LimboDisplay::clear);
-        activeDisplays.clear();
-    }
-
-    public Component formatActionBar(String template, int countdownSeconds) {
-        String message = MessageUtil.replace(template, "{countdown}", String.valueOf(countdownSeconds));
-        return MessageUtil.component(message);
-    }
-
-    private float normalizeProgress(float progress) {
-        if (progress < 0f) {
-            return 0f;
-        }
-        return Math.min(progress, 1f);
-    }
-
-    private BossBar.Color parseColor(String color) {
-        try {
-            return BossBar.Color.valueOf(color.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return BossBar.Color.WHITE;
-        }
-    }
-
-    private BossBar.Overlay parseOverlay(String overlay) {
-        try {
-            return BossBar.Overlay.valueOf(overlay.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return BossBar.Overlay.PROGRESS;
-        }
+        plugin.getSessionRegistry().getSessions().forEach(PlayerSession::clearDisplay);
     }
 }
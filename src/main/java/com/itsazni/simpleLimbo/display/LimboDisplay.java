@@ -1,26 +1,49 @@
 package com.itsazni.simpleLimbo.display;
 
 import com.velocitypowered.api.proxy.Player;
-import com.velocitypowered.api.scheduler.ScheduledTask;
 import net.kyori.adventure.bossbar.BossBar;
 
+import java.util.concurrent.ScheduledFuture;
+
 public class LimboDisplay {
 
     private final Player player;
     private final BossBar bossBar;
-    private final ScheduledTask actionBarTask;
+    private final ScheduledFuture<?> actionBarTask;
+    private boolean bossBarShown;
+    private boolean cleared;
 
-    public LimboDisplay(Player player, BossBar bossBar, ScheduledTask actionBarTask) {
+    public LimboDisplay(Player player, BossBar bossBar, boolean bossBarShown, ScheduledFuture<?> actionBarTask) {
         this.player = player;
         this.bossBar = bossBar;
+        this.bossBarShown = bossBarShown;
         this.actionBarTask = actionBarTask;
     }
 
-    public void clear() {
+    public boolean hasActionBarTask() {
+        return actionBarTask != null;
+    }
+
+    public boolean hasBossBar() {
+        return bossBar != null;
+    }
+
+    /**
+     * Show the bossbar if it was held back under load when the player joined.
+     */
+    public synchronized void showDeferredBossBar() {
+        if (bossBar != null && !bossBarShown && !cleared) {
+            bossBarShown = true;
+            player.showBossBar(bossBar);
+        }
+    }
+
+    public synchronized void clear() {
+        cleared = true;
         if (actionBarTask != null) {
-            actionBarTask.cancel();
+            actionBarTask.cancel(false);
         }
-        if (bossBar != null) {
+        if (bossBar != null && bossBarShown) {
             player.hideBossBar(bossBar);
         }
     }
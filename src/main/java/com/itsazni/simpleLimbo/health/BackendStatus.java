@@ -0,0 +1,83 @@
+package com.itsazni.simpleLimbo.health;
+
+/**
+ * Last known state of one backend server. Instances are immutable and replaced after every ping.
+ */
+public final class BackendStatus {
+
+    public enum Circuit {
+        /** Pings succeed, or fail fewer times in a row than the threshold. */
+        CLOSED,
+        /** Failed too often; not pinged again until the open period has passed. */
+        OPEN,
+        /** Open period passed; the next ping decides whether the server is back. */
+        HALF_OPEN
+    }
+
+    private final String server;
+    private final Circuit circuit;
+    private final long latencyMillis;
+    private final int players;
+    private final int maxPlayers;
+    private final int consecutiveFailures;
+    private final long checkedAtMillis;
+    private final long openUntilMillis;
+    private final String lastError;
+
+    BackendStatus(String server, Circuit circuit, long latencyMillis, int players, int maxPlayers,
+                  int consecutiveFailures, long checkedAtMillis, long openUntilMillis, String lastError) {
+        this.server = server;
+        this.circuit = circuit;
+        this.latencyMillis = latencyMillis;
+        this.players = players;
+        this.maxPlayers = maxPlayers;
+        this.consecutiveFailures = consecutiveFailures;
+        this.checkedAtMillis = checkedAtMillis;
+        this.openUntilMillis = openUntilMillis;
+        this.lastError = lastError;
+    }
+
+    /**
+     * Whether players should be sent to this server. Only an open circuit counts as down, so a
+     * single failed ping does not divert anyone.
+     */
+    public boolean isAvailable() {
+        return circuit != Circuit.OPEN;
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    public Circuit getCircuit() {
+        return circuit;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public long getCheckedAtMillis() {
+        return checkedAtMillis;
+    }
+
+    public long getOpenUntilMillis() {
+        return openUntilMillis;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
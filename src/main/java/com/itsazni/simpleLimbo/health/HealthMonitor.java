@@ -0,0 +1,226 @@
+package com.itsazni.simpleLimbo.health;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.config.HealthConfig;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pings every registered backend on a schedule and keeps the last result per server, so routing
+ * decisions read a cached status instead of opening a connection to find out.
+ *
+ * After {@code failure-threshold} failed pings in a row a server's circuit opens and it is left
+ * alone for {@code open-duration-ms}; the next ping after that closes the circuit again or
+ * re-opens it. Servers without a status yet, or with the monitor disabled, count as available.
+ */
+public class HealthMonitor {
+
+    private final SimpleLimbo plugin;
+    private final Map<String, BackendStatus> statuses = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private volatile HealthConfig config;
+    private ScheduledTask task;
+
+    public HealthMonitor(SimpleLimbo plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start pinging, or restart with new settings. Cached statuses are kept across restarts.
+     */
+    public synchronized void start(HealthConfig config) {
+        if (task != null) {
+            task.cancel();
+        }
+        this.config = config;
+        task = plugin.getServer().getScheduler()
+                .buildTask(plugin, this::pingAll)
+                .repeat(Duration.ofMillis(Math.max(250, config.getIntervalMs())))
+                .schedule();
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        config = null;
+        statuses.clear();
+    }
+
+    public boolean isRunning() {
+        return config != null;
+    }
+
+    /**
+     * Whether kicks from a server marked down go to the fallback limbo whatever their reason.
+     * Off by default, since a ban or whitelist kick would otherwise be routed too.
+     */
+    public boolean routesDownKicks() {
+        HealthConfig current = config;
+        return current != null && current.isRouteDownKicks();
+    }
+
+    public Optional<BackendStatus> getStatus(String server) {
+        return Optional.ofNullable(statuses.get(server));
+    }
+
+    public boolean isAvailable(String server) {
+        BackendStatus status = statuses.get(server);
+        return status == null || status.isAvailable();
+    }
+
+    public Map<String, BackendStatus> getStatuses() {
+        return new LinkedHashMap<>(statuses);
+    }
+
+    /**
+     * Pick the least loaded available server from the candidates. Load is the cached player count
+     * from the last ping, or the proxy's own count for servers without one; full servers are
+     * skipped and ties go to the earlier candidate.
+     */
+    public Optional<RegisteredServer> pickLeastLoaded(List<String> candidates, String exclude) {
+        RegisteredServer best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (String name : candidates) {
+            if (name.equalsIgnoreCase(exclude) || !isAvailable(name)) {
+                continue;
+            }
+            Optional<RegisteredServer> server = plugin.getServer().getServer(name);
+            if (server.isEmpty()) {
+                continue;
+            }
+
+            BackendStatus status = statuses.get(name);
+            int load;
+            if (status != null) {
+                if (status.getMaxPlayers() > 0 && status.getPlayers() >= status.getMaxPlayers()) {
+                    continue;
+                }
+                load = status.getPlayers();
+            } else {
+                load = server.get().getPlayersConnected().size();
+            }
+            if (load < bestLoad) {
+                best = server.get();
+                bestLoad = load;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * 1 for servers currently considered available, 0 for servers marked down.
+     */
+    public Map<String, Integer> getAvailability() {
+        Map<String, Integer> availability = new LinkedHashMap<>();
+        for (BackendStatus status : statuses.values()) {
+            availability.put(status.getServer(), status.isAvailable() ? 1 : 0);
+        }
+        return availability;
+    }
+
+    private void pingAll() {
+        HealthConfig current = config;
+        if (current == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (RegisteredServer server : plugin.getServer().getAllServers()) {
+            String name = server.getServerInfo().getName();
+            BackendStatus status = statuses.get(name);
+            if (status != null && status.getCircuit() == BackendStatus.Circuit.OPEN && now < status.getOpenUntilMillis()) {
+                continue;
+            }
+            // A slow server must not pile up pings
+            if (!inFlight.add(name)) {
+                continue;
+            }
+
+            if (status != null && status.getCircuit() == BackendStatus.Circuit.OPEN) {
+                status = withCircuit(status, BackendStatus.Circuit.HALF_OPEN);
+                statuses.put(name, status);
+            }
+
+            long start = System.nanoTime();
+            server.ping()
+                    .orTimeout(current.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                    .whenComplete((ping, error) -> {
+                        try {
+                            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                            record(current, name, ping, error, latency);
+                        } finally {
+                            inFlight.remove(name);
+                        }
+                    });
+        }
+
+        // Forget servers that were unregistered from the proxy
+        statuses.keySet().removeIf(name -> plugin.getServer().getServer(name).isEmpty());
+    }
+
+    private void record(HealthConfig current, String name, ServerPing ping, Throwable error, long latency) {
+        if (config != current) {
+            // Stopped or restarted while the ping was out
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        BackendStatus previous = statuses.get(name);
+        BackendStatus next;
+        if (error == null) {
+            int players = ping.getPlayers().map(ServerPing.Players::getOnline).orElse(0);
+            int maxPlayers = ping.getPlayers().map(ServerPing.Players::getMax).orElse(0);
+            next = new BackendStatus(name, BackendStatus.Circuit.CLOSED, latency, players, maxPlayers, 0, now, 0, null);
+            if (previous != null && previous.getCircuit() != BackendStatus.Circuit.CLOSED) {
+                plugin.getLogger().info("Backend '{}' is reachable again ({}ms)", name, latency);
+            }
+        } else {
+            int failures = previous == null ? 1 : previous.getConsecutiveFailures() + 1;
+            boolean open = failures >= Math.max(1, current.getFailureThreshold());
+            String message = describe(error);
+            next = new BackendStatus(name,
+                    open ? BackendStatus.Circuit.OPEN : BackendStatus.Circuit.CLOSED,
+                    latency,
+                    previous == null ? 0 : previous.getPlayers(),
+                    previous == null ? 0 : previous.getMaxPlayers(),
+                    failures, now,
+                    open ? now + current.getOpenDurationMs() : 0,
+                    message);
+            if (open && (previous == null || previous.getCircuit() == BackendStatus.Circuit.CLOSED)) {
+                plugin.getLogger().warn("Backend '{}' marked down after {} failed ping(s): {}", name, failures, message);
+            } else if (open && plugin.getRuntimeConfig().isDebug()) {
+                plugin.getLogger().info("Backend '{}' still down: {}", name, message);
+            }
+        }
+        statuses.put(name, next);
+    }
+
+    private static BackendStatus withCircuit(BackendStatus status, BackendStatus.Circuit circuit) {
+        return new BackendStatus(status.getServer(), circuit, status.getLatencyMillis(), status.getPlayers(),
+                status.getMaxPlayers(), status.getConsecutiveFailures(), status.getCheckedAtMillis(),
+                status.getOpenUntilMillis(), status.getLastError());
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "timed out";
+        }
+        return cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+    }
+}
@@ -0,0 +1,43 @@
+package com.itsazni.simpleLimbo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A connection to a bridge alias intercepted in ServerPreConnectEvent and redirected to a limbo.
+ */
+@Name("com.itsazni.simplelimbo.AliasIntercept")
+@Label("Alias Intercept")
+@Description("Connection to a virtual alias redirected to a limbo")
+@Category("SimpleLimbo")
+@StackTrace(false)
+public class AliasInterceptEvent extends Event {
+
+    @Label("Player")
+    private String player;
+
+    @Label("Limbo")
+    private String limbo;
+
+    @Label("Alias")
+    private String alias;
+
+    @Label("Sent")
+    @Description("Whether the player was sent to the limbo")
+    private boolean sent;
+
+    public void complete(String player, String limbo, String alias, boolean sent) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.player = player;
+        this.limbo = limbo;
+        this.alias = alias;
+        this.sent = sent;
+        commit();
+    }
+}
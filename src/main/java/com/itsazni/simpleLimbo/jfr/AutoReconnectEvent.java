@@ -0,0 +1,43 @@
+package com.itsazni.simpleLimbo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An auto-reconnect attempt from a limbo. The event duration spans the connection request,
+ * so it is begun on the countdown tick and committed when the request completes.
+ */
+@Name("com.itsazni.simplelimbo.AutoReconnect")
+@Label("Auto Reconnect")
+@Description("Auto-reconnect attempt from a limbo")
+@Category("SimpleLimbo")
+@StackTrace(false)
+public class AutoReconnectEvent extends Event {
+
+    @Label("Player")
+    private String player;
+
+    @Label("Limbo")
+    private String limbo;
+
+    @Label("Server")
+    private String server;
+
+    @Label("Result")
+    private String result;
+
+    public void complete(String player, String limbo, String server, String result) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.player = player;
+        this.limbo = limbo;
+        this.server = server;
+        this.result = result;
+        commit();
+    }
+}
@@ -0,0 +1,50 @@
+package com.itsazni.simpleLimbo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A fake server connection injected into or cleared from a player.
+ */
+@Name("com.itsazni.simplelimbo.FakeServer")
+@Label("Fake Server")
+@Description("Fake server connection inject or clear")
+@Category("SimpleLimbo")
+@StackTrace(false)
+public class FakeServerEvent extends Event {
+
+    public static final String INJECT = "inject";
+    public static final String CLEAR = "clear";
+
+    @Label("Player")
+    private String player;
+
+    @Label("Limbo")
+    private String limbo;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Server")
+    private String server;
+
+    @Label("Changed")
+    @Description("Whether the player's server connection was actually changed")
+    private boolean changed;
+
+    public void complete(String player, String limbo, String operation, String server, boolean changed) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.player = player;
+        this.limbo = limbo;
+        this.operation = operation;
+        this.server = server;
+        this.changed = changed;
+        commit();
+    }
+}
@@ -0,0 +1,43 @@
+package com.itsazni.simpleLimbo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A backend kick matched by a fallback pattern and routed to the fallback limbo.
+ */
+@Name("com.itsazni.simplelimbo.FallbackRoute")
+@Label("Fallback Route")
+@Description("Kicked player routed to the fallback limbo")
+@Category("SimpleLimbo")
+@StackTrace(false)
+public class FallbackRouteEvent extends Event {
+
+    @Label("Player")
+    private String player;
+
+    @Label("Limbo")
+    private String limbo;
+
+    @Label("Pattern")
+    private String pattern;
+
+    @Label("Sent")
+    @Description("Whether the player was sent to the limbo")
+    private boolean sent;
+
+    public void complete(String player, String limbo, String pattern, boolean sent) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.player = player;
+        this.limbo = limbo;
+        this.pattern = pattern;
+        this.sent = sent;
+        commit();
+    }
+}
@@ -0,0 +1,41 @@
+package com.itsazni.simpleLimbo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A player leaving a limbo. The event duration covers the cleanup in onDisconnect.
+ */
+@Name("com.itsazni.simplelimbo.LimboExit")
+@Label("Limbo Exit")
+@Description("Player left a limbo")
+@Category("SimpleLimbo")
+@StackTrace(false)
+public class LimboExitEvent extends Event {
+
+    @Label("Player")
+    private String player;
+
+    @Label("Limbo")
+    private String limbo;
+
+    @Label("Stay")
+    @Description("Time the player spent in the limbo")
+    @Timespan(Timespan.NANOSECONDS)
+    private long stay;
+
+    public void complete(String player, String limbo, long stay) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.player = player;
+        this.limbo = limbo;
+        this.stay = stay;
+        commit();
+    }
+}
@@ -0,0 +1,52 @@
+package com.itsazni.simpleLimbo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A player spawning into a limbo. The event duration covers the setup done in onSpawn
+ * (anti-fall, display, fake server, auto-reconnect); the wait before it is recorded separately.
+ */
+@Name("com.itsazni.simplelimbo.LimboSpawn")
+@Label("Limbo Spawn")
+@Description("Player spawned into a limbo")
+@Category("SimpleLimbo")
+@StackTrace(false)
+public class LimboSpawnEvent extends Event {
+
+    @Label("Player")
+    private String player;
+
+    @Label("Limbo")
+    private String limbo;
+
+    @Label("Spawn Wait")
+    @Description("Time from sending the player to the limbo until LimboAPI called onSpawn")
+    @Timespan(Timespan.NANOSECONDS)
+    private long spawnWait;
+
+    @Label("Display Setup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long displaySetup;
+
+    @Label("Fake Server Setup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long fakeServerSetup;
+
+    public void complete(String player, String limbo, long spawnWait, long displaySetup, long fakeServerSetup) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.player = player;
+        this.limbo = limbo;
+        this.spawnWait = spawnWait;
+        this.displaySetup = displaySetup;
+        this.fakeServerSetup = fakeServerSetup;
+        commit();
+    }
+}
@@ -0,0 +1,149 @@
+package com.itsazni.simpleLimbo.limbo;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.compat.PlayerChannels;
+import com.itsazni.simpleLimbo.session.PlayerSession;
+import com.velocitypowered.api.event.EventTask;
+import com.velocitypowered.api.event.player.PlayerChooseInitialServerEvent;
+import com.velocitypowered.api.proxy.Player;
+import io.netty.channel.Channel;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawns a player whose initial server was a limbo alias once Velocity has finished with the
+ * initial server choice, instead of after a fixed delay.
+ *
+ * The alias listener records the limbo with {@link #intercepted}. When the last listener of
+ * {@link PlayerChooseInitialServerEvent} resumes, Velocity completes the event and queues its
+ * handling of the result on the player's event loop; the first attempt is queued right behind it.
+ * An attempt counts as done when LimboAPI has called the handler's onSpawn. A spawn that throws,
+ * or whose stint ends without onSpawn, is tried again with doubling backoff from 1ms up to 64ms,
+ * and the player is given up on after 5 seconds.
+ *
+ * Note: The event loop comes from ConnectedPlayer.getConnection() (Velocity internals, see
+ * {@link PlayerChannels}), and the ordering relies on Velocity 3.x completing an event inside the
+ * last handler's resume and applying PlayerChooseInitialServerEvent's result on that event loop.
+ * Without the channel the attempts run on the Velocity scheduler, starting after the previous
+ * fixed 50ms delay.
+ */
+public final class InitialSpawner {
+
+    private static final long FIRST_BACKOFF_MS = 1;
+    private static final long MAX_BACKOFF_MS = 64;
+    private static final long GIVE_UP_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final long FALLBACK_DELAY_MS = 50;
+
+    private final SimpleLimbo plugin;
+    private final Map<UUID, String> intercepted = new ConcurrentHashMap<>();
+
+    public InitialSpawner(SimpleLimbo plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Remember that this player's initial server was replaced by the given limbo.
+     */
+    public void intercepted(Player player, String limboId) {
+        intercepted.put(player.getUniqueId(), limboId);
+    }
+
+    /**
+     * Task for the last listener of the event: start spawning once the event has completed, or
+     * null if the player was not intercepted or a later listener picked a server after all.
+     */
+    public EventTask afterInitialServerChosen(PlayerChooseInitialServerEvent event) {
+        Player player = event.getPlayer();
+        String limboId = intercepted.remove(player.getUniqueId());
+        if (limboId == null || event.getInitialServer().isPresent()) {
+            return null;
+        }
+        return EventTask.withContinuation(continuation -> {
+            continuation.resume();
+            new Attempt(player, limboId, PlayerChannels.channel(player)).start();
+        });
+    }
+
+    /**
+     * Forget a player who disconnected before the event completed.
+     */
+    public void forget(Player player) {
+        intercepted.remove(player.getUniqueId());
+    }
+
+    private final class Attempt implements Runnable {
+        private final Player player;
+        private final String limboId;
+        private final Channel channel;
+        private final long startNanos = System.nanoTime();
+        private long backoffMs;
+        private int tries;
+
+        Attempt(Player player, String limboId, Channel channel) {
+            this.player = player;
+            this.limboId = limboId;
+            this.channel = channel;
+        }
+
+        void start() {
+            execute(channel == null ? FALLBACK_DELAY_MS : 0);
+        }
+
+        @Override
+        public void run() {
+            if (!player.isActive()) {
+                return;
+            }
+
+            Optional<PlayerSession> session = plugin.getSessionRegistry().find(player);
+            if (session.isPresent() && session.get().getLimboPlayer() != null) {
+                if (plugin.getRuntimeConfig().isDebug()) {
+                    plugin.getLogger().info("Spawned {} in limbo '{}' after {} attempt(s), {}us after the initial server was chosen",
+                            player.getUsername(), limboId, tries, (System.nanoTime() - startNanos) / 1000);
+                }
+                return;
+            }
+
+            // A stint without onSpawn yet means LimboAPI is still spawning; only spawn again once it is gone
+            if (session.isEmpty() || !session.get().isInLimbo()) {
+                tries++;
+                try {
+                    plugin.getLimboManager().sendPlayerToLimbo(player, limboId);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().debug("Initial limbo spawn for {} failed, retrying", player.getUsername(), e);
+                }
+            }
+
+            if (System.nanoTime() - startNanos > GIVE_UP_NANOS) {
+                plugin.getLogger().warn("Gave up spawning {} in limbo '{}': not spawned after {} attempt(s)",
+                        player.getUsername(), limboId, tries);
+                return;
+            }
+            backoffMs = backoffMs == 0 ? FIRST_BACKOFF_MS : Math.min(MAX_BACKOFF_MS, backoffMs * 2);
+            execute(backoffMs);
+        }
+
+        private void execute(long delayMs) {
+            if (channel == null) {
+                plugin.getServer().getScheduler().buildTask(plugin, this)
+                        .delay(delayMs, TimeUnit.MILLISECONDS)
+                        .schedule();
+                return;
+            }
+            try {
+                if (delayMs == 0) {
+                    channel.eventLoop().execute(this);
+                } else {
+                    channel.eventLoop().schedule(this, delayMs, TimeUnit.MILLISECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                // Event loop shut down with the connection
+            }
+        }
+    }
+}
@@ -1,47 +1,57 @@
 package com.itsazni.simpleLimbo.limbo;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
-import com.itsazni.simpleLimbo.config.LimboServerConfig;
+import com.itsazni.simpleLimbo.config.CompiledLimbo;
 import com.itsazni.simpleLimbo.config.WorldFileConfig;
 import com.itsazni.simpleLimbo.limbo.handler.SimpleLimboHandler;
+import com.itsazni.simpleLimbo.metrics.LimboStats;
+import com.itsazni.simpleLimbo.queue.AdmissionQueue;
+import com.itsazni.simpleLimbo.session.PlayerSession;
+import com.itsazni.simpleLimbo.world.ChunkTrimmingWorld;
+import com.itsazni.simpleLimbo.world.CompactWorldReader;
+import com.itsazni.simpleLimbo.world.CompactWorldWriter;
+import com.itsazni.simpleLimbo.world.WorldFiles;
 import com.velocitypowered.api.proxy.Player;
 import net.elytrium.limboapi.api.Limbo;
 import net.elytrium.limboapi.api.LimboFactory;
-import net.elytrium.limboapi.api.chunk.Dimension;
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
 import net.elytrium.limboapi.api.chunk.VirtualWorld;
 import net.elytrium.limboapi.api.command.LimboCommandMeta;
-import net.elytrium.limboapi.api.file.BuiltInWorldFileType;
 import net.elytrium.limboapi.api.file.WorldFile;
-import net.elytrium.limboapi.api.player.GameMode;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class LimboInstance {
 
     private final SimpleLimbo plugin;
     private final String name;
-    private final LimboServerConfig config;
+    private final CompiledLimbo config;
     private final LimboFactory factory;
     
+    private final AtomicInteger players = new AtomicInteger();
+    private final LimboStats stats = new LimboStats();
+    private final AdmissionQueue queue;
+
     private Limbo limbo;
     private VirtualWorld world;
 
-    public LimboInstance(SimpleLimbo plugin, String name, LimboServerConfig config, LimboFactory factory) {
+    public LimboInstance(SimpleLimbo plugin, String name, CompiledLimbo config, LimboFactory factory) {
         this.plugin = plugin;
         this.name = name;
         this.config = config;
         this.factory = factory;
+        this.queue = new AdmissionQueue(plugin, name, config);
     }
 
     public void create() {
-        // Parse dimension
-        Dimension dimension = parseDimension(config.getDimension());
-        
         // Create virtual world
         this.world = factory.createVirtualWorld(
-                dimension,
+                config.getDimension(),
                 config.getSpawn().getX(),
                 config.getSpawn().getY(),
                 config.getSpawn().getZ(),
@@ -49,32 +59,38 @@ public class LimboInstance {
                 config.getSpawn().getPitch()
         );
 
-        // Load world file if configured
+        // Load world file or build a generated world if configured
         if (config.getWorldFile().isEnabled()) {
-            loadWorldFile();
+            switch (config.getWorldMode()) {
+                case FILE -> loadWorldFile();
+                case PLATFORM -> buildPlatform();
+                // No blocks and no light fill; CompiledLimbo already lowered the distances
+                case VOID -> plugin.getLogger().info("Limbo {} uses a void world (view distance {}, simulation distance {})",
+                        name, config.getViewDistance(), config.getSimulationDistance());
+            }
         }
 
-        // Parse gamemode
-        GameMode gameMode = parseGameMode(config.getGamemode());
-        int readTimeout = sanitizeReadTimeout(config.getSettings().getReadTimeout());
-
         // Create limbo
         this.limbo = factory.createLimbo(world)
                 .setName(name)
                 .setWorldTime(config.getWorldTime())
-                .setGameMode(gameMode)
-                .setReadTimeout(readTimeout)
+                .setGameMode(config.getGameMode())
+                .setReadTimeout(config.getReadTimeout())
                 .setShouldRejoin(config.getSettings().isShouldRejoin())
                 .setShouldRespawn(config.getSettings().isShouldRespawn())
                 .setReducedDebugInfo(config.getSettings().isReducedDebugInfo())
-                .setViewDistance(config.getSettings().getViewDistance())
-                .setSimulationDistance(config.getSettings().getSimulationDistance());
+                .setViewDistance(config.getViewDistance())
+                .setSimulationDistance(config.getSimulationDistance());
 
         // Register commands
         for (String command : config.getCommands()) {
             this.limbo.registerCommand(new LimboCommandMeta(List.of(command)));
         }
 
+        if (config.isQueueEnabled()) {
+            queue.start();
+        }
+
         plugin.getLogger().info("Created limbo server: {}", name);
     }
 
@@ -82,18 +98,23 @@ public class LimboInstance {
         WorldFileConfig worldFileConfig = config.getWorldFile();
         Path worldPath = plugin.getDataDirectory().resolve(worldFileConfig.getPath());
 
+        // Prefer the compact copy written by /simplelimbo world import
+        if (loadCompactWorldFile(worldFileConfig, worldPath)) {
+            return;
+        }
+
         if (!worldPath.toFile().exists()) {
             plugin.getLogger().warn("World file not found for limbo {}: {}", name, worldPath);
             return;
         }
 
         try {
-            BuiltInWorldFileType fileType = parseWorldFileType(worldFileConfig.getType());
-            WorldFile worldFile = factory.openWorldFile(fileType, worldPath);
+            WorldFile worldFile = WorldFiles.open(factory, config.getWorldFileType(), worldPath);
+            VirtualWorld target = loadTarget(worldFileConfig);
 
             worldFile.toWorld(
                     factory,
-                    world,
+                    target,
                     worldFileConfig.getOffset().getX(),
                     worldFileConfig.getOffset().getY(),
                     worldFileConfig.getOffset().getZ(),
@@ -101,22 +122,124 @@ public class LimboInstance {
             );
 
             plugin.getLogger().info("Loaded world file for limbo {}: {}", name, worldPath);
+            logTrimmed(target);
 
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             plugin.getLogger().error("Failed to load world file for limbo {}", name, e);
         }
     }
 
+    private void buildPlatform() {
+        WorldFileConfig worldFileConfig = config.getWorldFile();
+        WorldFileConfig.PlatformConfig platform = worldFileConfig.getPlatform();
+
+        VirtualBlock block;
+        try {
+            block = factory.createSimpleBlock(platform.getBlock());
+        } catch (RuntimeException e) {
+            plugin.getLogger().error("Unknown platform block '{}' for limbo {}", platform.getBlock(), name, e);
+            return;
+        }
+
+        int radius = Math.max(0, platform.getRadius());
+        // Blocks beyond the view distance are never sent, so they would only cost memory
+        int maxRadius = config.getViewDistance() * 16;
+        if (radius > maxRadius) {
+            plugin.getLogger().warn("Platform radius {} for limbo {} is beyond its view distance, using {}",
+                    radius, name, maxRadius);
+            radius = maxRadius;
+        }
+        int centerX = (int) Math.floor(config.getSpawn().getX());
+        int centerZ = (int) Math.floor(config.getSpawn().getZ());
+        // The floor is the block layer directly below the spawn position
+        int y = (int) Math.floor(config.getSpawn().getY()) - 1;
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+                world.setBlock(x, y, z, block);
+            }
+        }
+        world.fillSkyLight(worldFileConfig.getLightLevel());
+
+        plugin.getLogger().info("Built {}x{} platform of {} for limbo {}",
+                radius * 2 + 1, radius * 2 + 1, platform.getBlock(), name);
+    }
+
+    private boolean loadCompactWorldFile(WorldFileConfig worldFileConfig, Path worldPath) {
+        Path compactPath = CompactWorldWriter.compactPath(worldPath);
+        if (!Files.exists(compactPath)) {
+            return false;
+        }
+
+        try {
+            if (Files.exists(worldPath)
+                    && Files.getLastModifiedTime(worldPath).compareTo(Files.getLastModifiedTime(compactPath)) > 0) {
+                plugin.getLogger().warn("World file for limbo {} changed after it was imported, loading {} instead. "
+                        + "Run /simplelimbo world import {} to update it.", name, worldPath, name);
+                return false;
+            }
+
+            long start = System.nanoTime();
+            VirtualWorld target = loadTarget(worldFileConfig);
+            int blocks = CompactWorldReader.load(compactPath, factory, target,
+                    worldFileConfig.getOffset().getX(),
+                    worldFileConfig.getOffset().getY(),
+                    worldFileConfig.getOffset().getZ(),
+                    plugin.getLimboManager().getLimboApiVersion());
+            world.fillSkyLight(worldFileConfig.getLightLevel());
+
+            plugin.getLogger().info("Loaded compact world file for limbo {}: {} ({} blocks in {}ms)",
+                    name, compactPath, blocks, (System.nanoTime() - start) / 1_000_000L);
+            logTrimmed(target);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not load compact world file for limbo {} ({}), loading {} instead",
+                    name, e.getMessage(), worldPath);
+            return false;
+        }
+    }
+
+    /**
+     * The world to load blocks into: the limbo's world, or a view of it that drops chunks
+     * beyond the view distance from spawn when trimming or the low-bandwidth profile is enabled.
+     */
+    private VirtualWorld loadTarget(WorldFileConfig worldFileConfig) {
+        // Low bandwidth always trims, and to exactly the view distance, so no extra chunks go out on join
+        if (config.isLowBandwidth()) {
+            return new ChunkTrimmingWorld(world, config.getSpawn().getX(), config.getSpawn().getZ(), config.getViewDistance());
+        }
+        if (!worldFileConfig.isTrimToViewDistance()) {
+            return world;
+        }
+        int radius = config.getViewDistance() + Math.max(0, worldFileConfig.getTrimMargin());
+        return new ChunkTrimmingWorld(world, config.getSpawn().getX(), config.getSpawn().getZ(), radius);
+    }
+
+    private void logTrimmed(VirtualWorld target) {
+        if (target instanceof ChunkTrimmingWorld trimmed) {
+            plugin.getLogger().info("Trimmed world file for limbo {} to the view distance: kept {} blocks, dropped {}",
+                    name, trimmed.getKeptBlocks(), trimmed.getDroppedBlocks());
+        }
+    }
+
     public void spawnPlayer(Player player) {
         if (limbo == null) {
             plugin.getLogger().error("Cannot spawn player in limbo {}: limbo not created", name);
             return;
         }
 
-        boolean debug = plugin.getSettings().isDebug();
+        // A deferred spawn can run after the player left; don't create a session for them
+        if (!player.isActive()) {
+            return;
+        }
+
+        boolean debug = plugin.getRuntimeConfig().isDebug();
         long startTime = debug ? System.currentTimeMillis() : 0;
         
-        SimpleLimboHandler handler = new SimpleLimboHandler(plugin, this, player);
+        PlayerSession session = plugin.getSessionRegistry().session(player);
+        SimpleLimboHandler handler = new SimpleLimboHandler(plugin, this, session);
+        if (!session.enterLimbo(this, handler)) {
+            return;
+        }
         limbo.spawnPlayer(player, handler);
         
         if (debug) {
@@ -125,50 +248,41 @@ public class LimboInstance {
         }
     }
 
-    private Dimension parseDimension(String dimensionStr) {
-        return switch (dimensionStr.toUpperCase()) {
-            case "NETHER", "THE_NETHER" -> Dimension.NETHER;
-            case "END", "THE_END" -> Dimension.THE_END;
-            default -> Dimension.OVERWORLD;
-        };
+    /**
+     * Retire this limbo when it is replaced on reload. Players already queued here are still
+     * released by its queue, which stops once they are all gone.
+     */
+    public void shutdown() {
+        queue.drain();
     }
 
-    private GameMode parseGameMode(String gameModeStr) {
-        return switch (gameModeStr.toUpperCase()) {
-            case "SURVIVAL" -> GameMode.SURVIVAL;
-            case "CREATIVE" -> GameMode.CREATIVE;
-            case "SPECTATOR" -> GameMode.SPECTATOR;
-            default -> GameMode.ADVENTURE;
-        };
+    public void addPlayer(UUID player) {
+        stats.recordPlayers(players.incrementAndGet());
+        plugin.getStateStore().addMember(name, player);
     }
 
-    private BuiltInWorldFileType parseWorldFileType(String typeStr) {
-        return switch (typeStr.toUpperCase()) {
-            case "WORLDEDIT_SCHEM", "SCHEM" -> BuiltInWorldFileType.WORLDEDIT_SCHEM;
-            case "STRUCTURE" -> BuiltInWorldFileType.STRUCTURE;
-            default -> BuiltInWorldFileType.SCHEMATIC;
-        };
+    public void removePlayer(UUID player) {
+        players.decrementAndGet();
+        plugin.getStateStore().removeMember(name, player);
     }
 
-    private int sanitizeReadTimeout(long timeout) {
-        if (timeout <= 0) {
-            plugin.getLogger().warn("Limbo {} has invalid read-timeout={} (must be > 0). Using 30000ms.", name, timeout);
-            return 30000;
-        }
+    public int getPlayerCount() {
+        return players.get();
+    }
 
-        if (timeout > Integer.MAX_VALUE) {
-            plugin.getLogger().warn("Limbo {} read-timeout too large ({}). Capping to {}.", name, timeout, Integer.MAX_VALUE);
-            return Integer.MAX_VALUE;
-        }
+    public AdmissionQueue getQueue() {
+        return queue;
+    }
 
-        return (int) timeout;
+    public LimboStats getStats() {
+        return stats;
     }
 
     public String getName() {
         return name;
     }
 
-    public LimboServerConfig getConfig() {
+    public CompiledLimbo getConfig() {
         return config;
     }
 
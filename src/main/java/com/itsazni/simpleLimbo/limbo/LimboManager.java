@@ -1,16 +1,21 @@
 package com.itsazni.simpleLimbo.limbo;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
-import com.itsazni.simpleLimbo.config.LimboServerConfig;
-import com.itsazni.simpleLimbo.config.Settings;
+import com.itsazni.simpleLimbo.config.CompiledLimbo;
+import com.itsazni.simpleLimbo.config.RuntimeConfig;
+import com.itsazni.simpleLimbo.session.PlayerSession;
+import com.itsazni.simpleLimbo.world.CompactWorldWriter;
+import com.itsazni.simpleLimbo.world.ImportSummary;
 import com.velocitypowered.api.proxy.Player;
 import net.elytrium.limboapi.api.LimboFactory;
 import net.elytrium.limboapi.api.player.LimboPlayer;
 
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class LimboManager {
@@ -18,28 +23,28 @@ public class LimboManager {
     private final SimpleLimbo plugin;
     private final LimboFactory factory;
     private final Map<String, LimboInstance> limbos = new ConcurrentHashMap<>();
-    
-    // Track which players are in which limbo
-    private final Map<UUID, String> playerLimbos = new ConcurrentHashMap<>();
-    
-    // Track LimboPlayer instances for proper disconnect handling
-    private final Map<UUID, LimboPlayer> limboPlayers = new ConcurrentHashMap<>();
+    // Compact world files store LimboAPI block ids, which are only valid for the version that wrote them
+    private final String limboApiVersion;
 
     public LimboManager(SimpleLimbo plugin, LimboFactory factory) {
         this.plugin = plugin;
         this.factory = factory;
+        this.limboApiVersion = plugin.getServer().getPluginManager().getPlugin("limboapi")
+                .flatMap(container -> container.getDescription().getVersion())
+                .orElse("unknown");
     }
 
     public void loadAll() {
-        Settings settings = plugin.getSettings();
+        RuntimeConfig runtimeConfig = plugin.getRuntimeConfig();
         
         // Clear existing limbos
+        limbos.values().forEach(LimboInstance::shutdown);
         limbos.clear();
 
         // Load each limbo from config
-        for (Map.Entry<String, LimboServerConfig> entry : settings.getLimbos().entrySet()) {
+        for (Map.Entry<String, CompiledLimbo> entry : runtimeConfig.getLimbos().entrySet()) {
             String name = entry.getKey();
-            LimboServerConfig config = entry.getValue();
+            CompiledLimbo config = entry.getValue();
 
             if (!config.isEnabled()) {
                 plugin.getLogger().info("Skipping disabled limbo: {}", name);
@@ -61,10 +66,8 @@ public class LimboManager {
     public void reload() {
         plugin.getLogger().info("Reloading limbo servers...");
         
-        // Clear player tracking (players in old limbos will be disconnected)
-        playerLimbos.clear();
-        
-        // Reload all limbos
+        // Players in the old limbos keep their stints, timers and queue places until their
+        // handler disconnects; only new spawns go to the reloaded limbos
         loadAll();
     }
 
@@ -89,51 +92,103 @@ public class LimboManager {
         }
 
         limbo.spawnPlayer(player);
-        playerLimbos.put(player.getUniqueId(), limboName);
         
-        if (plugin.getSettings().isDebug()) {
+        if (plugin.getRuntimeConfig().isDebug()) {
             plugin.getLogger().info("Sent player {} to limbo {}", player.getUsername(), limboName);
         }
         
         return true;
     }
 
-    public void onPlayerLeaveLimbo(Player player) {
-        playerLimbos.remove(player.getUniqueId());
-        limboPlayers.remove(player.getUniqueId());
-    }
-
-    /**
-     * Register a LimboPlayer instance for a player.
-     * This allows us to properly disconnect players from limbo.
-     */
-    public void registerLimboPlayer(Player player, LimboPlayer limboPlayer) {
-        limboPlayers.put(player.getUniqueId(), limboPlayer);
-    }
-
     /**
      * Get the LimboPlayer instance for a player, if they're in limbo.
      */
     public Optional<LimboPlayer> getLimboPlayer(Player player) {
-        return Optional.ofNullable(limboPlayers.get(player.getUniqueId()));
+        return plugin.getSessionRegistry().find(player).map(PlayerSession::getLimboPlayer);
     }
 
     public Optional<String> getPlayerLimbo(Player player) {
-        return Optional.ofNullable(playerLimbos.get(player.getUniqueId()));
+        return plugin.getSessionRegistry().find(player)
+                .map(PlayerSession::getLimbo)
+                .map(LimboInstance::getName);
     }
 
     public boolean isPlayerInLimbo(Player player) {
-        return playerLimbos.containsKey(player.getUniqueId());
+        return plugin.getSessionRegistry().find(player)
+                .map(PlayerSession::isInLimbo)
+                .orElse(false);
     }
 
     public int getPlayerCount(String limboName) {
-        return (int) playerLimbos.values().stream()
-                .filter(name -> name.equals(limboName))
-                .count();
+        LimboInstance limbo = limbos.get(limboName);
+        return limbo == null ? 0 : limbo.getPlayerCount();
+    }
+
+    /**
+     * Players in the limbo on every proxy sharing the state store.
+     */
+    public int getGlobalPlayerCount(String limboName) {
+        return plugin.getStateStore().getMemberCount(limboName);
+    }
+
+    public Map<String, Integer> getPlayerCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (LimboInstance limbo : limbos.values()) {
+            counts.put(limbo.getName(), limbo.getPlayerCount());
+        }
+        return counts;
+    }
+
+    public Map<String, Integer> getQueueSizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (LimboInstance limbo : limbos.values()) {
+            if (limbo.getConfig().isQueueEnabled()) {
+                sizes.put(limbo.getName(), limbo.getQueue().size());
+            }
+        }
+        return sizes;
     }
 
     public int getTotalPlayersInLimbos() {
-        return playerLimbos.size();
+        int total = 0;
+        for (LimboInstance limbo : limbos.values()) {
+            total += limbo.getPlayerCount();
+        }
+        return total;
+    }
+
+    /**
+     * Convert a limbo's configured world file to the compact format in the background.
+     * The limbo keeps its current world until it is recreated on the next reload.
+     */
+    public CompletableFuture<ImportSummary> importWorld(String limboName) {
+        CompiledLimbo config = plugin.getRuntimeConfig().getLimbos().get(limboName);
+        if (config == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Limbo not found: " + limboName));
+        }
+        if (config.getWorldMode() != CompiledLimbo.WorldMode.FILE) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Limbo " + limboName + " uses a generated " + config.getWorldMode() + " world, there is no file to import"));
+        }
+        String path = config.getWorldFile().getPath();
+        if (path == null || path.isBlank()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Limbo " + limboName + " has no world file"));
+        }
+
+        Path source = plugin.getDataDirectory().resolve(path);
+        CompletableFuture<ImportSummary> result = new CompletableFuture<>();
+        plugin.getServer().getScheduler().buildTask(plugin, () -> {
+            try {
+                result.complete(CompactWorldWriter.importWorld(factory, config.getWorldFileType(), source, limboApiVersion));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }).schedule();
+        return result;
+    }
+
+    public String getLimboApiVersion() {
+        return limboApiVersion;
     }
 
     public LimboFactory getFactory() {
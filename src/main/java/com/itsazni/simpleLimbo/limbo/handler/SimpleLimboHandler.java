@@ -1,52 +1,88 @@
 package com.itsazni.simpleLimbo.limbo.handler;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
-import com.itsazni.simpleLimbo.config.LimboServerConfig;
+import com.itsazni.simpleLimbo.config.CompiledLimbo;
 import com.itsazni.simpleLimbo.compat.ServerConnectionInjector;
+import com.itsazni.simpleLimbo.jfr.AutoReconnectEvent;
+import com.itsazni.simpleLimbo.jfr.FakeServerEvent;
+import com.itsazni.simpleLimbo.jfr.LimboExitEvent;
+import com.itsazni.simpleLimbo.jfr.LimboSpawnEvent;
 import com.itsazni.simpleLimbo.limbo.LimboInstance;
+import com.itsazni.simpleLimbo.load.LoadController;
+import com.itsazni.simpleLimbo.metrics.LimboMetrics;
+import com.itsazni.simpleLimbo.session.PlayerSession;
 import com.itsazni.simpleLimbo.util.MessageUtil;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import net.elytrium.limboapi.api.Limbo;
-
-import java.util.List;
 import net.elytrium.limboapi.api.LimboSessionHandler;
 import net.elytrium.limboapi.api.player.LimboPlayer;
+import net.kyori.adventure.text.Component;
 
 import java.util.Optional;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Handles one player's stint in a limbo.
+ *
+ * LimboAPI calls the handler on the player's event loop, and every timer (auto-reconnect,
+ * anti-fall, periodic display) is scheduled on {@link LimboPlayer#getScheduledExecutor()}, which
+ * is that same loop. Completions from other threads hop back onto it, so the mutable fields
+ * below are only touched from one thread and need no locking.
+ */
 public class SimpleLimboHandler implements LimboSessionHandler {
 
+    private static final Component COMMANDS_DISABLED = MessageUtil.component("&cCommands are disabled in this limbo.");
+    private static final Component COMMAND_NOT_AVAILABLE = MessageUtil.component("&cThis command is not available here.");
+    private static final Component COMMAND_NEEDS_BACKEND = MessageUtil.component(
+            "&cThis command requires a backend server connection. " +
+            "&7Auth plugins like JPremium may not work in limbo. " +
+            "Consider using LimboAuth instead.");
+
     private final SimpleLimbo plugin;
     private final LimboInstance instance;
+    private final PlayerSession session;
     private final Player proxyPlayer;
+    private final long createdNanos;
 
     private LimboPlayer limboPlayer;
-    private ScheduledFuture<?> autoReconnectTask;
-    private ScheduledFuture<?> disableFallingFallbackTask;
     private int countdownSeconds;
     private boolean disableFallingRequested;
     private boolean disableFallingApplied;
+    private boolean fakeServerInjected;
     private long disableFallingDelayMs;
     private long spawnMillis;
+    private long spawnNanos;
     private Double holdY;
     private float lastYaw;
     private float lastPitch;
 
-    public SimpleLimboHandler(SimpleLimbo plugin, LimboInstance instance, Player proxyPlayer) {
+    public SimpleLimboHandler(SimpleLimbo plugin, LimboInstance instance, PlayerSession session) {
         this.plugin = plugin;
         this.instance = instance;
-        this.proxyPlayer = proxyPlayer;
+        this.session = session;
+        this.proxyPlayer = session.getPlayer();
+        this.createdNanos = System.nanoTime();
     }
 
     @Override
     public void onSpawn(Limbo server, LimboPlayer player) {
+        LimboSpawnEvent spawnEvent = new LimboSpawnEvent();
+        spawnEvent.begin();
         this.limboPlayer = player;
 
-        LimboServerConfig config = instance.getConfig();
+        CompiledLimbo config = instance.getConfig();
         this.spawnMillis = System.currentTimeMillis();
+        this.spawnNanos = System.nanoTime();
+        plugin.getMetrics().recordSpawn(instance.getName(), spawnNanos - createdNanos);
+        instance.getStats().recordJoin(spawnNanos - createdNanos);
+        plugin.getLoadController().recordSpawn();
+        long loginNanos = session.takeLogin();
+        if (loginNanos != 0) {
+            plugin.getMetrics().recordLoginToLimbo(spawnNanos - loginNanos);
+        }
+        plugin.getTraceRecorder().limboSpawn(proxyPlayer, instance.getName());
         this.lastYaw = config.getSpawn().getYaw();
         this.lastPitch = config.getSpawn().getPitch();
 
@@ -55,11 +91,11 @@ public class SimpleLimboHandler implements LimboSessionHandler {
             this.disableFallingApplied = false;
             this.disableFallingDelayMs = Math.max(0, config.getSettings().getDisableFallingDelayMs());
             this.holdY = null;
-            this.disableFallingFallbackTask = player.getScheduledExecutor().schedule(
+            session.setDisableFallingTask(this, player.getScheduledExecutor().schedule(
                     this::applyDisableFalling,
                     this.disableFallingDelayMs + 8000,
                     TimeUnit.MILLISECONDS
-            );
+            ));
         } else {
             this.disableFallingRequested = false;
             this.disableFallingApplied = false;
@@ -72,16 +108,32 @@ public class SimpleLimboHandler implements LimboSessionHandler {
             proxyPlayer.addCustomChatCompletions(config.getCommands());
         }
 
-        plugin.getDisplayManager().showJoinDisplay(proxyPlayer, config);
-        plugin.getTriggerManager().markActivity(proxyPlayer);
+        long displayStart = System.nanoTime();
+        session.setDisplay(this, plugin.getDisplayManager().showJoinDisplay(session, player, config));
+        long displaySetup = System.nanoTime() - displayStart;
+        session.markActivity(System.currentTimeMillis());
 
         // Register LimboPlayer for proper disconnect handling
-        plugin.getLimboManager().registerLimboPlayer(proxyPlayer, player);
+        session.attachLimboPlayer(this, player);
 
         // Inject fake server connection for auth plugin compatibility
+        long fakeServerStart = System.nanoTime();
         injectFakeServerIfConfigured(config);
+        long fakeServerSetup = System.nanoTime() - fakeServerStart;
+
+        if (config.isQueueEnabled()) {
+            // The queue replaces auto-reconnect: it releases players at a controlled rate
+            int position = instance.getQueue().enqueue(this, proxyPlayer, player);
+            Component actionBar = config.queueActionBar(position, instance.getQueue().size());
+            if (actionBar != null && plugin.getLoadController().allowCosmetic(LoadController.ACTION_BAR)) {
+                session.getActionBar().send(actionBar);
+            }
+        } else {
+            startAutoReconnectIfEnabled(config);
+        }
 
-        startAutoReconnectIfEnabled(config);
+        spawnEvent.complete(proxyPlayer.getUsername(), instance.getName(),
+                spawnNanos - createdNanos, displaySetup, fakeServerSetup);
     }
 
     @Override
@@ -91,16 +143,19 @@ public class SimpleLimboHandler implements LimboSessionHandler {
 
     @Override
     public void onGeneric(Object packet) {
+        instance.getStats().recordPacket();
         applyDisableFalling();
     }
 
     @Override
     public void onMove(double posX, double posY, double posZ) {
+        instance.getStats().recordPacket();
         enforceAntiFall(posX, posY, posZ, lastYaw, lastPitch);
     }
 
     @Override
     public void onMove(double posX, double posY, double posZ, float yaw, float pitch) {
+        instance.getStats().recordPacket();
         this.lastYaw = yaw;
         this.lastPitch = pitch;
         enforceAntiFall(posX, posY, posZ, yaw, pitch);
@@ -108,7 +163,9 @@ public class SimpleLimboHandler implements LimboSessionHandler {
 
     @Override
     public void onChat(String chat) {
-        plugin.getTriggerManager().markActivity(proxyPlayer);
+        instance.getStats().recordPacket();
+        session.markActivity(System.currentTimeMillis());
+        plugin.getTraceRecorder().chat(proxyPlayer, chat);
 
         if (chat == null || chat.isBlank()) {
             return;
@@ -123,21 +180,22 @@ public class SimpleLimboHandler implements LimboSessionHandler {
             return;
         }
 
-        String commandRoot = commandLine.split("\\s+")[0].toLowerCase();
+        int rootEnd = 0;
+        while (rootEnd < commandLine.length() && !Character.isWhitespace(commandLine.charAt(rootEnd))) {
+            rootEnd++;
+        }
+        String commandRoot = commandLine.substring(0, rootEnd);
         
         // Commands whitelist - only allow commands that are in the config list
-        List<String> allowedCommands = instance.getConfig().getCommands();
-        if (allowedCommands.isEmpty()) {
+        CompiledLimbo config = instance.getConfig();
+        if (config.getCommands().isEmpty()) {
             // No commands configured = no commands allowed
-            proxyPlayer.sendMessage(MessageUtil.component("&cCommands are disabled in this limbo."));
+            proxyPlayer.sendMessage(COMMANDS_DISABLED);
             return;
         }
         
-        boolean isAllowed = allowedCommands.stream()
-                .anyMatch(cmd -> cmd.toLowerCase().equals(commandRoot));
-        
-        if (!isAllowed) {
-            proxyPlayer.sendMessage(MessageUtil.component("&cThis command is not available here."));
+        if (!config.isCommandAllowed(commandRoot)) {
+            proxyPlayer.sendMessage(COMMAND_NOT_AVAILABLE);
             return;
         }
 
@@ -150,10 +208,7 @@ public class SimpleLimboHandler implements LimboSessionHandler {
                             (throwable.getCause() != null && throwable.getCause() instanceof NullPointerException)) {
                             plugin.getLogger().warn("Command '{}' failed for {} - likely auth plugin incompatibility with limbo (no backend server connection)",
                                     commandLine, proxyPlayer.getUsername());
-                            proxyPlayer.sendMessage(MessageUtil.component(
-                                    "&cThis command requires a backend server connection. " +
-                                    "&7Auth plugins like JPremium may not work in limbo. " +
-                                    "Consider using LimboAuth instead."));
+                            proxyPlayer.sendMessage(COMMAND_NEEDS_BACKEND);
                         } else {
                             plugin.getLogger().error("Failed to execute command '{}' from limbo {} for {}",
                                     commandLine, instance.getName(), proxyPlayer.getUsername(), throwable);
@@ -165,55 +220,90 @@ public class SimpleLimboHandler implements LimboSessionHandler {
 
     @Override
     public void onDisconnect() {
-        if (autoReconnectTask != null) {
-            autoReconnectTask.cancel(true);
-        }
-        if (disableFallingFallbackTask != null) {
-            disableFallingFallbackTask.cancel(true);
-        }
+        LimboExitEvent exitEvent = new LimboExitEvent();
+        exitEvent.begin();
+
         if (!instance.getConfig().getCommands().isEmpty()) {
             proxyPlayer.removeCustomChatCompletions(instance.getConfig().getCommands());
         }
         
         // Clear fake server connection if it was injected
-        ServerConnectionInjector.clearFakeServer(proxyPlayer, plugin.getLogger());
+        FakeServerEvent clearEvent = new FakeServerEvent();
+        clearEvent.begin();
+        boolean cleared = ServerConnectionInjector.clearFakeServer(proxyPlayer, plugin.getLogger());
+        clearEvent.complete(proxyPlayer.getUsername(), instance.getName(), FakeServerEvent.CLEAR, null, cleared);
+        if (fakeServerInjected) {
+            fakeServerInjected = false;
+            instance.getStats().recordInjectionCleared();
+        }
         
-        plugin.getDisplayManager().clearDisplay(proxyPlayer);
-        plugin.getLimboManager().onPlayerLeaveLimbo(proxyPlayer);
+        long stayNanos = spawnNanos == 0 ? 0 : System.nanoTime() - spawnNanos;
+        if (spawnNanos != 0) {
+            plugin.getMetrics().recordLeave(instance.getName(), stayNanos);
+            instance.getStats().recordLeave();
+        }
+
+        if (instance.getConfig().isQueueEnabled()) {
+            instance.getQueue().remove(this);
+        }
+
+        // Cancels timers and clears display, unless the player already moved on to another limbo
+        session.leaveLimbo(this);
+
+        plugin.getTraceRecorder().limboExit(proxyPlayer, instance.getName());
+        exitEvent.complete(proxyPlayer.getUsername(), instance.getName(), stayNanos);
     }
 
-    private void startAutoReconnectIfEnabled(LimboServerConfig config) {
-        LimboServerConfig.AutoReconnectConfig reconnect = config.getAutoReconnect();
-        if (!reconnect.isEnabled() || limboPlayer == null) {
+    private void startAutoReconnectIfEnabled(CompiledLimbo config) {
+        if (!config.isAutoReconnectEnabled() || limboPlayer == null) {
             return;
         }
 
-        int interval = Math.max(1, reconnect.getInterval());
+        int interval = config.getAutoReconnectInterval();
         this.countdownSeconds = interval;
+        ScheduledExecutorService executor = limboPlayer.getScheduledExecutor();
 
-        autoReconnectTask = limboPlayer.getScheduledExecutor().scheduleAtFixedRate(() -> {
+        session.setAutoReconnectTask(this, executor.scheduleAtFixedRate(() -> {
             if (countdownSeconds <= 0) {
-                Optional<RegisteredServer> target = plugin.getServer().getServer(reconnect.getServer());
-                if (target.isPresent()) {
-                    proxyPlayer.createConnectionRequest(target.get()).connect().whenComplete((result, throwable) -> {
+                LimboMetrics metrics = plugin.getMetrics();
+                metrics.recordAutoReconnectAttempt();
+                String serverName = config.getAutoReconnectServer();
+                AutoReconnectEvent reconnectEvent = new AutoReconnectEvent();
+                reconnectEvent.begin();
+                Optional<RegisteredServer> target = plugin.getServer().getServer(serverName);
+                if (target.isPresent() && !plugin.getHealthMonitor().isAvailable(serverName)) {
+                    // Known to be down; wait for the next interval instead of attempting a connection
+                    metrics.recordAutoReconnectResult(LimboMetrics.RESULT_BACKEND_DOWN);
+                    reconnectEvent.complete(proxyPlayer.getUsername(), instance.getName(), serverName, LimboMetrics.RESULT_BACKEND_DOWN);
+                } else if (target.isPresent()) {
+                    // Complete on this player's event loop, where limboPlayer and the countdown live
+                    proxyPlayer.createConnectionRequest(target.get()).connect().whenCompleteAsync((result, throwable) -> {
                         if (throwable == null && result != null && result.isSuccessful()) {
-                            proxyPlayer.sendMessage(MessageUtil.component(reconnect.getSuccessMessage()));
+                            metrics.recordAutoReconnectResult(LimboMetrics.RESULT_SUCCESS);
+                            reconnectEvent.complete(proxyPlayer.getUsername(), instance.getName(), serverName, LimboMetrics.RESULT_SUCCESS);
+                            proxyPlayer.sendMessage(config.getAutoReconnectSuccessMessage());
                             if (limboPlayer != null) {
                                 limboPlayer.disconnect(target.get());
                             }
+                        } else {
+                            metrics.recordAutoReconnectResult(LimboMetrics.RESULT_FAILURE);
+                            reconnectEvent.complete(proxyPlayer.getUsername(), instance.getName(), serverName, LimboMetrics.RESULT_FAILURE);
                         }
-                    });
+                    }, executor);
+                } else {
+                    metrics.recordAutoReconnectResult(LimboMetrics.RESULT_UNKNOWN_SERVER);
+                    reconnectEvent.complete(proxyPlayer.getUsername(), instance.getName(), serverName, LimboMetrics.RESULT_UNKNOWN_SERVER);
                 }
                 countdownSeconds = interval;
                 return;
             }
 
-            String actionbar = MessageUtil.replace(config.getDisplay().getActionbar().getMessage(), "{countdown}", String.valueOf(countdownSeconds));
-            if (!actionbar.isEmpty()) {
-                proxyPlayer.sendActionBar(MessageUtil.component(actionbar));
+            Component actionbar = config.countdownActionBar(countdownSeconds);
+            if (actionbar != null && plugin.getLoadController().allowCosmetic(LoadController.ACTION_BAR)) {
+                session.getActionBar().send(actionbar);
             }
             countdownSeconds--;
-        }, 1, 1, TimeUnit.SECONDS);
+        }, 1, 1, TimeUnit.SECONDS));
     }
 
     private void applyDisableFalling() {
@@ -227,7 +317,7 @@ public class SimpleLimboHandler implements LimboSessionHandler {
         }
 
         disableFallingApplied = true;
-        LimboServerConfig limboConfig = instance.getConfig();
+        CompiledLimbo limboConfig = instance.getConfig();
         holdY = limboConfig.getSpawn().getY();
         limboPlayer.teleport(
                 limboConfig.getSpawn().getX(),
@@ -236,17 +326,15 @@ public class SimpleLimboHandler implements LimboSessionHandler {
                 limboConfig.getSpawn().getYaw(),
                 limboConfig.getSpawn().getPitch()
         );
+        plugin.getMetrics().recordAntiFallTeleport();
         lastYaw = limboConfig.getSpawn().getYaw();
         lastPitch = limboConfig.getSpawn().getPitch();
 
-        if (plugin.getSettings().isDebug()) {
+        if (plugin.getRuntimeConfig().isDebug()) {
             plugin.getLogger().info("Activated anti-fall for {} in '{}' after {}ms", proxyPlayer.getUsername(), instance.getName(), sinceSpawn);
         }
 
-        if (disableFallingFallbackTask != null) {
-            disableFallingFallbackTask.cancel(false);
-            disableFallingFallbackTask = null;
-        }
+        session.cancelDisableFallingTask(this);
     }
 
     private void enforceAntiFall(double posX, double posY, double posZ, float yaw, float pitch) {
@@ -262,6 +350,7 @@ public class SimpleLimboHandler implements LimboSessionHandler {
 
         if (posY < holdY - 0.02) {
             limboPlayer.teleport(posX, holdY, posZ, yaw, pitch);
+            plugin.getMetrics().recordAntiFallTeleport();
         }
     }
 
@@ -270,9 +359,9 @@ public class SimpleLimboHandler implements LimboSessionHandler {
      * This allows auth plugins like JPremium to work in limbo by making
      * player.getCurrentServer() return a valid (fake) server connection.
      */
-    private void injectFakeServerIfConfigured(LimboServerConfig config) {
+    private void injectFakeServerIfConfigured(CompiledLimbo config) {
         String fakeServerName = config.getFakeServerName();
-        if (fakeServerName == null || fakeServerName.isBlank()) {
+        if (fakeServerName == null) {
             return;
         }
 
@@ -289,9 +378,14 @@ public class SimpleLimboHandler implements LimboSessionHandler {
             return;
         }
 
+        FakeServerEvent injectEvent = new FakeServerEvent();
+        injectEvent.begin();
         boolean injected = ServerConnectionInjector.injectFakeServer(
                 proxyPlayer, fakeServer.get(), plugin.getServer(), plugin.getLogger());
+        injectEvent.complete(proxyPlayer.getUsername(), instance.getName(), FakeServerEvent.INJECT, fakeServerName, injected);
         if (injected) {
+            fakeServerInjected = true;
+            instance.getStats().recordInjected();
             plugin.getLogger().debug("Injected fake server '{}' for player {} in limbo '{}'",
                     fakeServerName, proxyPlayer.getUsername(), instance.getName());
         }
@@ -1,9 +1,11 @@
 package com.itsazni.simpleLimbo.listener;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.LoginEvent;
 import com.velocitypowered.api.event.player.KickedFromServerEvent;
 import com.velocitypowered.api.event.player.PlayerChatEvent;
 import com.velocitypowered.api.event.player.PlayerChooseInitialServerEvent;
@@ -11,22 +13,44 @@ import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.event.player.ServerConnectedEvent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import com.itsazni.simpleLimbo.compat.ServerConnectionInjector;
+import com.itsazni.simpleLimbo.config.RuntimeConfig;
+import com.itsazni.simpleLimbo.jfr.AliasInterceptEvent;
+import com.itsazni.simpleLimbo.jfr.FakeServerEvent;
+import com.itsazni.simpleLimbo.jfr.FallbackRouteEvent;
+import com.itsazni.simpleLimbo.limbo.LimboInstance;
+import com.itsazni.simpleLimbo.session.PlayerSession;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import net.elytrium.limboapi.api.player.LimboPlayer;
+import net.kyori.adventure.text.Component;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 public class PlayerListener {
 
+    // Fallback label used when a kick is routed because its server is marked down
+    private static final String BACKEND_DOWN_LABEL = "backend-down";
+    // A player kicked again this soon after a failover goes to the limbo instead of bouncing between servers
+    private static final long FAILOVER_RETRY_WINDOW_MS = 10000;
+
     private final SimpleLimbo plugin;
 
     public PlayerListener(SimpleLimbo plugin) {
         this.plugin = plugin;
     }
 
+    @Subscribe(order = PostOrder.LAST)
+    public void onLogin(LoginEvent event) {
+        if (event.getResult().isAllowed()) {
+            plugin.getSessionRegistry().session(event.getPlayer()).markLogin(System.nanoTime());
+        }
+    }
+
     @Subscribe
     public void onServerConnected(ServerConnectedEvent event) {
         plugin.getTriggerManager().markActivity(event.getPlayer());
+        // Went to a backend first, so a later limbo spawn is not part of the login
+        plugin.getSessionRegistry().find(event.getPlayer()).ifPresent(PlayerSession::takeLogin);
     }
 
     /**
@@ -45,23 +69,25 @@ public class PlayerListener {
             // Clear initial server to prevent Velocity from connecting
             event.setInitialServer(null);
 
-            // Spawn player in limbo after a short delay (player needs to be fully connected)
-            plugin.getServer().getScheduler()
-                    .buildTask(plugin, () -> {
-                        if (event.getPlayer().isActive()) {
-                            plugin.getLimboManager().sendPlayerToLimbo(event.getPlayer(), limboId);
-                        }
-                    })
-                    .delay(50, java.util.concurrent.TimeUnit.MILLISECONDS)
-                    .schedule();
-
-            if (plugin.getSettings().isDebug()) {
+            // Spawned once the event has completed, see onInitialServerChosen
+            plugin.getInitialSpawner().intercepted(event.getPlayer(), limboId);
+
+            if (plugin.getRuntimeConfig().isDebug()) {
                 plugin.getLogger().info("Intercepted initial server '{}' and will redirect {} to limbo '{}'",
                         targetName, event.getPlayer().getUsername(), limboId);
             }
         });
     }
 
+    /**
+     * Spawn a player whose initial server was intercepted above, after every other listener has
+     * had its say and Velocity has handled the result.
+     */
+    @Subscribe(order = PostOrder.LAST)
+    public EventTask onInitialServerChosen(PlayerChooseInitialServerEvent event) {
+        return plugin.getInitialSpawner().afterInitialServerChosen(event);
+    }
+
     /**
      * Handle server transfer when player is already connected.
      * Uses FIRST priority to intercept before Velocity attempts TCP connection.
@@ -69,25 +95,30 @@ public class PlayerListener {
     @Subscribe(order = PostOrder.FIRST)
     public void onServerPreConnect(ServerPreConnectEvent event) {
         long startTime = System.currentTimeMillis();
+        AliasInterceptEvent interceptEvent = new AliasInterceptEvent();
+        interceptEvent.begin();
+        RuntimeConfig config = plugin.getRuntimeConfig();
         
         String targetName = event.getOriginalServer().getServerInfo().getName();
-        String limboId = plugin.getVelocityAliasBridge().resolveLimboByAlias(targetName);
+        plugin.getTraceRecorder().preConnect(event.getPlayer(), targetName);
+        String limboId = config.resolveAlias(targetName);
         if (limboId == null || limboId.isBlank()) {
             return;
         }
 
-        if (plugin.getSettings().isDebug()) {
+        if (config.isDebug()) {
             plugin.getLogger().info("[TIMING] ServerPreConnectEvent fired for {} -> {} (resolved to limbo '{}')",
                     event.getPlayer().getUsername(), targetName, limboId);
         }
 
         boolean sent = plugin.getLimboManager().sendPlayerToLimbo(event.getPlayer(), limboId);
+        interceptEvent.complete(event.getPlayer().getUsername(), limboId, targetName, sent);
         if (!sent) {
             return;
         }
         event.setResult(ServerPreConnectEvent.ServerResult.denied());
 
-        if (plugin.getSettings().isDebug()) {
+        if (config.isDebug()) {
             long elapsed = System.currentTimeMillis() - startTime;
             plugin.getLogger().info("[TIMING] Intercepted virtual alias '{}' and redirected {} to limbo '{}' in {}ms",
                     targetName, event.getPlayer().getUsername(), limboId, elapsed);
@@ -110,21 +141,21 @@ public class PlayerListener {
         }
 
         // Check if player is in limbo
-        if (!plugin.getLimboManager().isPlayerInLimbo(event.getPlayer())) {
+        PlayerSession session = plugin.getSessionRegistry().find(event.getPlayer()).orElse(null);
+        if (session == null || !session.isInLimbo()) {
             return;
         }
 
         // Get the LimboPlayer instance
-        Optional<LimboPlayer> limboPlayerOpt = plugin.getLimboManager().getLimboPlayer(event.getPlayer());
-        if (limboPlayerOpt.isEmpty()) {
+        LimboPlayer limboPlayer = session.getLimboPlayer();
+        if (limboPlayer == null) {
             plugin.getLogger().warn("Player {} is tracked as in limbo but has no LimboPlayer instance",
                     event.getPlayer().getUsername());
             // Fall back to clearing fake server and letting Velocity handle it
-            ServerConnectionInjector.clearFakeServer(event.getPlayer(), plugin.getLogger());
+            clearFakeServer(session);
             return;
         }
 
-        LimboPlayer limboPlayer = limboPlayerOpt.get();
         Optional<RegisteredServer> targetServerOpt = event.getResult().getServer();
         
         if (targetServerOpt.isEmpty()) {
@@ -137,48 +168,121 @@ public class PlayerListener {
         event.setResult(ServerPreConnectEvent.ServerResult.denied());
 
         // Clear fake server connection first
-        ServerConnectionInjector.clearFakeServer(event.getPlayer(), plugin.getLogger());
+        clearFakeServer(session);
 
         // Use LimboPlayer.disconnect(server) to properly exit limbo and connect to backend
         // This restores the session handler correctly and avoids keepalive issues
         limboPlayer.disconnect(targetServer);
 
-        if (plugin.getSettings().isDebug()) {
+        if (plugin.getRuntimeConfig().isDebug()) {
             plugin.getLogger().info("Intercepted transfer from limbo: {} -> {} (using limboPlayer.disconnect)",
                     event.getPlayer().getUsername(), targetServer.getServerInfo().getName());
         }
     }
 
+    private void clearFakeServer(PlayerSession session) {
+        FakeServerEvent clearEvent = new FakeServerEvent();
+        clearEvent.begin();
+        boolean cleared = ServerConnectionInjector.clearFakeServer(session.getPlayer(), plugin.getLogger());
+        LimboInstance limbo = session.getLimbo();
+        clearEvent.complete(session.getPlayer().getUsername(), limbo == null ? null : limbo.getName(),
+                FakeServerEvent.CLEAR, null, cleared);
+    }
+
     @Subscribe
     public void onPlayerChat(PlayerChatEvent event) {
+        plugin.getTraceRecorder().chat(event.getPlayer(), event.getMessage());
         plugin.getTriggerManager().markActivity(event.getPlayer());
     }
 
     @Subscribe
     public void onDisconnect(DisconnectEvent event) {
-        plugin.getDisplayManager().clearDisplay(event.getPlayer());
-        plugin.getTriggerManager().removePlayer(event.getPlayer());
-        plugin.getLimboManager().onPlayerLeaveLimbo(event.getPlayer());
+        plugin.getTraceRecorder().disconnect(event.getPlayer());
+        plugin.getInitialSpawner().forget(event.getPlayer());
+        plugin.getSessionRegistry().remove(event.getPlayer());
     }
 
+    /**
+     * Route a kick matching the fallback trigger to a failover server or the fallback limbo.
+     * The kick result is only replaced once the player is in the limbo; a Notify result for a
+     * player who is not would disconnect them.
+     */
     @Subscribe
     public void onKickedFromServer(KickedFromServerEvent event) {
         String reason = event.getServerKickReason()
                 .map(PlainTextComponentSerializer.plainText()::serialize)
                 .orElse("");
+        String serverName = event.getServer().getServerInfo().getName();
+        plugin.getTraceRecorder().kick(event.getPlayer(), serverName, reason);
 
-        if (!plugin.getTriggerManager().shouldFallback(reason)) {
+        // One snapshot for the whole event so a concurrent reload cannot mix old and new values
+        RuntimeConfig.FallbackTrigger fallback = plugin.getRuntimeConfig().getFallback();
+        Pattern matched = fallback.match(reason);
+        String label;
+        if (matched != null) {
+            label = matched.pattern();
+        } else if (fallback.isEnabled() && plugin.getHealthMonitor().routesDownKicks()
+                && !plugin.getHealthMonitor().isAvailable(serverName)) {
+            // The reason did not match, but the health monitor already knows the server is down
+            // and route-down-kicks opted in to sending every kick from it to the fallback
+            label = BACKEND_DOWN_LABEL;
+        } else {
             return;
         }
 
-        String fallback = plugin.getSettings().getAutoTriggers().getFallback().getLimbo();
-        boolean sent = plugin.getLimboManager().sendPlayerToLimbo(event.getPlayer(), fallback);
+        if (tryFailover(event, fallback, serverName)) {
+            return;
+        }
+
+        FallbackRouteEvent routeEvent = new FallbackRouteEvent();
+        routeEvent.begin();
+        boolean sent = plugin.getLimboManager().sendPlayerToLimbo(event.getPlayer(), fallback.getLimbo());
+        routeEvent.complete(event.getPlayer().getUsername(), fallback.getLimbo(), label, sent);
         if (sent) {
-            event.setResult(KickedFromServerEvent.Notify.create(net.kyori.adventure.text.Component.empty()));
-            String message = plugin.getSettings().getAutoTriggers().getFallback().getMessage();
-            if (!message.isEmpty()) {
-                event.getPlayer().sendMessage(com.itsazni.simpleLimbo.util.MessageUtil.component(message));
+            plugin.getMetrics().recordFallback(label);
+            event.setResult(KickedFromServerEvent.Notify.create(Component.empty()));
+            if (fallback.getMessage() != null) {
+                event.getPlayer().sendMessage(fallback.getMessage());
             }
         }
     }
+
+    /**
+     * Redirect a kicked player straight to the least loaded available failover server.
+     *
+     * @return true if the player is being redirected and no limbo is needed
+     */
+    private boolean tryFailover(KickedFromServerEvent event, RuntimeConfig.FallbackTrigger fallback, String kickedFrom) {
+        if (fallback.getFailoverServers().isEmpty()) {
+            return false;
+        }
+
+        PlayerSession session = plugin.getSessionRegistry().find(event.getPlayer()).orElse(null);
+        if (session == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now - session.getLastFailover() < FAILOVER_RETRY_WINDOW_MS) {
+            return false;
+        }
+
+        Optional<RegisteredServer> target = plugin.getHealthMonitor().pickLeastLoaded(fallback.getFailoverServers(), kickedFrom);
+        if (target.isEmpty()) {
+            return false;
+        }
+
+        String targetName = target.get().getServerInfo().getName();
+        session.markFailover(now);
+        Component message = fallback.getFailoverMessage(targetName);
+        event.setResult(message == null
+                ? KickedFromServerEvent.RedirectPlayer.create(target.get())
+                : KickedFromServerEvent.RedirectPlayer.create(target.get(), message));
+        plugin.getMetrics().recordFailover(targetName);
+
+        if (plugin.getRuntimeConfig().isDebug()) {
+            plugin.getLogger().info("Redirected {} from '{}' to failover server '{}'",
+                    event.getPlayer().getUsername(), kickedFrom, targetName);
+        }
+        return true;
+    }
 }
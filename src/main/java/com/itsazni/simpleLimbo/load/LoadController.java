@@ -0,0 +1,211 @@
+package com.itsazni.simpleLimbo.load;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.config.LoadConfig;
+import com.itsazni.simpleLimbo.limbo.LimboInstance;
+import com.itsazni.simpleLimbo.session.PlayerSession;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import net.elytrium.limboapi.api.player.LimboPlayer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether cosmetic packets (titles, action bars, bossbars) are sent, from three signals
+ * sampled on a schedule: limbo spawns per second, how long limbo players' event loops take to
+ * run a task, and the number of players across all limbos.
+ *
+ * Cosmetics are skipped as soon as one signal crosses its threshold, and resume after
+ * {@code recovery-samples} samples in a row with every signal below 80% of its threshold, so the
+ * state does not flap around a threshold. Chat messages are never skipped. Bossbars skipped while
+ * degraded are shown on recovery to players still in the limbo.
+ */
+public class LoadController {
+
+    public static final String TITLE = "title";
+    public static final String ACTION_BAR = "actionbar";
+    public static final String BOSS_BAR = "bossbar";
+
+    private static final double RECOVERY_FRACTION = 0.8;
+    // Event loops probed per sample; different players are picked each time
+    private static final int PROBES_PER_SAMPLE = 8;
+
+    private final SimpleLimbo plugin;
+    private final LongAdder spawns = new LongAdder();
+
+    private volatile boolean degraded;
+    private LoadConfig config;
+    private ScheduledTask task;
+    private List<Probe> probes = List.of();
+    private long lastSpawns;
+    private long lastSampleNanos;
+    private int calmSamples;
+    private int probeRound;
+
+    public LoadController(SimpleLimbo plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Start sampling, or restart with new settings.
+     */
+    public synchronized void start(LoadConfig config) {
+        if (task != null) {
+            task.cancel();
+        }
+        this.config = config;
+        this.lastSpawns = spawns.sum();
+        this.lastSampleNanos = System.nanoTime();
+        this.probes = List.of();
+        task = plugin.getServer().getScheduler()
+                .buildTask(plugin, this::sample)
+                .repeat(Duration.ofMillis(Math.max(100, config.getSampleIntervalMs())))
+                .schedule();
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        config = null;
+        if (degraded) {
+            recover();
+        }
+    }
+
+    public void recordSpawn() {
+        spawns.increment();
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Whether a cosmetic packet of the given type may be sent now. Skipped packets are counted.
+     */
+    public boolean allowCosmetic(String type) {
+        if (!degraded) {
+            return true;
+        }
+        plugin.getMetrics().recordCosmeticSkipped(type);
+        return false;
+    }
+
+    private synchronized void sample() {
+        LoadConfig current = config;
+        if (current == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long total = spawns.sum();
+        double seconds = Math.max(1, now - lastSampleNanos) / 1_000_000_000.0;
+        double spawnRate = (total - lastSpawns) / seconds;
+        lastSpawns = total;
+        lastSampleNanos = now;
+
+        long lagMillis = collectProbes(now) / 1_000_000L;
+        probes = sendProbes();
+        int players = plugin.getLimboManager().getAllLimbos().values().stream()
+                .mapToInt(LimboInstance::getPlayerCount)
+                .sum();
+
+        boolean over = exceeds(spawnRate, current.getMaxSpawnsPerSecond(), 1)
+                || exceeds(lagMillis, current.getMaxEventLoopLagMs(), 1)
+                || exceeds(players, current.getMaxLimboPlayers(), 1);
+        boolean calm = !exceeds(spawnRate, current.getMaxSpawnsPerSecond(), RECOVERY_FRACTION)
+                && !exceeds(lagMillis, current.getMaxEventLoopLagMs(), RECOVERY_FRACTION)
+                && !exceeds(players, current.getMaxLimboPlayers(), RECOVERY_FRACTION);
+
+        if (over) {
+            calmSamples = 0;
+            if (!degraded) {
+                degraded = true;
+                plugin.getMetrics().recordLoadDegraded();
+                plugin.getLogger().warn("Limbo load is high ({} spawns/s, {}ms event loop lag, {} players), "
+                        + "skipping cosmetic packets", String.format("%.1f", spawnRate), lagMillis, players);
+            }
+        } else if (degraded && calm && ++calmSamples >= Math.max(1, current.getRecoverySamples())) {
+            calmSamples = 0;
+            recover();
+            plugin.getLogger().info("Limbo load is back to normal, cosmetic packets resumed");
+        } else if (!calm) {
+            calmSamples = 0;
+        }
+
+        if (plugin.getRuntimeConfig().isDebug()) {
+            plugin.getLogger().info("Load sample: {} spawns/s, {}ms event loop lag, {} players, degraded={}",
+                    String.format("%.1f", spawnRate), lagMillis, players, degraded);
+        }
+    }
+
+    private static boolean exceeds(double value, double threshold, double fraction) {
+        return threshold > 0 && value > threshold * fraction;
+    }
+
+    private void recover() {
+        degraded = false;
+        if (plugin.getDisplayManager() != null) {
+            plugin.getDisplayManager().showDeferred();
+        }
+    }
+
+    /**
+     * Longest time the last round of probes waited for their event loop. A probe that has not
+     * run yet counts with the time it has waited so far, so a stalled loop still shows up.
+     */
+    private long collectProbes(long now) {
+        long worst = 0;
+        for (Probe probe : probes) {
+            long finished = probe.finishedNanos;
+            worst = Math.max(worst, (finished == 0 ? now : finished) - probe.submittedNanos);
+        }
+        return worst;
+    }
+
+    private List<Probe> sendProbes() {
+        List<LimboPlayer> players = new ArrayList<>();
+        for (PlayerSession session : plugin.getSessionRegistry().getSessions()) {
+            LimboPlayer limboPlayer = session.getLimboPlayer();
+            if (limboPlayer != null) {
+                players.add(limboPlayer);
+            }
+        }
+        if (players.isEmpty()) {
+            return List.of();
+        }
+
+        int stride = Math.max(1, players.size() / PROBES_PER_SAMPLE);
+        int offset = probeRound++ % stride;
+        List<Probe> sent = new ArrayList<>(PROBES_PER_SAMPLE);
+        for (int i = offset; i < players.size() && sent.size() < PROBES_PER_SAMPLE; i += stride) {
+            Probe probe = new Probe(System.nanoTime());
+            try {
+                players.get(i).getScheduledExecutor().execute(probe);
+                sent.add(probe);
+            } catch (RejectedExecutionException e) {
+                // Connection closed in the meantime
+            }
+        }
+        return sent;
+    }
+
+    private static final class Probe implements Runnable {
+        private final long submittedNanos;
+        private volatile long finishedNanos;
+
+        Probe(long submittedNanos) {
+            this.submittedNanos = submittedNanos;
+        }
+
+        @Override
+        public void run() {
+            finishedNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter. Increments are a single {@link LongAdder} add, so they never block.
+ */
+public final class Counter implements Metric {
+
+    private final String name;
+    private final String help;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public void inc() {
+        value.increment();
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void write(StringBuilder out) {
+        Metric.writeHeader(out, name, help, "counter");
+        out.append(name).append(' ').append(value.sum()).append('\n');
+    }
+}
@@ -0,0 +1,86 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import com.itsazni.simpleLimbo.config.CompiledLimbo;
+import com.itsazni.simpleLimbo.queue.AdmissionQueue;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Rough steady-state egress for one player parked in a limbo, shown by {@code /simplelimbo info}
+ * for sizing links for large idle populations. Counts Minecraft packet bytes before TCP/IP
+ * overhead and leaves out the one-time join burst (login, chunks and the join display).
+ *
+ * Keepalives are counted once per read timeout, capped at the 30 second client timeout: the
+ * least LimboAPI can send without idle players timing out. Action bars are sized as JSON text,
+ * which newer clients receive as slightly smaller NBT.
+ */
+public final class EgressEstimate {
+
+    private static final long MINUTE_MS = 60_000;
+    private static final long CLIENT_TIMEOUT_MS = 30_000;
+
+    // Length prefix, uncompressed-length marker and packet id of a small packet
+    private static final int FRAME_BYTES = 3;
+    private static final int KEEPALIVE_BYTES = FRAME_BYTES + Long.BYTES;
+
+    private final double keepAliveBytes;
+    private final double displayBytes;
+
+    private EgressEstimate(double keepAliveBytes, double displayBytes) {
+        this.keepAliveBytes = keepAliveBytes;
+        this.displayBytes = displayBytes;
+    }
+
+    public static EgressEstimate of(CompiledLimbo config) {
+        long keepAliveInterval = Math.min(config.getReadTimeout(), CLIENT_TIMEOUT_MS);
+        double keepAlive = KEEPALIVE_BYTES * (double) MINUTE_MS / keepAliveInterval;
+
+        double display = 0;
+        Component periodic = config.getPeriodicActionBar();
+        if (periodic != null) {
+            display += actionBarBytes(periodic) * (double) MINUTE_MS / config.getPeriodicActionBarIntervalMs();
+        }
+        if (config.isQueueEnabled()) {
+            // Queue positions replace the auto-reconnect countdown
+            display += actionBarBytes(config.queueActionBar(1, 1)) * (double) MINUTE_MS / AdmissionQueue.DISPLAY_INTERVAL_MS;
+        } else if (config.isAutoReconnectEnabled()) {
+            display += actionBarBytes(config.countdownActionBar(config.getAutoReconnectInterval())) * 60.0;
+        }
+        return new EgressEstimate(keepAlive, display);
+    }
+
+    private static int actionBarBytes(Component component) {
+        if (component == null) {
+            return 0;
+        }
+        int text = GsonComponentSerializer.gson().serialize(component).getBytes(StandardCharsets.UTF_8).length;
+        // String length prefix and the overlay flag
+        int body = varIntSize(text) + text + 1;
+        // Uncompressed-length marker and packet id, then the length prefix
+        int packet = 2 + body;
+        return varIntSize(packet) + packet;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public double getKeepAliveBytesPerMinute() {
+        return keepAliveBytes;
+    }
+
+    public double getDisplayBytesPerMinute() {
+        return displayBytes;
+    }
+
+    public double getBytesPerMinute() {
+        return keepAliveBytes + displayBytes;
+    }
+}
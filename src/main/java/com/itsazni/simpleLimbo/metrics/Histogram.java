@@ -0,0 +1,92 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket histogram of durations. Each observation is a short bucket scan plus two
+ * {@link LongAdder} adds; cumulative counts are only computed when scraped.
+ */
+public final class Histogram implements Metric {
+
+    private final String name;
+    private final String help;
+    private final double[] bounds;
+    private final long[] boundNanos;
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * @param bounds upper bucket bounds in seconds, ascending
+     */
+    Histogram(String name, String help, double... bounds) {
+        this.name = name;
+        this.help = help;
+        this.bounds = bounds.clone();
+        this.boundNanos = new long[bounds.length];
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            boundNanos[i] = (long) (bounds[i] * 1_000_000_000L);
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void observeNanos(long nanos) {
+        int index = 0;
+        while (index < boundNanos.length && nanos > boundNanos[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        sumNanos.add(nanos);
+    }
+
+    public long count() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Estimate a quantile in seconds by interpolating inside the bucket that holds it.
+     * Observations above the last bound are reported as the last bound.
+     */
+    public double quantile(double quantile) {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        double rank = quantile * total;
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            if (counts[i] > 0 && cumulative + counts[i] >= rank) {
+                double lower = i == 0 ? 0 : bounds[i - 1];
+                return lower + (bounds[i] - lower) * ((rank - cumulative) / counts[i]);
+            }
+            cumulative += counts[i];
+        }
+        return bounds[bounds.length - 1];
+    }
+
+    @Override
+    public void write(StringBuilder out) {
+        Metric.writeHeader(out, name, help, "histogram");
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{le=\"").append(bounds[i]).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += buckets[bounds.length].sum();
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum ").append(sumNanos.sum() / 1_000_000_000.0).append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,51 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter split by one label. Label values are expected to come from config (limbo names,
+ * kick patterns, fixed outcomes), so the number of series stays small.
+ */
+public final class LabeledCounter implements Metric {
+
+    private final String name;
+    private final String help;
+    private final String label;
+    private final ConcurrentHashMap<String, LongAdder> values = new ConcurrentHashMap<>();
+
+    LabeledCounter(String name, String help, String label) {
+        this.name = name;
+        this.help = help;
+        this.label = label;
+    }
+
+    public void inc(String labelValue) {
+        add(labelValue, 1);
+    }
+
+    public void add(String labelValue, long amount) {
+        // Plain get first: it is lock-free, computeIfAbsent is only hit for a new label value
+        LongAdder adder = values.get(labelValue);
+        if (adder == null) {
+            adder = values.computeIfAbsent(labelValue, key -> new LongAdder());
+        }
+        adder.add(amount);
+    }
+
+    public long get(String labelValue) {
+        LongAdder adder = values.get(labelValue);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public void write(StringBuilder out) {
+        Metric.writeHeader(out, name, help, "counter");
+        for (Map.Entry<String, LongAdder> entry : values.entrySet()) {
+            out.append(name).append('{');
+            Metric.writeLabel(out, label, entry.getKey());
+            out.append("} ").append(entry.getValue().sum()).append('\n');
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Gauge split by one label, sampled from a supplier at scrape time.
+ */
+public final class LabeledGauge implements Metric {
+
+    private final String name;
+    private final String help;
+    private final String label;
+    private volatile Supplier<Map<String, ? extends Number>> source = Map::of;
+
+    LabeledGauge(String name, String help, String label) {
+        this.name = name;
+        this.help = help;
+        this.label = label;
+    }
+
+    public void setSource(Supplier<Map<String, ? extends Number>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void write(StringBuilder out) {
+        Metric.writeHeader(out, name, help, "gauge");
+        for (Map.Entry<String, ? extends Number> entry : source.get().entrySet()) {
+            out.append(name).append('{');
+            Metric.writeLabel(out, label, entry.getKey());
+            out.append("} ").append(entry.getValue()).append('\n');
+        }
+    }
+}
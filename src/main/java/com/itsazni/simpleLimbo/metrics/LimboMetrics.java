@@ -0,0 +1,156 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * All SimpleLimbo metrics. Recording methods only touch {@link java.util.concurrent.atomic.LongAdder}s
+ * and are safe to call from any thread, including the player's event loop.
+ */
+public final class LimboMetrics {
+
+    // Seconds; from a sub-millisecond spawn up to a stalled login
+    private static final double[] SPAWN_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5};
+    // Seconds; from a quick auth pass to hours parked in an AFK limbo
+    private static final double[] STAY_BUCKETS = {1, 5, 15, 30, 60, 300, 900, 1800, 3600, 14400};
+
+    public static final String RESULT_SUCCESS = "success";
+    public static final String RESULT_FAILURE = "failure";
+    public static final String RESULT_SKIPPED = "skipped";
+    public static final String RESULT_UNKNOWN_SERVER = "unknown_server";
+    public static final String RESULT_BACKEND_DOWN = "backend_down";
+
+    private final LabeledGauge players = new LabeledGauge(
+            "simplelimbo_players", "Players currently in each limbo", "limbo");
+    private final LabeledCounter spawns = new LabeledCounter(
+            "simplelimbo_spawns_total", "Players spawned into each limbo", "limbo");
+    private final LabeledCounter leaves = new LabeledCounter(
+            "simplelimbo_leaves_total", "Players that left each limbo", "limbo");
+    private final Histogram spawnDuration = new Histogram(
+            "simplelimbo_spawn_duration_seconds", "Time from sending a player to a limbo until they spawn", SPAWN_BUCKETS);
+    private final Histogram loginToLimbo = new Histogram(
+            "simplelimbo_login_to_limbo_seconds", "Time from proxy login until the first limbo spawn", SPAWN_BUCKETS);
+    private final Histogram stayDuration = new Histogram(
+            "simplelimbo_stay_duration_seconds", "Time players spent in a limbo before leaving", STAY_BUCKETS);
+    private final LabeledCounter fallbackTriggers = new LabeledCounter(
+            "simplelimbo_fallback_triggers_total", "Kicks routed to the fallback limbo, by matched pattern", "pattern");
+    private final LabeledCounter failovers = new LabeledCounter(
+            "simplelimbo_failovers_total", "Kicked players redirected to a failover server", "server");
+    private final Counter afkMoves = new Counter(
+            "simplelimbo_afk_moves_total", "Idle players moved to the AFK limbo");
+    private final Counter autoReconnectAttempts = new Counter(
+            "simplelimbo_auto_reconnect_attempts_total", "Auto-reconnect attempts from a limbo");
+    private final LabeledCounter autoReconnectResults = new LabeledCounter(
+            "simplelimbo_auto_reconnect_results_total", "Auto-reconnect attempt outcomes", "result");
+    private final LabeledCounter injections = new LabeledCounter(
+            "simplelimbo_fake_server_injections_total", "Fake server connection injections", "result");
+    private final LabeledCounter clears = new LabeledCounter(
+            "simplelimbo_fake_server_clears_total", "Fake server connection clears", "result");
+    private final LabeledGauge queueSize = new LabeledGauge(
+            "simplelimbo_queue_size", "Players waiting in each limbo's admission queue", "limbo");
+    private final LabeledCounter queueReleases = new LabeledCounter(
+            "simplelimbo_queue_releases_total", "Players released from each limbo's admission queue", "limbo");
+    private final LabeledGauge backendUp = new LabeledGauge(
+            "simplelimbo_backend_up", "Whether the health monitor considers each backend available", "server");
+    private final Counter antiFallTeleports = new Counter(
+            "simplelimbo_anti_fall_teleports_total", "Teleports sent to hold players in place");
+    private final Counter loadDegradations = new Counter(
+            "simplelimbo_load_degradations_total", "Times high load made the plugin skip cosmetic packets");
+    private final LabeledCounter cosmeticSkipped = new LabeledCounter(
+            "simplelimbo_cosmetic_packets_skipped_total", "Cosmetic packets skipped under high load", "type");
+    private final LabeledCounter displayDropped = new LabeledCounter(
+            "simplelimbo_display_updates_dropped_total", "Display updates replaced by a newer one while the client could not keep up", "slot");
+
+    private final List<Metric> all = List.of(
+            players, spawns, leaves, spawnDuration, loginToLimbo, stayDuration, fallbackTriggers, failovers, afkMoves,
+            autoReconnectAttempts, autoReconnectResults, injections, clears, queueSize, queueReleases,
+            backendUp, antiFallTeleports, loadDegradations, cosmeticSkipped,
+            displayDropped
+    );
+
+    public void setPlayerCounts(Supplier<Map<String, ? extends Number>> source) {
+        players.setSource(source);
+    }
+
+    public void setQueueSizes(Supplier<Map<String, ? extends Number>> source) {
+        queueSize.setSource(source);
+    }
+
+    public void setBackendAvailability(Supplier<Map<String, ? extends Number>> source) {
+        backendUp.setSource(source);
+    }
+
+    public void recordSpawn(String limbo, long sinceSendNanos) {
+        spawns.inc(limbo);
+        spawnDuration.observeNanos(sinceSendNanos);
+    }
+
+    public void recordLoginToLimbo(long sinceLoginNanos) {
+        loginToLimbo.observeNanos(sinceLoginNanos);
+    }
+
+    public void recordLeave(String limbo, long stayNanos) {
+        leaves.inc(limbo);
+        stayDuration.observeNanos(stayNanos);
+    }
+
+    public void recordFallback(String pattern) {
+        fallbackTriggers.inc(pattern);
+    }
+
+    public void recordFailover(String server) {
+        failovers.inc(server);
+    }
+
+    public void recordAfkMove() {
+        afkMoves.inc();
+    }
+
+    public void recordAutoReconnectAttempt() {
+        autoReconnectAttempts.inc();
+    }
+
+    public void recordAutoReconnectResult(String result) {
+        autoReconnectResults.inc(result);
+    }
+
+    public void recordInjection(String result) {
+        injections.inc(result);
+    }
+
+    public void recordClear(String result) {
+        clears.inc(result);
+    }
+
+    public void recordQueueRelease(String limbo, int players) {
+        queueReleases.add(limbo, players);
+    }
+
+    public void recordAntiFallTeleport() {
+        antiFallTeleports.inc();
+    }
+
+    public void recordLoadDegraded() {
+        loadDegradations.inc();
+    }
+
+    public void recordCosmeticSkipped(String type) {
+        cosmeticSkipped.inc(type);
+    }
+
+    public void recordDisplayDropped(String slot) {
+        displayDropped.inc(slot);
+    }
+
+    /**
+     * Render every metric in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(2048);
+        for (Metric metric : all) {
+            metric.write(out);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live figures for one limbo, shown by {@code /simplelimbo stats}. Unlike {@link LimboMetrics}
+ * these are kept per limbo instance and start over when the limbo is recreated on reload.
+ */
+public final class LimboStats {
+
+    // Seconds; finer than the exported histogram so percentiles stay useful below 10ms
+    private static final double[] SPAWN_BUCKETS = {
+            0.0005, 0.001, 0.002, 0.005, 0.01, 0.02, 0.05, 0.1, 0.2, 0.5, 1, 2, 5
+    };
+
+    // Whole object graph of one instance, measured with the tracking heap probe (64-bit, compressed oops).
+    // A floor: the adders grow extra cells once event loops contend on them
+    public static final long ESTIMATED_BYTES = 4400;
+
+    private final long createdMillis = System.currentTimeMillis();
+    private final AtomicInteger peakPlayers = new AtomicInteger();
+    private final AtomicInteger activeInjections = new AtomicInteger();
+    private final RateWindow joins = new RateWindow();
+    private final RateWindow leaves = new RateWindow();
+    private final RateWindow packets = new RateWindow();
+    private final LongAdder injections = new LongAdder();
+    private final Histogram spawnLatency = new Histogram("spawn_latency", "", SPAWN_BUCKETS);
+
+    public void recordPlayers(int current) {
+        if (current > peakPlayers.get()) {
+            peakPlayers.accumulateAndGet(current, Math::max);
+        }
+    }
+
+    public void recordJoin(long spawnNanos) {
+        joins.record();
+        spawnLatency.observeNanos(spawnNanos);
+    }
+
+    public void recordLeave() {
+        leaves.record();
+    }
+
+    public void recordPacket() {
+        packets.record();
+    }
+
+    public void recordInjected() {
+        injections.increment();
+        activeInjections.incrementAndGet();
+    }
+
+    public void recordInjectionCleared() {
+        activeInjections.decrementAndGet();
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public int getPeakPlayers() {
+        return peakPlayers.get();
+    }
+
+    public long getJoinsPerMinute() {
+        return joins.lastMinute();
+    }
+
+    public long getLeavesPerMinute() {
+        return leaves.lastMinute();
+    }
+
+    public double getPacketsPerSecond() {
+        return packets.lastMinute() / 60.0;
+    }
+
+    public long getInjections() {
+        return injections.sum();
+    }
+
+    public int getActiveInjections() {
+        return activeInjections.get();
+    }
+
+    public long getSpawnCount() {
+        return spawnLatency.count();
+    }
+
+    /**
+     * Spawn latency at the given quantile, in milliseconds.
+     */
+    public double spawnLatencyMillis(double quantile) {
+        return spawnLatency.quantile(quantile) * 1000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.itsazni.simpleLimbo.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Events over the last minute. Events only bump a striped {@link LongAdder}, so callers on
+ * different event loops never contend on one cache line. The first event of each second also
+ * samples the running total into a 60-slot ring; the last minute is the total now minus the
+ * earliest sample still inside the window. An event racing that sample may be counted in the
+ * neighbouring second, but none is lost.
+ *
+ * Seconds are counted from when the window was created rather than from {@link System#nanoTime()}'s
+ * arbitrary origin, so they are never negative. Second 0 marks a slot that was never written.
+ */
+final class RateWindow {
+
+    private static final int SLOTS = 60;
+
+    private final long originNanos = System.nanoTime();
+    private final LongAdder total = new LongAdder();
+    // Only written once a second, so reading it on every event stays a shared cache line
+    private final AtomicLong sampledSecond = new AtomicLong();
+    private final AtomicLongArray sampleSeconds = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray sampleTotals = new AtomicLongArray(SLOTS);
+
+    void record() {
+        long second = currentSecond();
+        long last = sampledSecond.get();
+        // Only move forward: a caller that read the clock before being descheduled must not
+        // overwrite a newer sample with its stale second
+        if (second > last && sampledSecond.compareAndSet(last, second)) {
+            int slot = (int) (second % SLOTS);
+            // Total first, so a reader that sees the new second also sees its total
+            sampleTotals.set(slot, total.sum());
+            sampleSeconds.set(slot, second);
+        }
+        total.increment();
+    }
+
+    /**
+     * Events recorded in the last 60 seconds, including the current one.
+     */
+    long lastMinute() {
+        long now = currentSecond();
+        long sum = total.sum();
+        // Seconds without a sample had no events, so the earliest sample in the window is its start
+        long earliestSecond = Long.MAX_VALUE;
+        long base = sum;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long second = sampleSeconds.get(slot);
+            if (second != 0 && now - second < SLOTS && second < earliestSecond) {
+                earliestSecond = second;
+                base = sampleTotals.get(slot);
+            }
+        }
+        return Math.max(0, sum - base);
+    }
+
+    private long currentSecond() {
+        return (System.nanoTime() - originNanos) / 1_000_000_000L + 1;
+    }
+}
@@ -0,0 +1,306 @@
+package com.itsazni.simpleLimbo.queue;
+
+import com.itsazni.simpleLimbo.SimpleLimbo;
+import com.itsazni.simpleLimbo.config.CompiledLimbo;
+import com.itsazni.simpleLimbo.load.LoadController;
+import com.itsazni.simpleLimbo.limbo.handler.SimpleLimboHandler;
+import com.itsazni.simpleLimbo.store.QueueTicket;
+import com.itsazni.simpleLimbo.store.StateStore;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import net.elytrium.limboapi.api.player.LimboPlayer;
+import net.kyori.adventure.text.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Waiting room for one limbo's target server. Players are kept FIFO within priority tiers and
+ * released through {@link LimboPlayer#disconnect(RegisteredServer)} at the configured rate,
+ * and only while the server has free slots if a player limit is set.
+ *
+ * Entries are keyed by the handler of the limbo stint, so a player who leaves the limbo any
+ * other way drops out of the queue when the handler disconnects.
+ *
+ * Every entry is mirrored in the {@link StateStore}. When other proxies queue for the same
+ * limbo, positions shown are global and a proxy only releases players near the global front.
+ */
+public class AdmissionQueue {
+
+    private static final long TICK_MS = 250;
+    private static final int TICKS_PER_DISPLAY = 4;
+    public static final long DISPLAY_INTERVAL_MS = TICK_MS * TICKS_PER_DISPLAY;
+
+    private final SimpleLimbo plugin;
+    private final String limboName;
+    private final CompiledLimbo config;
+    // One FIFO per tier; the last tier is for players without a priority permission
+    private final List<LinkedHashMap<SimpleLimboHandler, Entry>> tiers = new ArrayList<>();
+
+    private ScheduledTask task;
+    private double tokens;
+    private long lastTickNanos;
+    private int ticks;
+    private boolean missingServerLogged;
+    private boolean draining;
+
+    public AdmissionQueue(SimpleLimbo plugin, String limboName, CompiledLimbo config) {
+        this.plugin = plugin;
+        this.limboName = limboName;
+        this.config = config;
+        for (int i = 0; i <= config.getQueuePriorityPermissions().size(); i++) {
+            tiers.add(new LinkedHashMap<>());
+        }
+    }
+
+    public synchronized void start() {
+        stop();
+        lastTickNanos = System.nanoTime();
+        task = plugin.getServer().getScheduler()
+                .buildTask(plugin, this::tick)
+                .repeat(Duration.ofMillis(TICK_MS))
+                .schedule();
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        StateStore store = plugin.getStateStore();
+        for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+            for (Entry entry : tier.values()) {
+                store.dequeue(limboName, entry.player.getUniqueId());
+            }
+            tier.clear();
+        }
+    }
+
+    /**
+     * Keep releasing the players already queued, then stop. Used when the limbo is replaced on
+     * reload: new players queue in the new limbo, and nobody here loses their place.
+     */
+    public synchronized void drain() {
+        draining = true;
+        if (task != null && size() == 0) {
+            stop();
+        }
+    }
+
+    /**
+     * Add a player who just spawned in the limbo.
+     *
+     * @return the player's position, starting at 1
+     */
+    public int enqueue(SimpleLimboHandler owner, Player player, LimboPlayer limboPlayer) {
+        int tier = tierOf(player);
+        StateStore store = plugin.getStateStore();
+        QueueTicket ticket = new QueueTicket(player.getUniqueId(), tier, System.currentTimeMillis(), store.getProxyId());
+        store.enqueue(limboName, ticket);
+        synchronized (this) {
+            tiers.get(tier).put(owner, new Entry(player, limboPlayer, ticket));
+            int position = 0;
+            for (int i = 0; i <= tier; i++) {
+                position += tiers.get(i).size();
+            }
+            return position;
+        }
+    }
+
+    public void remove(SimpleLimboHandler owner) {
+        Entry removed = null;
+        synchronized (this) {
+            for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+                removed = tier.remove(owner);
+                if (removed != null) {
+                    break;
+                }
+            }
+        }
+        if (removed != null) {
+            plugin.getStateStore().dequeue(limboName, removed.player.getUniqueId());
+        }
+    }
+
+    /**
+     * Enqueue this proxy's tickets in a state store that is about to replace the current one,
+     * keeping their tiers and enqueue times so nobody loses their place.
+     */
+    public synchronized void copyTo(StateStore store) {
+        for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+            for (Entry entry : tier.values()) {
+                QueueTicket ticket = entry.ticket;
+                store.enqueue(limboName, new QueueTicket(ticket.getPlayer(), ticket.getTier(), ticket.getEnqueuedAt(), store.getProxyId()));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+            size += tier.size();
+        }
+        return size;
+    }
+
+    private int tierOf(Player player) {
+        List<String> permissions = config.getQueuePriorityPermissions();
+        for (int i = 0; i < permissions.size(); i++) {
+            if (player.hasPermission(permissions.get(i))) {
+                return i;
+            }
+        }
+        return permissions.size();
+    }
+
+    private void tick() {
+        Optional<RegisteredServer> server = plugin.getServer().getServer(config.getQueueServer());
+        StateStore store = plugin.getStateStore();
+        List<QueueTicket> global = store.getQueue(limboName);
+        Map<UUID, Integer> globalPositions = sharedPositions(global, store.getProxyId());
+        List<Entry> released = new ArrayList<>();
+        List<Entry> waiting = null;
+        int size;
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            double rate = config.getQueueReleaseRate();
+            // Allow at most one second of burst after an idle period
+            tokens = Math.min(Math.max(1, rate), tokens + rate * (now - lastTickNanos) / 1_000_000_000.0);
+            lastTickNanos = now;
+
+            int budget = (int) tokens;
+            if (server.isEmpty()) {
+                budget = 0;
+                if (!missingServerLogged) {
+                    missingServerLogged = true;
+                    plugin.getLogger().warn("Queue target server '{}' for limbo '{}' not found, holding players",
+                            config.getQueueServer(), limboName);
+                }
+            } else if (!plugin.getHealthMonitor().isAvailable(config.getQueueServer())) {
+                // Hold everyone while the health monitor has the server marked down
+                budget = 0;
+            } else {
+                missingServerLogged = false;
+                if (config.getQueueMaxPlayers() > 0) {
+                    int free = config.getQueueMaxPlayers() - server.get().getPlayersConnected().size();
+                    budget = Math.min(budget, Math.max(0, free));
+                }
+            }
+
+            // With other proxies in the same queue, only release players near the global front,
+            // leaving each proxy a share of the front proportional to its rate
+            int releasableRank = globalPositions == null ? Integer.MAX_VALUE : budget * proxyCount(global);
+            for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+                Iterator<Entry> iterator = tier.values().iterator();
+                while (released.size() < budget && iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (globalPositions != null && globalPositions.getOrDefault(entry.player.getUniqueId(), 0) > releasableRank) {
+                        break;
+                    }
+                    released.add(entry);
+                    iterator.remove();
+                }
+            }
+            tokens -= released.size();
+
+            size = 0;
+            for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+                size += tier.size();
+            }
+            if (draining && size == 0 && task != null) {
+                task.cancel();
+                task = null;
+            }
+            if (++ticks % TICKS_PER_DISPLAY == 0 && size > 0 && !config.isLowBandwidth()) {
+                waiting = new ArrayList<>(size);
+                for (LinkedHashMap<SimpleLimboHandler, Entry> tier : tiers) {
+                    waiting.addAll(tier.values());
+                }
+            }
+        }
+
+        // Packets go out on each player's own event loop, outside the queue lock
+        for (Entry entry : released) {
+            store.dequeue(limboName, entry.player.getUniqueId());
+            entry.release(server.get());
+        }
+        if (!released.isEmpty()) {
+            plugin.getMetrics().recordQueueRelease(limboName, released.size());
+        }
+
+        if (waiting != null && plugin.getLoadController().allowCosmetic(LoadController.ACTION_BAR)) {
+            int shownSize = globalPositions == null ? size : global.size();
+            for (int i = 0; i < waiting.size(); i++) {
+                Player player = waiting.get(i).player;
+                int position = globalPositions == null ? i + 1 : globalPositions.getOrDefault(player.getUniqueId(), i + 1);
+                Component actionBar = config.queueActionBar(position, shownSize);
+                if (actionBar != null) {
+                    plugin.getSessionRegistry().find(player).ifPresent(session -> session.getActionBar().send(actionBar));
+                }
+            }
+        }
+    }
+
+    /**
+     * Positions in the queue across all proxies, or null if only this proxy has players queued.
+     */
+    private static Map<UUID, Integer> sharedPositions(List<QueueTicket> global, String proxyId) {
+        boolean shared = false;
+        for (QueueTicket ticket : global) {
+            if (!proxyId.equals(ticket.getProxy())) {
+                shared = true;
+                break;
+            }
+        }
+        if (!shared) {
+            return null;
+        }
+
+        Map<UUID, Integer> positions = new HashMap<>(global.size() * 2);
+        for (int i = 0; i < global.size(); i++) {
+            positions.put(global.get(i).getPlayer(), i + 1);
+        }
+        return positions;
+    }
+
+    private static int proxyCount(List<QueueTicket> global) {
+        Set<String> proxies = new HashSet<>();
+        for (QueueTicket ticket : global) {
+            proxies.add(ticket.getProxy());
+        }
+        return proxies.size();
+    }
+
+    private final class Entry {
+
+        private final Player player;
+        private final LimboPlayer limboPlayer;
+        private final QueueTicket ticket;
+
+        private Entry(Player player, LimboPlayer limboPlayer, QueueTicket ticket) {
+            this.player = player;
+            this.limboPlayer = limboPlayer;
+            this.ticket = ticket;
+        }
+
+        private void release(RegisteredServer server) {
+            limboPlayer.getScheduledExecutor().execute(() -> {
+                if (config.getQueueReleaseMessage() != null) {
+                    player.sendMessage(config.getQueueReleaseMessage());
+                }
+                limboPlayer.disconnect(server);
+            });
+        }
+    }
+}
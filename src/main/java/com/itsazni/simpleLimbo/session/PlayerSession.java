@@ -0,0 +1,231 @@
+package com.itsazni.simpleLimbo.session;
+
+import com.itsazni.simpleLimbo.display.ActionBarSlot;
+import com.itsazni.simpleLimbo.display.LimboDisplay;
+import com.itsazni.simpleLimbo.limbo.LimboInstance;
+import com.itsazni.simpleLimbo.limbo.handler.SimpleLimboHandler;
+import com.velocitypowered.api.proxy.Player;
+import net.elytrium.limboapi.api.player.LimboPlayer;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Everything SimpleLimbo tracks for one connected player.
+ *
+ * Activity is tracked for every player (AFK trigger). The limbo fields describe the current
+ * limbo stint and are all null while the player is on a backend server. A stint is owned by the
+ * {@link SimpleLimboHandler} that was created for it, so a late callback from a previous limbo
+ * cannot clear the state of the one the player is in now.
+ *
+ * Reads are lock-free; state changes are synchronized on the session.
+ */
+public final class PlayerSession {
+
+    private final Player player;
+    private final ActionBarSlot actionBar;
+    private volatile long lastActivity;
+    private volatile long lastFailover;
+    private volatile long loginNanos;
+    private boolean closed;
+
+    private volatile LimboInstance limbo;
+    private volatile SimpleLimboHandler handler;
+    private volatile LimboPlayer limboPlayer;
+    private volatile LimboDisplay display;
+    private volatile ScheduledFuture<?> autoReconnectTask;
+    private volatile ScheduledFuture<?> disableFallingTask;
+
+    PlayerSession(Player player, ActionBarSlot actionBar) {
+        this.player = player;
+        this.actionBar = actionBar;
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Action bar for updates that may be coalesced when the client falls behind.
+     */
+    public ActionBarSlot getActionBar() {
+        return actionBar;
+    }
+
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    public void markActivity(long now) {
+        this.lastActivity = now;
+    }
+
+    public void markLogin(long nanos) {
+        this.loginNanos = nanos;
+    }
+
+    /**
+     * The login time if the player has not reached a server or limbo since, then forgets it.
+     *
+     * @return {@link System#nanoTime()} at login, or 0
+     */
+    public long takeLogin() {
+        long nanos = loginNanos;
+        loginNanos = 0;
+        return nanos;
+    }
+
+    public long getLastFailover() {
+        return lastFailover;
+    }
+
+    public void markFailover(long now) {
+        this.lastFailover = now;
+    }
+
+    public LimboInstance getLimbo() {
+        return limbo;
+    }
+
+    public LimboPlayer getLimboPlayer() {
+        return limboPlayer;
+    }
+
+    public boolean isInLimbo() {
+        return limbo != null;
+    }
+
+    public LimboDisplay getDisplay() {
+        return display;
+    }
+
+    /**
+     * Number of this stint's scheduled tasks (auto-reconnect, anti-fall) that are still pending.
+     */
+    public int getActiveTimerCount() {
+        return (isPending(autoReconnectTask) ? 1 : 0) + (isPending(disableFallingTask) ? 1 : 0);
+    }
+
+    /**
+     * Start a new limbo stint owned by the given handler, ending the previous one if any.
+     *
+     * @return false if the session was closed because the player disconnected
+     */
+    public synchronized boolean enterLimbo(LimboInstance limbo, SimpleLimboHandler handler) {
+        if (closed) {
+            return false;
+        }
+        if (this.limbo != null) {
+            release();
+        }
+        this.limbo = limbo;
+        this.handler = handler;
+        limbo.addPlayer(player.getUniqueId());
+        return true;
+    }
+
+    /**
+     * Record the LimboPlayer once LimboAPI has spawned the player.
+     */
+    public synchronized boolean attachLimboPlayer(SimpleLimboHandler owner, LimboPlayer limboPlayer) {
+        if (handler != owner) {
+            return false;
+        }
+        this.limboPlayer = limboPlayer;
+        return true;
+    }
+
+    public synchronized void setDisplay(SimpleLimboHandler owner, LimboDisplay display) {
+        if (handler != owner) {
+            display.clear();
+            return;
+        }
+        clearDisplay();
+        this.display = display;
+    }
+
+    public synchronized void setAutoReconnectTask(SimpleLimboHandler owner, ScheduledFuture<?> task) {
+        if (handler != owner) {
+            task.cancel(false);
+            return;
+        }
+        cancel(autoReconnectTask);
+        this.autoReconnectTask = task;
+    }
+
+    public synchronized void setDisableFallingTask(SimpleLimboHandler owner, ScheduledFuture<?> task) {
+        if (handler != owner) {
+            task.cancel(false);
+            return;
+        }
+        cancel(disableFallingTask);
+        this.disableFallingTask = task;
+    }
+
+    public synchronized void cancelDisableFallingTask(SimpleLimboHandler owner) {
+        if (handler != owner) {
+            return;
+        }
+        ScheduledFuture<?> task = disableFallingTask;
+        if (task != null) {
+            // May be called from the task itself, so don't interrupt
+            task.cancel(false);
+            this.disableFallingTask = null;
+        }
+    }
+
+    /**
+     * End the limbo stint if it is still owned by the given handler.
+     *
+     * @return true if the stint was ended
+     */
+    public synchronized boolean leaveLimbo(SimpleLimboHandler owner) {
+        if (handler != owner || limbo == null) {
+            return false;
+        }
+        release();
+        return true;
+    }
+
+    /**
+     * End the limbo stint for good once the player has disconnected; no new stint can start.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (limbo != null) {
+            release();
+        }
+    }
+
+    public synchronized void clearDisplay() {
+        LimboDisplay current = display;
+        if (current != null) {
+            display = null;
+            current.clear();
+        }
+    }
+
+    private void release() {
+        cancel(autoReconnectTask);
+        cancel(disableFallingTask);
+        clearDisplay();
+        actionBar.clear();
+        limbo.removePlayer(player.getUniqueId());
+
+        this.limbo = null;
+        this.handler = null;
+        this.limboPlayer = null;
+        this.autoReconnectTask = null;
+        this.disableFallingTask = null;
+    }
+
+    private static boolean isPending(ScheduledFuture<?> task) {
+        return task != null && !task.isDone();
+    }
+
+    private static void cancel(ScheduledFuture<?> task) {
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+}
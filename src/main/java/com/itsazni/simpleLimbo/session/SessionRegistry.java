@@ -0,0 +1,92 @@
+package com.itsazni.simpleLimbo.session;
+
+import com.itsazni.simpleLimbo.display.ActionBarSlot;
+import com.itsazni.simpleLimbo.metrics.LimboMetrics;
+import com.velocitypowered.api.proxy.Player;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single per-player registry: one {@link PlayerSession} per connected player, created on login or
+ * limbo entry and removed on disconnect. Everything else looks sessions up with {@link #find}, so
+ * a late callback cannot bring back the session of a player who already left.
+ */
+public class SessionRegistry {
+
+    // Shallow sizes measured with TrackingHeapProbe (JDK 17, compressed oops); shared objects such
+    // as the Player and the limbo are not counted
+    private static final long SESSION_BYTES = 152;
+    private static final long LIMBO_STINT_BYTES = 112;
+    private static final long DISPLAY_BYTES = 32;
+    private static final long TIMER_BYTES = 80;
+
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private final LimboMetrics metrics;
+
+    public SessionRegistry(LimboMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the session for a player, creating it if needed. Only for login and limbo entry.
+     *
+     * A session created after the player disconnected is closed again straight away and never
+     * enters a limbo: the player is inactive before the disconnect removes their session, so
+     * either the removal or the check here catches it.
+     */
+    public PlayerSession session(Player player) {
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session != null) {
+            return session;
+        }
+        session = sessions.computeIfAbsent(player.getUniqueId(), id -> new PlayerSession(player, new ActionBarSlot(player, metrics)));
+        if (!player.isActive() && sessions.remove(player.getUniqueId(), session)) {
+            session.close();
+        }
+        return session;
+    }
+
+    public Optional<PlayerSession> find(Player player) {
+        return Optional.ofNullable(sessions.get(player.getUniqueId()));
+    }
+
+    /**
+     * Drop a player's session, ending any limbo stint it still holds.
+     */
+    public void remove(Player player) {
+        PlayerSession session = sessions.remove(player.getUniqueId());
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    public Collection<PlayerSession> getSessions() {
+        return sessions.values();
+    }
+
+    /**
+     * Estimate the heap held by sessions, limbo stints and their timers and displays, from the
+     * shallow sizes above.
+     */
+    public long estimateHeapBytes() {
+        long bytes = 0;
+        for (PlayerSession session : sessions.values()) {
+            bytes += SESSION_BYTES;
+            if (session.isInLimbo()) {
+                bytes += LIMBO_STINT_BYTES + session.getActiveTimerCount() * TIMER_BYTES;
+                if (session.getDisplay() != null) {
+                    bytes += DISPLAY_BYTES + (session.getDisplay().hasActionBarTask() ? TIMER_BYTES : 0);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
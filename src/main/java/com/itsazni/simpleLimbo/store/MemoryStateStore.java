@@ -0,0 +1,60 @@
+package com.itsazni.simpleLimbo.store;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Store for a single proxy: the state only lives in this process.
+ */
+public class MemoryStateStore implements StateStore {
+
+    private final String proxyId;
+    private final ReplicaState state = new ReplicaState();
+
+    public MemoryStateStore(String proxyId) {
+        this.proxyId = proxyId;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String getProxyId() {
+        return proxyId;
+    }
+
+    @Override
+    public void addMember(String limbo, UUID player) {
+        state.apply(StoreOp.join(limbo, player, proxyId));
+    }
+
+    @Override
+    public void removeMember(String limbo, UUID player) {
+        state.apply(StoreOp.leave(limbo, player, proxyId));
+    }
+
+    @Override
+    public int getMemberCount(String limbo) {
+        return state.memberCount(limbo);
+    }
+
+    @Override
+    public void enqueue(String queue, QueueTicket ticket) {
+        state.apply(StoreOp.enqueue(queue, ticket));
+    }
+
+    @Override
+    public void dequeue(String queue, UUID player) {
+        state.apply(StoreOp.dequeue(queue, player, proxyId));
+    }
+
+    @Override
+    public List<QueueTicket> getQueue(String queue) {
+        return state.queue(queue);
+    }
+}
@@ -0,0 +1,234 @@
+package com.itsazni.simpleLimbo.store;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Store shared with other proxies through a {@link StateStoreServer}.
+ *
+ * Every proxy keeps a full copy of the state. Local writes are applied to the copy right away
+ * and queued; a background thread sends the queue as one frame every flush interval and applies
+ * what other proxies sent. If the connection drops, entries from other proxies are forgotten
+ * and this proxy's own entries are sent again after reconnecting. Each connection starts with a
+ * hello carrying the shared secret; the server closes connections whose secret does not match.
+ */
+public class NetworkStateStore implements StateStore {
+
+    private static final long RECONNECT_DELAY_MS = 5000;
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int MAX_OPS_PER_FRAME = 4096;
+
+    private final String proxyId;
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final long flushIntervalMs;
+    private final Logger logger;
+    private final ReplicaState state = new ReplicaState();
+    private final ConcurrentLinkedQueue<StoreOp> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread thread;
+
+    public NetworkStateStore(String proxyId, String host, int port, String secret, long flushIntervalMs, Logger logger) {
+        this.proxyId = proxyId;
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.logger = logger;
+    }
+
+    /**
+     * Start connecting in the background. Writes made before the connection is up are kept
+     * locally and sent once it is.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "SimpleLimbo State Store");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        closeSocket();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isConnected() {
+        Socket current = socket;
+        return current != null && current.isConnected() && !current.isClosed();
+    }
+
+    @Override
+    public String getProxyId() {
+        return proxyId;
+    }
+
+    @Override
+    public void addMember(String limbo, UUID player) {
+        write(StoreOp.join(limbo, player, proxyId));
+    }
+
+    @Override
+    public void removeMember(String limbo, UUID player) {
+        write(StoreOp.leave(limbo, player, proxyId));
+    }
+
+    @Override
+    public int getMemberCount(String limbo) {
+        return state.memberCount(limbo);
+    }
+
+    @Override
+    public void enqueue(String queue, QueueTicket ticket) {
+        write(StoreOp.enqueue(queue, ticket));
+    }
+
+    @Override
+    public void dequeue(String queue, UUID player) {
+        write(StoreOp.dequeue(queue, player, proxyId));
+    }
+
+    @Override
+    public List<QueueTicket> getQueue(String queue) {
+        return state.queue(queue);
+    }
+
+    private void write(StoreOp op) {
+        state.apply(op);
+        pending.add(op);
+    }
+
+    private void run() {
+        boolean outageLogged = false;
+        while (running) {
+            try {
+                session();
+                outageLogged = false;
+            } catch (IOException e) {
+                if (running && !outageLogged) {
+                    outageLogged = true;
+                    logger.warn("State store {}:{} unavailable, counts and queues are local until it is back: {}",
+                            host, port, e.getMessage());
+                }
+            } finally {
+                closeSocket();
+                state.retainOnly(proxyId);
+            }
+
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void session() throws IOException {
+        Socket connection = new Socket();
+        socket = connection;
+        connection.setTcpNoDelay(true);
+        connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+
+        // Everything queued so far is already in the local copy, so the snapshot covers it.
+        // Ops are idempotent, so one queued again while the snapshot is taken is harmless.
+        pending.clear();
+        StoreFrames.writeHello(out, proxyId, secret);
+        List<StoreOp> hello = new ArrayList<>();
+        hello.add(StoreOp.proxyGone(proxyId));
+        state.snapshot(proxyId, hello::add);
+        out.write(StoreFrames.encode(hello));
+        out.flush();
+        logger.info("Connected to state store at {}:{} as '{}'", host, port, proxyId);
+
+        Thread reader = new Thread(() -> read(connection, in), "SimpleLimbo State Store Reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        List<StoreOp> batch = new ArrayList<>();
+        while (running && !connection.isClosed()) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            StoreOp op;
+            while ((op = pending.poll()) != null) {
+                batch.add(op);
+                if (batch.size() == MAX_OPS_PER_FRAME) {
+                    out.write(StoreFrames.encode(batch));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                out.write(StoreFrames.encode(batch));
+                batch.clear();
+            }
+            out.flush();
+        }
+        if (running) {
+            throw new IOException("connection closed by the state store");
+        }
+    }
+
+    private void read(Socket connection, DataInputStream in) {
+        try {
+            byte[] frame;
+            while ((frame = StoreFrames.readFrame(in)) != null) {
+                for (StoreOp op : StoreFrames.decode(frame)) {
+                    // Our own entries are authoritative locally
+                    if (!proxyId.equals(op.proxy)) {
+                        state.apply(op);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                logger.debug("State store read failed: {}", e.getMessage());
+            }
+        } finally {
+            try {
+                connection.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        socket = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+    }
+}
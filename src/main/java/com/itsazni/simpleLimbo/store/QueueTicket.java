@@ -0,0 +1,49 @@
+package com.itsazni.simpleLimbo.store;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * One player's place in a shared queue. Tickets order by priority tier, then by the time the
+ * player joined the queue, so proxies agree on the order without asking each other.
+ */
+public final class QueueTicket implements Comparable<QueueTicket> {
+
+    private static final Comparator<QueueTicket> ORDER = Comparator
+            .comparingInt(QueueTicket::getTier)
+            .thenComparingLong(QueueTicket::getEnqueuedAt)
+            .thenComparing(QueueTicket::getPlayer);
+
+    private final UUID player;
+    private final int tier;
+    private final long enqueuedAt;
+    private final String proxy;
+
+    public QueueTicket(UUID player, int tier, long enqueuedAt, String proxy) {
+        this.player = player;
+        this.tier = tier;
+        this.enqueuedAt = enqueuedAt;
+        this.proxy = proxy;
+    }
+
+    public UUID getPlayer() {
+        return player;
+    }
+
+    public int getTier() {
+        return tier;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public String getProxy() {
+        return proxy;
+    }
+
+    @Override
+    public int compareTo(QueueTicket other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,119 @@
+package com.itsazni.simpleLimbo.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Copy of the shared state, kept by every store and by the relay server. Changes are applied
+ * as {@link StoreOp}s, which are idempotent so a replayed or duplicated op does no harm.
+ */
+final class ReplicaState {
+
+    // limbo -> player -> owning proxy
+    private final Map<String, Map<UUID, String>> members = new ConcurrentHashMap<>();
+    private final Map<String, SharedQueue> queues = new ConcurrentHashMap<>();
+
+    void apply(StoreOp op) {
+        switch (op.type) {
+            case StoreOp.JOIN -> members.computeIfAbsent(op.key, key -> new ConcurrentHashMap<>()).put(op.player, op.proxy);
+            case StoreOp.LEAVE -> {
+                Map<UUID, String> limbo = members.get(op.key);
+                if (limbo != null) {
+                    limbo.remove(op.player);
+                }
+            }
+            case StoreOp.ENQUEUE -> queues.computeIfAbsent(op.key, key -> new SharedQueue()).add(op.ticket());
+            case StoreOp.DEQUEUE -> {
+                SharedQueue queue = queues.get(op.key);
+                if (queue != null) {
+                    queue.remove(op.player);
+                }
+            }
+            case StoreOp.PROXY_GONE -> removeIf(op.proxy::equals);
+            default -> throw new IllegalArgumentException("Unknown op " + op.type);
+        }
+    }
+
+    int memberCount(String limbo) {
+        Map<UUID, String> limboMembers = members.get(limbo);
+        return limboMembers == null ? 0 : limboMembers.size();
+    }
+
+    List<QueueTicket> queue(String name) {
+        SharedQueue queue = queues.get(name);
+        return queue == null ? List.of() : queue.snapshot();
+    }
+
+    /**
+     * Emit ops that rebuild the entries owned by matching proxies.
+     */
+    void snapshot(String onlyProxy, Consumer<StoreOp> out) {
+        for (Map.Entry<String, Map<UUID, String>> limbo : members.entrySet()) {
+            for (Map.Entry<UUID, String> member : limbo.getValue().entrySet()) {
+                if (onlyProxy == null || onlyProxy.equals(member.getValue())) {
+                    out.accept(StoreOp.join(limbo.getKey(), member.getKey(), member.getValue()));
+                }
+            }
+        }
+        for (Map.Entry<String, SharedQueue> queue : queues.entrySet()) {
+            for (QueueTicket ticket : queue.getValue().snapshot()) {
+                if (onlyProxy == null || onlyProxy.equals(ticket.getProxy())) {
+                    out.accept(StoreOp.enqueue(queue.getKey(), ticket));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every entry not owned by the given proxy, e.g. after losing the connection to the others.
+     */
+    void retainOnly(String proxy) {
+        removeIf(owner -> !owner.equals(proxy));
+    }
+
+    private void removeIf(Predicate<String> owner) {
+        for (Map<UUID, String> limbo : members.values()) {
+            limbo.values().removeIf(owner);
+        }
+        for (SharedQueue queue : queues.values()) {
+            queue.removeIf(owner);
+        }
+    }
+
+    private static final class SharedQueue {
+
+        private final TreeSet<QueueTicket> order = new TreeSet<>();
+        private final Map<UUID, QueueTicket> byPlayer = new HashMap<>();
+
+        synchronized void add(QueueTicket ticket) {
+            QueueTicket previous = byPlayer.put(ticket.getPlayer(), ticket);
+            if (previous != null) {
+                order.remove(previous);
+            }
+            order.add(ticket);
+        }
+
+        synchronized void remove(UUID player) {
+            QueueTicket ticket = byPlayer.remove(player);
+            if (ticket != null) {
+                order.remove(ticket);
+            }
+        }
+
+        synchronized void removeIf(Predicate<String> owner) {
+            order.removeIf(ticket -> owner.test(ticket.getProxy()));
+            byPlayer.values().removeIf(ticket -> owner.test(ticket.getProxy()));
+        }
+
+        synchronized List<QueueTicket> snapshot() {
+            return new ArrayList<>(order);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.itsazni.simpleLimbo.store;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Limbo membership and queue state shared between proxies.
+ *
+ * Reads are served from a local copy and never wait on the network. Writes update the local
+ * copy immediately and reach other proxies asynchronously, so every operation must be cheap
+ * enough to call from a player's event loop. All writes are idempotent.
+ */
+public interface StateStore {
+
+    void start() throws IOException;
+
+    void close();
+
+    /**
+     * Id of this proxy, as seen by other proxies sharing the store.
+     */
+    String getProxyId();
+
+    void addMember(String limbo, UUID player);
+
+    void removeMember(String limbo, UUID player);
+
+    /**
+     * Players in the limbo on all proxies.
+     */
+    int getMemberCount(String limbo);
+
+    void enqueue(String queue, QueueTicket ticket);
+
+    void dequeue(String queue, UUID player);
+
+    /**
+     * Tickets in the queue on all proxies, in release order.
+     */
+    List<QueueTicket> getQueue(String queue);
+}
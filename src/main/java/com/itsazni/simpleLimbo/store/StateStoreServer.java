@@ -0,0 +1,260 @@
+package com.itsazni.simpleLimbo.store;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relay for {@link NetworkStateStore}s. It keeps its own copy of the state to bring new
+ * proxies up to date and forwards every frame it receives to all other connected proxies.
+ * When a proxy disconnects, its entries are dropped everywhere.
+ *
+ * Proxies must open with a hello carrying the shared secret. The proxy named in the hello is
+ * bound to the connection: a frame with an op for any other proxy disconnects the client, so
+ * one proxy cannot change or drop another's entries. A newer connection for the same proxy
+ * replaces the older one. Clients that fall more than {@link #MAX_QUEUED_BYTES} behind on
+ * reading are disconnected rather than buffered without limit.
+ *
+ * Small enough to run inside one of the proxies; it only ever sees batched state changes.
+ */
+public class StateStoreServer {
+
+    private static final int HELLO_TIMEOUT_MS = 5000;
+    private static final long MAX_QUEUED_BYTES = 32L * 1024 * 1024;
+
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final Logger logger;
+    private final ReplicaState state = new ReplicaState();
+    // Guarded by lock; proxy id -> its current connection
+    private final Map<String, Client> clients = new HashMap<>();
+    // Applying a frame and queueing it for the other clients happen together, so every client sees one order
+    private final Object lock = new Object();
+
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+
+    public StateStoreServer(String host, int port, String secret, Logger logger) {
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.logger = logger;
+    }
+
+    public synchronized void start() throws IOException {
+        ServerSocket bound = new ServerSocket();
+        bound.setReuseAddress(true);
+        bound.bind(new InetSocketAddress(host, port));
+        serverSocket = bound;
+
+        acceptThread = new Thread(this::accept, "SimpleLimbo State Store Server");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        logger.info("State store server listening on {}:{}", host, bound.getLocalPort());
+    }
+
+    public synchronized void stop() {
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close state store server: {}", e.getMessage());
+            }
+            serverSocket = null;
+        }
+        synchronized (lock) {
+            for (Client client : clients.values()) {
+                client.close();
+            }
+            clients.clear();
+        }
+    }
+
+    /**
+     * Port actually bound, useful when started with port 0.
+     */
+    public int getPort() {
+        ServerSocket current = serverSocket;
+        return current == null ? port : current.getLocalPort();
+    }
+
+    public boolean isBoundTo(String host, int port, String secret) {
+        return serverSocket != null && this.host.equals(host) && this.port == port && this.secret.equals(secret);
+    }
+
+    private void accept() {
+        ServerSocket current = serverSocket;
+        while (current != null && !current.isClosed()) {
+            try {
+                Socket socket = current.accept();
+                socket.setTcpNoDelay(true);
+                Client client = new Client(socket);
+                client.start();
+            } catch (IOException e) {
+                if (!current.isClosed()) {
+                    logger.warn("State store server accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private final class Client {
+
+        private final Socket socket;
+        private final OutputStream out;
+        private final ExecutorService sender;
+        private final AtomicLong queuedBytes = new AtomicLong();
+        private volatile String proxy;
+
+        private Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+            this.sender = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "SimpleLimbo State Store Sender");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void start() {
+            Thread reader = new Thread(this::read, "SimpleLimbo State Store Client");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void read() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (!hello(in)) {
+                    return;
+                }
+
+                byte[] frame;
+                while ((frame = StoreFrames.readFrame(in)) != null) {
+                    List<StoreOp> ops = StoreFrames.decode(frame);
+                    for (StoreOp op : ops) {
+                        if (!proxy.equals(op.proxy)) {
+                            logger.warn("State store client '{}' sent an op for proxy '{}', disconnecting it", proxy, op.proxy);
+                            return;
+                        }
+                    }
+                    synchronized (lock) {
+                        if (clients.get(proxy) != this) {
+                            // Replaced by a newer connection for the same proxy
+                            return;
+                        }
+                        for (StoreOp op : ops) {
+                            state.apply(op);
+                        }
+                        for (Client other : clients.values()) {
+                            if (other != this) {
+                                other.send(frame);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("State store client {} failed: {}", proxy, e.getMessage());
+            } finally {
+                disconnected();
+            }
+        }
+
+        /**
+         * Check the hello, then register this client and send it the current state.
+         */
+        private boolean hello(DataInputStream in) throws IOException {
+            String claimed;
+            socket.setSoTimeout(HELLO_TIMEOUT_MS);
+            try {
+                claimed = StoreFrames.readHello(in, secret);
+            } catch (IOException e) {
+                logger.warn("Rejected state store client {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+                return false;
+            }
+            socket.setSoTimeout(0);
+
+            synchronized (lock) {
+                proxy = claimed;
+                List<StoreOp> snapshot = new ArrayList<>();
+                state.snapshot(null, snapshot::add);
+                send(StoreFrames.encode(snapshot));
+                Client previous = clients.put(claimed, this);
+                if (previous != null) {
+                    // Its entries are replaced by the hello this client sends next, so no PROXY_GONE
+                    previous.close();
+                }
+            }
+            return true;
+        }
+
+        private void disconnected() {
+            close();
+            synchronized (lock) {
+                if (proxy == null || !clients.remove(proxy, this)) {
+                    return;
+                }
+                StoreOp gone = StoreOp.proxyGone(proxy);
+                state.apply(gone);
+                try {
+                    byte[] frame = StoreFrames.encode(List.of(gone));
+                    for (Client other : clients.values()) {
+                        other.send(frame);
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to announce state store client {} leaving: {}", proxy, e.getMessage());
+                }
+            }
+        }
+
+        private void send(byte[] frame) {
+            if (queuedBytes.addAndGet(frame.length) > MAX_QUEUED_BYTES) {
+                if (!sender.isShutdown()) {
+                    logger.warn("State store client {} is not keeping up, disconnecting it", proxy);
+                }
+                // The reader sees the closed socket and removes this client
+                close();
+                return;
+            }
+            try {
+                sender.execute(() -> {
+                    try {
+                        out.write(frame);
+                        out.flush();
+                    } catch (IOException e) {
+                        close();
+                    } finally {
+                        queuedBytes.addAndGet(-frame.length);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Already closed; the reader removes this client
+            }
+        }
+
+        private void close() {
+            sender.shutdown();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.itsazni.simpleLimbo.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format between stores and the relay: a frame is an int byte length followed by an
+ * int op count and the ops. A store opens every connection with a hello naming its proxy
+ * and carrying the shared secret, before any frame.
+ */
+final class StoreFrames {
+
+    // Guards against reading a garbage length from a non-SimpleLimbo client
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+    // "SLS1"
+    private static final int HELLO_MAGIC = 0x534C5331;
+
+    private StoreFrames() {
+    }
+
+    static byte[] encode(List<StoreOp> ops) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + ops.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeInt(ops.size());
+        for (StoreOp op : ops) {
+            op.write(out);
+        }
+        out.flush();
+
+        byte[] frame = bytes.toByteArray();
+        int length = frame.length - 4;
+        frame[0] = (byte) (length >>> 24);
+        frame[1] = (byte) (length >>> 16);
+        frame[2] = (byte) (length >>> 8);
+        frame[3] = (byte) length;
+        return frame;
+    }
+
+    static void writeHello(DataOutputStream out, String proxy, String secret) throws IOException {
+        out.writeInt(HELLO_MAGIC);
+        out.writeUTF(proxy);
+        out.writeUTF(secret);
+    }
+
+    /**
+     * Read a hello and return the proxy it names, or throw if it is malformed or its secret does
+     * not match. The secret is compared in constant time.
+     */
+    static String readHello(DataInputStream in, String secret) throws IOException {
+        if (in.readInt() != HELLO_MAGIC) {
+            throw new IOException("not a state store client");
+        }
+        String proxy = in.readUTF();
+        byte[] received = in.readUTF().getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(received, secret.getBytes(StandardCharsets.UTF_8))) {
+            throw new IOException("wrong secret from proxy '" + proxy + "'");
+        }
+        if (proxy.isEmpty()) {
+            throw new IOException("empty proxy id");
+        }
+        return proxy;
+    }
+
+    /**
+     * Read the next frame as raw bytes (including the length prefix), or null at end of stream.
+     */
+    static byte[] readFrame(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 4 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid state store frame length " + length);
+        }
+
+        byte[] frame = new byte[length + 4];
+        frame[0] = (byte) (length >>> 24);
+        frame[1] = (byte) (length >>> 16);
+        frame[2] = (byte) (length >>> 8);
+        frame[3] = (byte) length;
+        in.readFully(frame, 4, length);
+        return frame;
+    }
+
+    static List<StoreOp> decode(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame, 4, frame.length - 4));
+        int count = in.readInt();
+        List<StoreOp> ops = new ArrayList<>(Math.min(count, 4096));
+        for (int i = 0; i < count; i++) {
+            ops.add(StoreOp.read(in));
+        }
+        return ops;
+    }
+}
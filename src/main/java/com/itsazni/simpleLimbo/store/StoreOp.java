@@ -0,0 +1,94 @@
+package com.itsazni.simpleLimbo.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * One state change, as applied locally and sent between proxies.
+ */
+final class StoreOp {
+
+    static final byte JOIN = 1;
+    static final byte LEAVE = 2;
+    static final byte ENQUEUE = 3;
+    static final byte DEQUEUE = 4;
+    // Drop everything owned by a proxy; sent when it (re)connects or disconnects
+    static final byte PROXY_GONE = 5;
+
+    final byte type;
+    final String key;
+    final UUID player;
+    final int tier;
+    final long time;
+    final String proxy;
+
+    private StoreOp(byte type, String key, UUID player, int tier, long time, String proxy) {
+        this.type = type;
+        this.key = key;
+        this.player = player;
+        this.tier = tier;
+        this.time = time;
+        this.proxy = proxy;
+    }
+
+    static StoreOp join(String limbo, UUID player, String proxy) {
+        return new StoreOp(JOIN, limbo, player, 0, 0, proxy);
+    }
+
+    static StoreOp leave(String limbo, UUID player, String proxy) {
+        return new StoreOp(LEAVE, limbo, player, 0, 0, proxy);
+    }
+
+    static StoreOp enqueue(String queue, QueueTicket ticket) {
+        return new StoreOp(ENQUEUE, queue, ticket.getPlayer(), ticket.getTier(), ticket.getEnqueuedAt(), ticket.getProxy());
+    }
+
+    static StoreOp dequeue(String queue, UUID player, String proxy) {
+        return new StoreOp(DEQUEUE, queue, player, 0, 0, proxy);
+    }
+
+    static StoreOp proxyGone(String proxy) {
+        return new StoreOp(PROXY_GONE, "", null, 0, 0, proxy);
+    }
+
+    QueueTicket ticket() {
+        return new QueueTicket(player, tier, time, proxy);
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeByte(type);
+        out.writeUTF(proxy);
+        if (type == PROXY_GONE) {
+            return;
+        }
+        out.writeUTF(key);
+        out.writeLong(player.getMostSignificantBits());
+        out.writeLong(player.getLeastSignificantBits());
+        if (type == ENQUEUE) {
+            out.writeInt(tier);
+            out.writeLong(time);
+        }
+    }
+
+    static StoreOp read(DataInput in) throws IOException {
+        byte type = in.readByte();
+        String proxy = in.readUTF();
+        if (type == PROXY_GONE) {
+            return proxyGone(proxy);
+        }
+        if (type < JOIN || type > DEQUEUE) {
+            throw new IOException("Unknown state store op " + type);
+        }
+        String key = in.readUTF();
+        UUID player = new UUID(in.readLong(), in.readLong());
+        int tier = 0;
+        long time = 0;
+        if (type == ENQUEUE) {
+            tier = in.readInt();
+            time = in.readLong();
+        }
+        return new StoreOp(type, key, player, tier, time, proxy);
+    }
+}
@@ -0,0 +1,59 @@
+package com.itsazni.simpleLimbo.trace;
+
+/**
+ * One recorded event. Which of target and text are set depends on the type:
+ * <ul>
+ *   <li>PRE_CONNECT: target = server</li>
+ *   <li>KICK: target = server, text = plain kick reason</li>
+ *   <li>CHAT: text = "/command" root, or filler of the message length for plain chat</li>
+ *   <li>LIMBO_SPAWN, LIMBO_EXIT: target = limbo</li>
+ * </ul>
+ */
+public final class TraceEvent {
+
+    public enum Type {
+        PRE_CONNECT,
+        KICK,
+        DISCONNECT,
+        CHAT,
+        LIMBO_SPAWN,
+        LIMBO_EXIT
+    }
+
+    private final Type type;
+    private final long timeNanos;
+    private final String player;
+    private final String target;
+    private final String text;
+
+    public TraceEvent(Type type, long timeNanos, String player, String target, String text) {
+        this.type = type;
+        this.timeNanos = timeNanos;
+        this.player = player;
+        this.target = target;
+        this.text = text;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Nanoseconds since the trace started (microsecond precision once written).
+     */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
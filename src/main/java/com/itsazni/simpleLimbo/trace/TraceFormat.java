@@ -0,0 +1,50 @@
+package com.itsazni.simpleLimbo.trace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary trace layout, shared by {@link TraceRecorder} and {@link TraceReader}.
+ *
+ * <pre>
+ * header:  int magic "SLTR", byte version, long start epoch millis
+ * record:  byte type, varlong micros since previous record, string player, type fields
+ * string:  varint id; an id equal to the table size defines it, followed by UTF
+ * </pre>
+ *
+ * Players, servers, limbos and kick reasons repeat constantly, so after the first use each
+ * costs one or two bytes.
+ */
+final class TraceFormat {
+
+    static final int MAGIC = 0x534C5452;
+    static final byte VERSION = 1;
+
+    private TraceFormat() {
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Malformed varlong in trace");
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.itsazni.simpleLimbo.trace;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a trace written by {@link TraceRecorder}, one event at a time.
+ */
+public class TraceReader implements Closeable {
+
+    private static final TraceEvent.Type[] TYPES = TraceEvent.Type.values();
+
+    private final DataInputStream in;
+    private final long startEpochMillis;
+    private final List<String> strings = new ArrayList<>();
+    private long timeMicros;
+
+    public TraceReader(Path file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+        if (in.readInt() != TraceFormat.MAGIC) {
+            in.close();
+            throw new IOException("Not a SimpleLimbo trace: " + file);
+        }
+        byte version = in.readByte();
+        if (version != TraceFormat.VERSION) {
+            in.close();
+            throw new IOException("Unsupported trace version " + version + ": " + file);
+        }
+        this.startEpochMillis = in.readLong();
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * @return the next event, or null at the end of the trace
+     */
+    public TraceEvent next() throws IOException {
+        int typeId;
+        try {
+            typeId = in.readUnsignedByte();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (typeId >= TYPES.length) {
+            throw new IOException("Unknown trace event type " + typeId);
+        }
+
+        TraceEvent.Type type = TYPES[typeId];
+        timeMicros += TraceFormat.readVarLong(in);
+        String player = readString();
+        String target = null;
+        String text = null;
+        switch (type) {
+            case PRE_CONNECT, LIMBO_SPAWN, LIMBO_EXIT -> target = readString();
+            case KICK -> {
+                target = readString();
+                text = readString();
+            }
+            case CHAT -> text = readString();
+            case DISCONNECT -> {
+            }
+        }
+        return new TraceEvent(type, timeMicros * 1000L, player, target, text);
+    }
+
+    public List<TraceEvent> readAll() throws IOException {
+        List<TraceEvent> events = new ArrayList<>();
+        TraceEvent event;
+        while ((event = next()) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    private String readString() throws IOException {
+        int id = (int) TraceFormat.readVarLong(in);
+        if (id == strings.size()) {
+            strings.add(in.readUTF());
+        } else if (id > strings.size()) {
+            throw new IOException("Trace string " + id + " used before it was defined");
+        }
+        return strings.get(id);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,223 @@
+package com.itsazni.simpleLimbo.trace;
+
+import com.velocitypowered.api.proxy.Player;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional recorder for the events the plugin sees, written as a compact binary trace (see
+ * {@link TraceFormat}) that can be replayed later.
+ *
+ * Event threads only timestamp the event and offer it to a bounded queue; a single writer
+ * thread encodes and writes it. When the queue is full the event is dropped and counted rather
+ * than blocking the proxy. Chat is recorded as the command root or a filler of the same length,
+ * never the message itself, so passwords typed into /login do not end up in traces.
+ */
+public class TraceRecorder {
+
+    private static final int MAX_TEXT_LENGTH = 256;
+
+    private final Logger logger;
+    private final LongAdder dropped = new LongAdder();
+    private volatile Session session;
+
+    public TraceRecorder(Logger logger) {
+        this.logger = logger;
+    }
+
+    public synchronized void start(Path file, int queueSize) throws IOException {
+        stop();
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        session = new Session(file, Math.max(1024, queueSize));
+        logger.info("Recording event trace to {}", file);
+    }
+
+    public synchronized void stop() {
+        Session current = session;
+        if (current == null) {
+            return;
+        }
+        session = null;
+        current.close();
+        logger.info("Stopped event trace {} ({} events dropped)", current.file, dropped.sum());
+    }
+
+    public boolean isRecording() {
+        return session != null;
+    }
+
+    public Path getFile() {
+        Session current = session;
+        return current == null ? null : current.file;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public void preConnect(Player player, String server) {
+        record(TraceEvent.Type.PRE_CONNECT, player, server, null);
+    }
+
+    public void kick(Player player, String server, String reason) {
+        record(TraceEvent.Type.KICK, player, server, truncate(reason));
+    }
+
+    public void disconnect(Player player) {
+        record(TraceEvent.Type.DISCONNECT, player, null, null);
+    }
+
+    public void chat(Player player, String message) {
+        Session current = session;
+        if (current == null || message == null) {
+            return;
+        }
+        current.offer(new TraceEvent(TraceEvent.Type.CHAT, current.now(), player.getUsername(), null, sanitizeChat(message)));
+    }
+
+    public void limboSpawn(Player player, String limbo) {
+        record(TraceEvent.Type.LIMBO_SPAWN, player, limbo, null);
+    }
+
+    public void limboExit(Player player, String limbo) {
+        record(TraceEvent.Type.LIMBO_EXIT, player, limbo, null);
+    }
+
+    private void record(TraceEvent.Type type, Player player, String target, String text) {
+        Session current = session;
+        if (current == null) {
+            return;
+        }
+        current.offer(new TraceEvent(type, current.now(), player.getUsername(), target, text));
+    }
+
+    private static String sanitizeChat(String message) {
+        if (message.startsWith("/")) {
+            int end = 1;
+            while (end < message.length() && !Character.isWhitespace(message.charAt(end))) {
+                end++;
+            }
+            return truncate(message.substring(0, end));
+        }
+        return "x".repeat(Math.min(message.length(), MAX_TEXT_LENGTH));
+    }
+
+    private static String truncate(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+
+    private final class Session {
+
+        private final Path file;
+        private final long startNanos = System.nanoTime();
+        private final BlockingQueue<TraceEvent> queue;
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Thread writer;
+        private volatile boolean running = true;
+        private long lastMicros;
+
+        private Session(Path file, int queueSize) throws IOException {
+            this.file = file;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+            out.writeInt(TraceFormat.MAGIC);
+            out.writeByte(TraceFormat.VERSION);
+            out.writeLong(System.currentTimeMillis());
+
+            this.writer = new Thread(this::drain, "SimpleLimbo Trace Writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        private long now() {
+            return System.nanoTime() - startNanos;
+        }
+
+        private void offer(TraceEvent event) {
+            if (!queue.offer(event)) {
+                dropped.increment();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (running || !queue.isEmpty()) {
+                    TraceEvent event = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        out.flush();
+                        continue;
+                    }
+                    write(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.error("Failed to write event trace {}, recording stopped: {}", file, e.getMessage());
+                running = false;
+            } finally {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close event trace {}: {}", file, e.getMessage());
+                }
+            }
+        }
+
+        private void write(TraceEvent event) throws IOException {
+            // Events from different threads can reach the queue slightly out of order
+            long micros = Math.max(lastMicros, event.getTimeNanos() / 1000L);
+            out.writeByte(event.getType().ordinal());
+            TraceFormat.writeVarLong(out, micros - lastMicros);
+            lastMicros = micros;
+
+            writeString(event.getPlayer());
+            switch (event.getType()) {
+                case PRE_CONNECT, LIMBO_SPAWN, LIMBO_EXIT -> writeString(event.getTarget());
+                case KICK -> {
+                    writeString(event.getTarget());
+                    writeString(event.getText());
+                }
+                case CHAT -> writeString(event.getText());
+                case DISCONNECT -> {
+                }
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            String text = value == null ? "" : value;
+            Integer id = strings.get(text);
+            if (id != null) {
+                TraceFormat.writeVarLong(out, id);
+                return;
+            }
+            int next = strings.size();
+            strings.put(text, next);
+            TraceFormat.writeVarLong(out, next);
+            out.writeUTF(text);
+        }
+
+        private void close() {
+            running = false;
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
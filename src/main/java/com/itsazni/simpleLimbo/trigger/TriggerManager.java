@@ -1,21 +1,16 @@
 package com.itsazni.simpleLimbo.trigger;
 
 import com.itsazni.simpleLimbo.SimpleLimbo;
-import com.itsazni.simpleLimbo.config.AutoTriggerConfig;
-import com.itsazni.simpleLimbo.util.MessageUtil;
+import com.itsazni.simpleLimbo.config.RuntimeConfig;
+import com.itsazni.simpleLimbo.session.PlayerSession;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 public class TriggerManager {
 
     private final SimpleLimbo plugin;
-    private final Map<UUID, Long> lastActivity = new ConcurrentHashMap<>();
     private ScheduledTask afkTask;
 
     public TriggerManager(SimpleLimbo plugin) {
@@ -24,15 +19,14 @@ public class TriggerManager {
 
     public void start() {
         stop();
-        AutoTriggerConfig.AfkTriggerConfig afk = plugin.getSettings().getAutoTriggers().getAfk();
+        RuntimeConfig.AfkTrigger afk = plugin.getRuntimeConfig().getAfk();
         if (!afk.isEnabled()) {
             return;
         }
 
-        long intervalSeconds = Math.max(1, afk.getCheckInterval());
         afkTask = plugin.getServer().getScheduler()
                 .buildTask(plugin, this::checkAfkPlayers)
-                .repeat(Duration.ofSeconds(intervalSeconds))
+                .repeat(Duration.ofSeconds(afk.getCheckIntervalSeconds()))
                 .schedule();
     }
 
@@ -44,50 +38,39 @@ public class TriggerManager {
     }
 
     public void markActivity(Player player) {
-        lastActivity.put(player.getUniqueId(), System.currentTimeMillis());
-    }
-
-    public void removePlayer(Player player) {
-        lastActivity.remove(player.getUniqueId());
+        plugin.getSessionRegistry().find(player).ifPresent(session -> session.markActivity(System.currentTimeMillis()));
     }
 
     public boolean shouldFallback(String reason) {
-        AutoTriggerConfig.FallbackTriggerConfig fallback = plugin.getSettings().getAutoTriggers().getFallback();
-        if (!fallback.isEnabled()) {
-            return false;
-        }
-
-        String value = reason == null ? "" : reason;
-        for (String pattern : fallback.getKickPatterns()) {
-            if (Pattern.compile(pattern, Pattern.CASE_INSENSITIVE).matcher(value).matches()) {
-                return true;
-            }
-        }
-        return false;
+        return plugin.getRuntimeConfig().getFallback().match(reason) != null;
     }
 
     private void checkAfkPlayers() {
-        AutoTriggerConfig.AfkTriggerConfig afk = plugin.getSettings().getAutoTriggers().getAfk();
+        RuntimeConfig.AfkTrigger afk = plugin.getRuntimeConfig().getAfk();
         if (!afk.isEnabled()) {
             return;
         }
 
         long now = System.currentTimeMillis();
-        long idleMillis = Math.max(1, afk.getIdleTime()) * 1000L;
+        long idleMillis = afk.getIdleMillis();
 
         plugin.getServer().getAllPlayers().forEach(player -> {
-            if (plugin.getLimboManager().isPlayerInLimbo(player)) {
+            PlayerSession session = plugin.getSessionRegistry().find(player).orElse(null);
+            if (session != null && session.isInLimbo()) {
                 return;
             }
             if (player.hasPermission(afk.getExemptPermission())) {
                 return;
             }
 
-            long last = lastActivity.getOrDefault(player.getUniqueId(), now);
+            long last = session == null ? now : session.getLastActivity();
             if (now - last >= idleMillis) {
                 boolean sent = plugin.getLimboManager().sendPlayerToLimbo(player, afk.getLimbo());
-                if (sent && !afk.getMessage().isEmpty()) {
-                    player.sendMessage(MessageUtil.component(afk.getMessage()));
+                if (sent) {
+                    plugin.getMetrics().recordAfkMove();
+                    if (afk.getMessage() != null) {
+                        player.sendMessage(afk.getMessage());
+                    }
                 }
                 markActivity(player);
             }
@@ -0,0 +1,166 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.chunk.Dimension;
+import net.elytrium.limboapi.api.chunk.VirtualBiome;
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
+import net.elytrium.limboapi.api.chunk.VirtualBlockEntity;
+import net.elytrium.limboapi.api.chunk.VirtualChunk;
+import net.elytrium.limboapi.api.chunk.VirtualWorld;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+
+import java.util.List;
+
+/**
+ * Wraps the limbo's world while a world file is loaded and drops everything outside a square of
+ * chunks around the spawn point, so chunks no client can see are never created.
+ */
+public final class ChunkTrimmingWorld implements VirtualWorld {
+
+    private final VirtualWorld delegate;
+    private final int minChunkX;
+    private final int maxChunkX;
+    private final int minChunkZ;
+    private final int maxChunkZ;
+    private long keptBlocks;
+    private long droppedBlocks;
+
+    /**
+     * @param radius chunks kept on each side of the spawn chunk
+     */
+    public ChunkTrimmingWorld(VirtualWorld delegate, double spawnX, double spawnZ, int radius) {
+        this.delegate = delegate;
+        int spawnChunkX = (int) Math.floor(spawnX) >> 4;
+        int spawnChunkZ = (int) Math.floor(spawnZ) >> 4;
+        this.minChunkX = spawnChunkX - radius;
+        this.maxChunkX = spawnChunkX + radius;
+        this.minChunkZ = spawnChunkZ - radius;
+        this.maxChunkZ = spawnChunkZ + radius;
+    }
+
+    private boolean keeps(int x, int z) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+    }
+
+    public long getKeptBlocks() {
+        return keptBlocks;
+    }
+
+    public long getDroppedBlocks() {
+        return droppedBlocks;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, VirtualBlock block) {
+        if (keeps(x, z)) {
+            keptBlocks++;
+            delegate.setBlock(x, y, z, block);
+        } else {
+            droppedBlocks++;
+        }
+    }
+
+    @Override
+    public void setBlockEntity(int x, int y, int z, CompoundBinaryTag nbt, VirtualBlockEntity blockEntity) {
+        if (keeps(x, z)) {
+            delegate.setBlockEntity(x, y, z, nbt, blockEntity);
+        }
+    }
+
+    @Override
+    public VirtualBlock getBlock(int x, int y, int z) {
+        return delegate.getBlock(x, y, z);
+    }
+
+    @Override
+    public void setBiome2d(int x, int z, VirtualBiome biome) {
+        if (keeps(x, z)) {
+            delegate.setBiome2d(x, z, biome);
+        }
+    }
+
+    @Override
+    public void setBiome3d(int x, int y, int z, VirtualBiome biome) {
+        if (keeps(x, z)) {
+            delegate.setBiome3d(x, y, z, biome);
+        }
+    }
+
+    @Override
+    public VirtualBiome getBiome(int x, int y, int z) {
+        return delegate.getBiome(x, y, z);
+    }
+
+    @Override
+    public byte getBlockLight(int x, int y, int z) {
+        return delegate.getBlockLight(x, y, z);
+    }
+
+    @Override
+    public void setBlockLight(int x, int y, int z, byte light) {
+        if (keeps(x, z)) {
+            delegate.setBlockLight(x, y, z, light);
+        }
+    }
+
+    @Override
+    public void fillBlockLight(int level) {
+        delegate.fillBlockLight(level);
+    }
+
+    @Override
+    public void fillSkyLight(int level) {
+        delegate.fillSkyLight(level);
+    }
+
+    @Override
+    public List<VirtualChunk> getChunks() {
+        return delegate.getChunks();
+    }
+
+    @Override
+    public List<List<VirtualChunk>> getOrderedChunks() {
+        return delegate.getOrderedChunks();
+    }
+
+    @Override
+    public VirtualChunk getChunk(int x, int z) {
+        return delegate.getChunk(x, z);
+    }
+
+    @Override
+    public VirtualChunk getChunkOrNew(int x, int z) {
+        return delegate.getChunkOrNew(x, z);
+    }
+
+    @Override
+    public Dimension getDimension() {
+        return delegate.getDimension();
+    }
+
+    @Override
+    public double getSpawnX() {
+        return delegate.getSpawnX();
+    }
+
+    @Override
+    public double getSpawnY() {
+        return delegate.getSpawnY();
+    }
+
+    @Override
+    public double getSpawnZ() {
+        return delegate.getSpawnZ();
+    }
+
+    @Override
+    public float getYaw() {
+        return delegate.getYaw();
+    }
+
+    @Override
+    public float getPitch() {
+        return delegate.getPitch();
+    }
+}
@@ -0,0 +1,63 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
+
+/**
+ * Compact world layout, shared by {@link CompactWorldWriter} and {@link CompactWorldReader}.
+ *
+ * <pre>
+ * header:  int magic "SLWD", byte version, UTF LimboAPI version, int section count, int block entity count
+ * section: int x, int y, int z (section coordinates), short palette size, palette of (short modern block id, byte flags),
+ *          byte bits per entry, packed indices (index 0 means no block)
+ * entity:  int x, int y, int z, UTF block entity id, NBT compound
+ * </pre>
+ *
+ * The whole file is gzip compressed. Indices are packed into longs without spanning two
+ * longs, in y, z, x order. Block ids are LimboAPI's modern ids, which may change between
+ * LimboAPI versions, so a file is only used with the version that wrote it.
+ */
+final class CompactWorldFormat {
+
+    static final int MAGIC = 0x534C5744;
+    static final byte VERSION = 1;
+    static final String EXTENSION = ".slworld";
+
+    static final int SECTION_SIZE = 16 * 16 * 16;
+
+    static final byte FLAG_SOLID = 1;
+    static final byte FLAG_AIR = 2;
+    static final byte FLAG_MOTION_BLOCKING = 4;
+
+    private CompactWorldFormat() {
+    }
+
+    /**
+     * @param entries palette size including the empty entry
+     */
+    static int bitsFor(int entries) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(entries - 1));
+    }
+
+    static int longsFor(int bits) {
+        int perLong = 64 / bits;
+        return (SECTION_SIZE + perLong - 1) / perLong;
+    }
+
+    static byte flags(VirtualBlock block) {
+        int flags = 0;
+        if (block.isSolid()) {
+            flags |= FLAG_SOLID;
+        }
+        if (block.isAir()) {
+            flags |= FLAG_AIR;
+        }
+        if (block.isMotionBlocking()) {
+            flags |= FLAG_MOTION_BLOCKING;
+        }
+        return (byte) flags;
+    }
+
+    static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+}
@@ -0,0 +1,117 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
+import net.elytrium.limboapi.api.chunk.VirtualBlockEntity;
+import net.elytrium.limboapi.api.chunk.VirtualWorld;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a compact world file (see {@link CompactWorldFormat}) into a {@link VirtualWorld}.
+ * Only one section is decoded at a time, and each block id is resolved once per file.
+ */
+public final class CompactWorldReader {
+
+    private CompactWorldReader() {
+    }
+
+    /**
+     * Place the file's blocks and block entities into {@code world}, shifted by the offset.
+     *
+     * @return number of blocks placed
+     * @throws IOException if the file is unreadable or was written for another LimboAPI version
+     */
+    public static int load(Path file, LimboFactory factory, VirtualWorld world, int offsetX, int offsetY, int offsetZ,
+                           String limboApiVersion) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (in.readInt() != CompactWorldFormat.MAGIC) {
+                throw new IOException("Not a compact world file: " + file);
+            }
+            byte version = in.readByte();
+            if (version != CompactWorldFormat.VERSION) {
+                throw new IOException("Unsupported compact world version " + version);
+            }
+            String writtenWith = in.readUTF();
+            if (!writtenWith.equals(limboApiVersion)) {
+                throw new IOException("Written with LimboAPI " + writtenWith + ", running " + limboApiVersion);
+            }
+
+            int sectionCount = in.readInt();
+            int blockEntityCount = in.readInt();
+            Map<Short, VirtualBlock> blocks = new HashMap<>();
+            int[] indices = new int[CompactWorldFormat.SECTION_SIZE];
+            int placed = 0;
+
+            for (int s = 0; s < sectionCount; s++) {
+                int baseX = (in.readInt() << 4) + offsetX;
+                int baseY = (in.readInt() << 4) + offsetY;
+                int baseZ = (in.readInt() << 4) + offsetZ;
+
+                VirtualBlock[] palette = new VirtualBlock[in.readUnsignedShort() + 1];
+                for (int slot = 1; slot < palette.length; slot++) {
+                    short id = in.readShort();
+                    byte flags = in.readByte();
+                    palette[slot] = blocks.computeIfAbsent(id, key -> factory.createSimpleBlock(
+                            (flags & CompactWorldFormat.FLAG_SOLID) != 0,
+                            (flags & CompactWorldFormat.FLAG_AIR) != 0,
+                            (flags & CompactWorldFormat.FLAG_MOTION_BLOCKING) != 0,
+                            key));
+                }
+                readIndices(in, indices, palette.length);
+
+                for (int i = 0; i < indices.length; i++) {
+                    int slot = indices[i];
+                    if (slot != 0) {
+                        world.setBlock(baseX + (i & 15), baseY + (i >> 8), baseZ + ((i >> 4) & 15), palette[slot]);
+                        placed++;
+                    }
+                }
+            }
+
+            BinaryTagIO.Reader nbtReader = BinaryTagIO.unlimitedReader();
+            for (int e = 0; e < blockEntityCount; e++) {
+                int x = in.readInt() + offsetX;
+                int y = in.readInt() + offsetY;
+                int z = in.readInt() + offsetZ;
+                VirtualBlockEntity blockEntity = factory.getBlockEntity(in.readUTF());
+                CompoundBinaryTag nbt = nbtReader.read(in);
+                if (blockEntity != null) {
+                    world.setBlockEntity(x, y, z, nbt, blockEntity);
+                }
+            }
+            return placed;
+        }
+    }
+
+    private static void readIndices(DataInputStream in, int[] indices, int paletteSize) throws IOException {
+        int bits = in.readUnsignedByte();
+        if (bits != CompactWorldFormat.bitsFor(paletteSize)) {
+            throw new IOException("Corrupt section: " + bits + " bits for " + paletteSize + " palette entries");
+        }
+        int perLong = 64 / bits;
+        long mask = (1L << bits) - 1;
+        int longs = CompactWorldFormat.longsFor(bits);
+        for (int l = 0; l < longs; l++) {
+            long packed = in.readLong();
+            int base = l * perLong;
+            for (int j = 0; j < perLong && base + j < indices.length; j++) {
+                int slot = (int) ((packed >>> (j * bits)) & mask);
+                if (slot >= paletteSize) {
+                    throw new IOException("Corrupt section: palette index " + slot + " out of range");
+                }
+                indices[base + j] = slot;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.file.BuiltInWorldFileType;
+import net.kyori.adventure.nbt.BinaryTagIO;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Converts a schematic or structure file into the compact format, see {@link CompactWorldFormat}.
+ */
+public final class CompactWorldWriter {
+
+    private CompactWorldWriter() {
+    }
+
+    /**
+     * Path of the compact file for a world file: the same name with the {@code .slworld} extension.
+     */
+    public static Path compactPath(Path source) {
+        String fileName = source.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return source.resolveSibling(base + CompactWorldFormat.EXTENSION);
+    }
+
+    /**
+     * Load {@code source} with LimboAPI once and write it to {@link #compactPath(Path)}.
+     * The file is replaced atomically, so a limbo loading it meanwhile sees the old or new one.
+     */
+    public static ImportSummary importWorld(LimboFactory factory, BuiltInWorldFileType type, Path source,
+                                            String limboApiVersion) throws IOException {
+        long start = System.nanoTime();
+        SectionRecorder recorder = new SectionRecorder(factory);
+        // Blocks are recorded at the origin; the limbo's offset is applied when loading
+        WorldFiles.open(factory, type, source).toWorld(factory, recorder, 0, 0, 0, 15);
+
+        List<SectionRecorder.Section> sections = new ArrayList<>();
+        for (SectionRecorder.Section section : recorder.getSections()) {
+            for (char block : section.blocks) {
+                if (block != 0) {
+                    sections.add(section);
+                    break;
+                }
+            }
+        }
+
+        Path target = compactPath(source);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)))) {
+            out.writeInt(CompactWorldFormat.MAGIC);
+            out.writeByte(CompactWorldFormat.VERSION);
+            out.writeUTF(limboApiVersion);
+            out.writeInt(sections.size());
+            out.writeInt(recorder.getBlockEntities().size());
+
+            for (SectionRecorder.Section section : sections) {
+                writeSection(out, recorder, section);
+            }
+
+            BinaryTagIO.Writer nbtWriter = BinaryTagIO.writer();
+            for (SectionRecorder.BlockEntity entity : recorder.getBlockEntities()) {
+                out.writeInt(entity.x);
+                out.writeInt(entity.y);
+                out.writeInt(entity.z);
+                out.writeUTF(entity.id);
+                nbtWriter.write(entity.nbt, out);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return new ImportSummary(target, sections.size(), recorder.getBlockCount(), recorder.getBlockEntities().size(),
+                Files.size(source), Files.size(target), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private static void writeSection(DataOutputStream out, SectionRecorder recorder, SectionRecorder.Section section)
+            throws IOException {
+        // Palette slot 0 is the empty entry, so stored values map to slots 1..n
+        char[] palette = new char[16];
+        int paletteSize = 1;
+        int[] indices = new int[CompactWorldFormat.SECTION_SIZE];
+        for (int i = 0; i < indices.length; i++) {
+            char block = section.blocks[i];
+            if (block == 0) {
+                continue;
+            }
+            int slot = 1;
+            while (slot < paletteSize && palette[slot] != block) {
+                slot++;
+            }
+            if (slot == paletteSize) {
+                if (paletteSize == palette.length) {
+                    palette = Arrays.copyOf(palette, palette.length * 2);
+                }
+                palette[paletteSize++] = block;
+            }
+            indices[i] = slot;
+        }
+
+        out.writeInt(section.x);
+        out.writeInt(section.y);
+        out.writeInt(section.z);
+        out.writeShort(paletteSize - 1);
+        for (int slot = 1; slot < paletteSize; slot++) {
+            short id = (short) (palette[slot] - 1);
+            out.writeShort(id);
+            out.writeByte(recorder.getFlags(id));
+        }
+
+        int bits = CompactWorldFormat.bitsFor(paletteSize);
+        int perLong = 64 / bits;
+        int longs = CompactWorldFormat.longsFor(bits);
+        out.writeByte(bits);
+        for (int l = 0; l < longs; l++) {
+            long packed = 0;
+            int base = l * perLong;
+            for (int j = 0; j < perLong && base + j < indices.length; j++) {
+                packed |= (long) indices[base + j] << (j * bits);
+            }
+            out.writeLong(packed);
+        }
+    }
+}
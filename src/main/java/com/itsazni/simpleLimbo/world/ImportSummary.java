@@ -0,0 +1,56 @@
+package com.itsazni.simpleLimbo.world;
+
+import java.nio.file.Path;
+
+/**
+ * Result of converting a world file with {@link CompactWorldWriter}.
+ */
+public final class ImportSummary {
+
+    private final Path file;
+    private final int sections;
+    private final int blocks;
+    private final int blockEntities;
+    private final long sourceBytes;
+    private final long compactBytes;
+    private final long durationMillis;
+
+    ImportSummary(Path file, int sections, int blocks, int blockEntities, long sourceBytes, long compactBytes,
+                  long durationMillis) {
+        this.file = file;
+        this.sections = sections;
+        this.blocks = blocks;
+        this.blockEntities = blockEntities;
+        this.sourceBytes = sourceBytes;
+        this.compactBytes = compactBytes;
+        this.durationMillis = durationMillis;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getSections() {
+        return sections;
+    }
+
+    public int getBlocks() {
+        return blocks;
+    }
+
+    public int getBlockEntities() {
+        return blockEntities;
+    }
+
+    public long getSourceBytes() {
+        return sourceBytes;
+    }
+
+    public long getCompactBytes() {
+        return compactBytes;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
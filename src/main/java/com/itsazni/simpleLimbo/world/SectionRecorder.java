@@ -0,0 +1,366 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.chunk.Dimension;
+import net.elytrium.limboapi.api.chunk.VirtualBiome;
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
+import net.elytrium.limboapi.api.chunk.VirtualBlockEntity;
+import net.elytrium.limboapi.api.chunk.VirtualChunk;
+import net.elytrium.limboapi.api.chunk.VirtualWorld;
+import net.elytrium.limboapi.api.chunk.data.ChunkSnapshot;
+import net.elytrium.limboapi.api.material.Block;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link VirtualWorld} that LimboAPI's world file loaders place blocks into, keeping only what
+ * {@link CompactWorldWriter} needs: block ids per 16x16x16 section and block entities. Air is not
+ * stored.
+ *
+ * Reads are answered from the recorded sections, so a loader that looks at blocks it placed or
+ * walks the chunks sees them. Chunks are views over the sections, addressed by block coordinates
+ * like LimboAPI's own world. Light is not recorded per block: light reads return the last fill
+ * level and biomes are kept per chunk column. Only chunk snapshots are not available: LimboAPI
+ * builds those to send a limbo's chunks to players, and the recorder is never sent.
+ */
+final class SectionRecorder implements VirtualWorld {
+
+    private final VirtualBlock air;
+    private final Map<Long, Section> sections = new LinkedHashMap<>();
+    private final Map<Short, VirtualBlock> blocksById = new HashMap<>();
+    private final Map<Long, VirtualBiome> biomes = new HashMap<>();
+    private final List<BlockEntity> blockEntities = new ArrayList<>();
+    private int blockCount;
+    private byte skyLight;
+    private byte blockLight;
+
+    SectionRecorder(LimboFactory factory) {
+        this.air = factory.createSimpleBlock(Block.AIR);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, VirtualBlock block) {
+        int sectionX = x >> 4;
+        int sectionY = y >> 4;
+        int sectionZ = z >> 4;
+        long key = sectionKey(sectionX, sectionY, sectionZ);
+        Section section = sections.get(key);
+        if (section == null) {
+            if (block == null || block.isAir()) {
+                return;
+            }
+            section = new Section(sectionX, sectionY, sectionZ);
+            sections.put(key, section);
+        }
+
+        int index = CompactWorldFormat.index(x & 15, y & 15, z & 15);
+        // Stored as id + 1 so that 0 can mean no block
+        char value = 0;
+        if (block != null && !block.isAir()) {
+            value = (char) (block.getModernID() + 1);
+            blocksById.putIfAbsent(block.getModernID(), block);
+        }
+        char previous = section.blocks[index];
+        if (previous == 0 && value != 0) {
+            blockCount++;
+        } else if (previous != 0 && value == 0) {
+            blockCount--;
+        }
+        section.blocks[index] = value;
+    }
+
+    @Override
+    public VirtualBlock getBlock(int x, int y, int z) {
+        Section section = sections.get(sectionKey(x >> 4, y >> 4, z >> 4));
+        if (section == null) {
+            return air;
+        }
+        char value = section.blocks[CompactWorldFormat.index(x & 15, y & 15, z & 15)];
+        return value == 0 ? air : blocksById.get((short) (value - 1));
+    }
+
+    @Override
+    public void setBlockEntity(int x, int y, int z, CompoundBinaryTag nbt, VirtualBlockEntity blockEntity) {
+        if (blockEntity != null) {
+            blockEntities.add(new BlockEntity(x, y, z, blockEntity.getModernID(), nbt));
+        }
+    }
+
+    @Override
+    public void fillSkyLight(int level) {
+        // Light is applied from the limbo config when the compact file is loaded
+        skyLight = (byte) level;
+    }
+
+    @Override
+    public void fillBlockLight(int level) {
+        blockLight = (byte) level;
+    }
+
+    byte getFlags(short id) {
+        VirtualBlock block = blocksById.get(id);
+        return block == null ? CompactWorldFormat.FLAG_SOLID : CompactWorldFormat.flags(block);
+    }
+
+    Collection<Section> getSections() {
+        return sections.values();
+    }
+
+    List<BlockEntity> getBlockEntities() {
+        return blockEntities;
+    }
+
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    @Override
+    public void setBiome2d(int x, int z, VirtualBiome biome) {
+        biomes.put(columnKey(x >> 4, z >> 4), biome);
+    }
+
+    @Override
+    public void setBiome3d(int x, int y, int z, VirtualBiome biome) {
+        setBiome2d(x, z, biome);
+    }
+
+    /**
+     * The biome last set in this chunk column, or null if the loader set none there.
+     */
+    @Override
+    public VirtualBiome getBiome(int x, int y, int z) {
+        return biomes.get(columnKey(x >> 4, z >> 4));
+    }
+
+    @Override
+    public byte getBlockLight(int x, int y, int z) {
+        return blockLight;
+    }
+
+    @Override
+    public void setBlockLight(int x, int y, int z, byte light) {
+    }
+
+    @Override
+    public List<VirtualChunk> getChunks() {
+        Map<Long, VirtualChunk> chunks = new LinkedHashMap<>();
+        for (Section section : sections.values()) {
+            chunks.computeIfAbsent(columnKey(section.x, section.z), key -> new RecordedChunk(section.x, section.z));
+        }
+        return new ArrayList<>(chunks.values());
+    }
+
+    /**
+     * Chunks grouped by their distance in chunks from the origin, nearest first.
+     */
+    @Override
+    public List<List<VirtualChunk>> getOrderedChunks() {
+        List<List<VirtualChunk>> rings = new ArrayList<>();
+        for (VirtualChunk chunk : getChunks()) {
+            int distance = Math.max(Math.abs(chunk.getPosX()), Math.abs(chunk.getPosZ()));
+            while (rings.size() <= distance) {
+                rings.add(new ArrayList<>());
+            }
+            rings.get(distance).add(chunk);
+        }
+        rings.removeIf(List::isEmpty);
+        return rings;
+    }
+
+    @Override
+    public VirtualChunk getChunk(int x, int z) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        for (Section section : sections.values()) {
+            if (section.x == chunkX && section.z == chunkZ) {
+                return new RecordedChunk(chunkX, chunkZ);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public VirtualChunk getChunkOrNew(int x, int z) {
+        return new RecordedChunk(x >> 4, z >> 4);
+    }
+
+    /**
+     * The compact format does not store a dimension; it comes from the limbo config on load.
+     */
+    @Override
+    public Dimension getDimension() {
+        return Dimension.OVERWORLD;
+    }
+
+    @Override
+    public double getSpawnX() {
+        return 0;
+    }
+
+    @Override
+    public double getSpawnY() {
+        return 0;
+    }
+
+    @Override
+    public double getSpawnZ() {
+        return 0;
+    }
+
+    @Override
+    public float getYaw() {
+        return 0;
+    }
+
+    @Override
+    public float getPitch() {
+        return 0;
+    }
+
+    private static long sectionKey(int sectionX, int sectionY, int sectionZ) {
+        return ((long) (sectionX & 0x1FFFFF) << 42) | ((long) (sectionY & 0x1FFFFF) << 21) | (sectionZ & 0x1FFFFF);
+    }
+
+    private static long columnKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * One chunk column of the recorder. Block positions are relative to the chunk, block entity
+     * positions are world positions, as in LimboAPI's chunks.
+     */
+    private final class RecordedChunk implements VirtualChunk {
+
+        private final int chunkX;
+        private final int chunkZ;
+
+        RecordedChunk(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, VirtualBlock block) {
+            SectionRecorder.this.setBlock((chunkX << 4) + x, y, (chunkZ << 4) + z, block);
+        }
+
+        @Override
+        public VirtualBlock getBlock(int x, int y, int z) {
+            return SectionRecorder.this.getBlock((chunkX << 4) + x, y, (chunkZ << 4) + z);
+        }
+
+        @Override
+        public void setBlockEntity(int x, int y, int z, CompoundBinaryTag nbt, VirtualBlockEntity blockEntity) {
+            SectionRecorder.this.setBlockEntity(x, y, z, nbt, blockEntity);
+        }
+
+        @Override
+        public void setBlockEntity(VirtualBlockEntity.Entry entry) {
+            SectionRecorder.this.setBlockEntity(entry.getPosX(), entry.getPosY(), entry.getPosZ(), entry.getNbt(),
+                    entry.getBlockEntity());
+        }
+
+        @Override
+        public void setBiome2D(int x, int z, VirtualBiome biome) {
+            SectionRecorder.this.setBiome2d((chunkX << 4) + x, (chunkZ << 4) + z, biome);
+        }
+
+        @Override
+        public void setBiome3D(int x, int y, int z, VirtualBiome biome) {
+            setBiome2D(x, z, biome);
+        }
+
+        @Override
+        public VirtualBiome getBiome(int x, int y, int z) {
+            return biomes.get(columnKey(chunkX, chunkZ));
+        }
+
+        @Override
+        public void setBlockLight(int x, int y, int z, byte light) {
+        }
+
+        @Override
+        public byte getBlockLight(int x, int y, int z) {
+            return blockLight;
+        }
+
+        @Override
+        public void setSkyLight(int x, int y, int z, byte light) {
+        }
+
+        @Override
+        public byte getSkyLight(int x, int y, int z) {
+            return skyLight;
+        }
+
+        @Override
+        public void fillBlockLight(int level) {
+            SectionRecorder.this.fillBlockLight(level);
+        }
+
+        @Override
+        public void fillSkyLight(int level) {
+            SectionRecorder.this.fillSkyLight(level);
+        }
+
+        @Override
+        public int getPosX() {
+            return chunkX;
+        }
+
+        @Override
+        public int getPosZ() {
+            return chunkZ;
+        }
+
+        @Override
+        public ChunkSnapshot getFullChunkSnapshot() {
+            throw noSnapshots();
+        }
+
+        @Override
+        public ChunkSnapshot getPartialChunkSnapshot(long previousUpdate) {
+            throw noSnapshots();
+        }
+
+        private UnsupportedOperationException noSnapshots() {
+            return new UnsupportedOperationException("Chunk snapshots are built for sending a limbo's chunks;"
+                    + " the world import only records blocks and cannot be sent");
+        }
+    }
+
+    static final class Section {
+        final int x;
+        final int y;
+        final int z;
+        final char[] blocks = new char[CompactWorldFormat.SECTION_SIZE];
+
+        Section(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    static final class BlockEntity {
+        final int x;
+        final int y;
+        final int z;
+        final String id;
+        final CompoundBinaryTag nbt;
+
+        BlockEntity(int x, int y, int z, String id, CompoundBinaryTag nbt) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.id = id;
+            this.nbt = nbt;
+        }
+    }
+}
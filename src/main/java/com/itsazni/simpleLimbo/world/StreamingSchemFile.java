@@ -0,0 +1,316 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.chunk.VirtualBlock;
+import net.elytrium.limboapi.api.chunk.VirtualBlockEntity;
+import net.elytrium.limboapi.api.chunk.VirtualWorld;
+import net.elytrium.limboapi.api.file.WorldFile;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.NumberBinaryTag;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sponge schematic (.schem, versions 2 and 3) loader that places blocks while the file is read.
+ *
+ * LimboAPI's loader reads the whole NBT tree and then expands the block data into an int per
+ * block before placing anything. Here the tree is walked tag by tag; only the palette and single
+ * block entities are read with adventure-nbt, and the block data is decoded from a small buffer
+ * straight into the world. If the block data comes before the palette or size in the file, it is
+ * spooled to a temporary file instead of memory.
+ */
+public final class StreamingSchemFile implements WorldFile {
+
+    private static final int TAG_END = 0;
+    private static final int TAG_BYTE = 1;
+    private static final int TAG_SHORT = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_BYTE_ARRAY = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_COMPOUND = 10;
+    private static final int TAG_INT_ARRAY = 11;
+    private static final int TAG_LONG_ARRAY = 12;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    public StreamingSchemFile(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void toWorld(LimboFactory factory, VirtualWorld world, int offsetX, int offsetY, int offsetZ, int lightLevel) {
+        Placement placement = new Placement(factory, world, offsetX, offsetY, offsetZ);
+        try (DataInputStream in = new DataInputStream(open(file))) {
+            if (in.readUnsignedByte() != TAG_COMPOUND) {
+                throw new IOException("Not an NBT compound: " + file);
+            }
+            in.readUTF();
+            readCompound(in, placement);
+
+            if (placement.spool != null) {
+                placement.placeSpooled();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read schematic " + file, e);
+        } finally {
+            placement.deleteSpool();
+        }
+
+        if (placement.width == 0) {
+            throw new IllegalArgumentException("Invalid schematic, no size found: " + file);
+        }
+        world.fillSkyLight(lightLevel);
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        in.mark(2);
+        int magic = in.read() | (in.read() << 8);
+        in.reset();
+        // Schematics are normally gzip compressed, but plain NBT is accepted as well
+        return magic == 0x8B1F ? new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE) : in;
+    }
+
+    /**
+     * Walk a compound, handling the keys of both schematic versions. Version 3 nests everything
+     * under "Schematic" and the block keys under "Blocks", so those are walked the same way.
+     */
+    private static void readCompound(DataInputStream in, Placement placement) throws IOException {
+        int type;
+        while ((type = in.readUnsignedByte()) != TAG_END) {
+            String name = in.readUTF();
+            switch (name) {
+                case "Schematic", "Blocks" -> {
+                    if (type != TAG_COMPOUND) {
+                        skip(in, type);
+                    } else {
+                        readCompound(in, placement);
+                    }
+                }
+                case "Width" -> placement.width = readDimension(in, type);
+                case "Height" -> placement.height = readDimension(in, type);
+                case "Length" -> placement.length = readDimension(in, type);
+                case "Palette" -> {
+                    if (type != TAG_COMPOUND) {
+                        skip(in, type);
+                    } else {
+                        placement.setPalette(BinaryTagTypes.COMPOUND.read(in));
+                    }
+                }
+                case "BlockData", "Data" -> {
+                    if (type != TAG_BYTE_ARRAY) {
+                        skip(in, type);
+                    } else {
+                        placement.readBlockData(in, in.readInt());
+                    }
+                }
+                case "BlockEntities" -> readBlockEntities(in, type, placement);
+                default -> skip(in, type);
+            }
+        }
+    }
+
+    private static int readDimension(DataInputStream in, int type) throws IOException {
+        if (type != TAG_SHORT) {
+            throw new IOException("Unexpected tag type " + type + " for schematic size");
+        }
+        return in.readUnsignedShort();
+    }
+
+    private static void readBlockEntities(DataInputStream in, int type, Placement placement) throws IOException {
+        if (type != TAG_LIST) {
+            skip(in, type);
+            return;
+        }
+        int elementType = in.readUnsignedByte();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            if (elementType == TAG_COMPOUND) {
+                placement.placeBlockEntity(BinaryTagTypes.COMPOUND.read(in));
+            } else {
+                skip(in, elementType);
+            }
+        }
+    }
+
+    private static void skip(DataInputStream in, int type) throws IOException {
+        switch (type) {
+            case TAG_END -> {
+            }
+            case TAG_BYTE -> in.skipNBytes(1);
+            case TAG_SHORT -> in.skipNBytes(2);
+            case TAG_INT, TAG_FLOAT -> in.skipNBytes(4);
+            case TAG_LONG, TAG_DOUBLE -> in.skipNBytes(8);
+            case TAG_BYTE_ARRAY -> in.skipNBytes(in.readInt());
+            case TAG_STRING -> in.skipNBytes(in.readUnsignedShort());
+            case TAG_INT_ARRAY -> in.skipNBytes(4L * in.readInt());
+            case TAG_LONG_ARRAY -> in.skipNBytes(8L * in.readInt());
+            case TAG_LIST -> {
+                int elementType = in.readUnsignedByte();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    skip(in, elementType);
+                }
+            }
+            case TAG_COMPOUND -> {
+                int child;
+                while ((child = in.readUnsignedByte()) != TAG_END) {
+                    in.skipNBytes(in.readUnsignedShort());
+                    skip(in, child);
+                }
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static final class Placement {
+        private final LimboFactory factory;
+        private final VirtualWorld world;
+        private final int offsetX;
+        private final int offsetY;
+        private final int offsetZ;
+
+        private int width;
+        private int height;
+        private int length;
+        private VirtualBlock[] palette;
+        private Path spool;
+        private int spoolBytes;
+
+        private int index;
+        private int varint;
+        private int shift;
+
+        Placement(LimboFactory factory, VirtualWorld world, int offsetX, int offsetY, int offsetZ) {
+            this.factory = factory;
+            this.world = world;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+        }
+
+        void setPalette(CompoundBinaryTag tag) {
+            int size = 0;
+            for (Map.Entry<String, ? extends BinaryTag> entry : tag) {
+                size = Math.max(size, ((NumberBinaryTag) entry.getValue()).intValue() + 1);
+            }
+            VirtualBlock[] blocks = new VirtualBlock[size];
+            for (Map.Entry<String, ? extends BinaryTag> entry : tag) {
+                blocks[((NumberBinaryTag) entry.getValue()).intValue()] = factory.createSimpleBlock(entry.getKey());
+            }
+            this.palette = blocks;
+        }
+
+        void readBlockData(DataInputStream in, int bytes) throws IOException {
+            if (palette == null || width == 0 || height == 0 || length == 0) {
+                spool(in, bytes);
+                return;
+            }
+            decode(in, bytes);
+        }
+
+        void placeSpooled() throws IOException {
+            if (palette == null) {
+                throw new IOException("Schematic has block data but no palette");
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spool), BUFFER_SIZE))) {
+                decode(in, spoolBytes);
+            }
+        }
+
+        void deleteSpool() {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException e) {
+                    // Temp file, nothing to do
+                }
+            }
+        }
+
+        void placeBlockEntity(CompoundBinaryTag tag) {
+            int[] pos = tag.getIntArray("Pos");
+            if (pos.length < 3) {
+                return;
+            }
+            VirtualBlockEntity blockEntity = factory.getBlockEntity(tag.getString("Id"));
+            if (blockEntity != null) {
+                world.setBlockEntity(pos[0] + offsetX, pos[1] + offsetY, pos[2] + offsetZ, tag, blockEntity);
+            }
+        }
+
+        private void spool(DataInputStream in, int bytes) throws IOException {
+            spool = Files.createTempFile("simplelimbo-schem", ".tmp");
+            spoolBytes = bytes;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (OutputStream out = Files.newOutputStream(spool)) {
+                int remaining = bytes;
+                while (remaining > 0) {
+                    int read = Math.min(remaining, buffer.length);
+                    in.readFully(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+        }
+
+        /**
+         * Decode varint palette indices in slices of the buffer size, placing each block as soon as
+         * its varint is complete. Blocks are stored in y, z, x order.
+         */
+        private void decode(DataInputStream in, int bytes) throws IOException {
+            int layer = width * length;
+            int total = layer * height;
+            byte[] buffer = new byte[Math.min(bytes, BUFFER_SIZE)];
+            int remaining = bytes;
+            while (remaining > 0) {
+                int read = Math.min(remaining, buffer.length);
+                in.readFully(buffer, 0, read);
+                remaining -= read;
+
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    varint |= (b & 0x7F) << shift;
+                    if ((b & 0x80) != 0) {
+                        shift += 7;
+                        if (shift > 28) {
+                            throw new IOException("Malformed varint in block data");
+                        }
+                        continue;
+                    }
+
+                    if (index >= total) {
+                        throw new IOException("Block data is longer than the schematic size");
+                    }
+                    if (varint >= palette.length || palette[varint] == null) {
+                        throw new IOException("Block data references unknown palette index " + varint);
+                    }
+                    int y = index / layer;
+                    int rest = index - y * layer;
+                    int z = rest / width;
+                    int x = rest - z * width;
+                    world.setBlock(x + offsetX, y + offsetY, z + offsetZ, palette[varint]);
+                    index++;
+                    varint = 0;
+                    shift = 0;
+                }
+            }
+        }
+    }
+}
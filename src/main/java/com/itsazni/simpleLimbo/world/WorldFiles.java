@@ -0,0 +1,25 @@
+package com.itsazni.simpleLimbo.world;
+
+import net.elytrium.limboapi.api.LimboFactory;
+import net.elytrium.limboapi.api.file.BuiltInWorldFileType;
+import net.elytrium.limboapi.api.file.WorldFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public final class WorldFiles {
+
+    private WorldFiles() {
+    }
+
+    /**
+     * Open a world file, streaming Sponge schematics with {@link StreamingSchemFile}
+     * and leaving the other formats to LimboAPI.
+     */
+    public static WorldFile open(LimboFactory factory, BuiltInWorldFileType type, Path path) throws IOException {
+        if (type == BuiltInWorldFileType.WORLDEDIT_SCHEM) {
+            return new StreamingSchemFile(path);
+        }
+        return factory.openWorldFile(type, path);
+    }
+}
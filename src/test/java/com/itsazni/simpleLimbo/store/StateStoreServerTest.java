@@ -0,0 +1,195 @@
+package com.itsazni.simpleLimbo.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Network stores talking through an in-process {@link StateStoreServer} on a loopback port.
+ */
+class StateStoreServerTest {
+
+    private static final String SECRET = "test-secret";
+    // Covers the stores' fixed reconnect delay
+    private static final long TIMEOUT_MS = 15000;
+
+    private final List<StateStore> stores = new ArrayList<>();
+    private StateStoreServer server;
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(StateStore::close);
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void replicatesMembersAndQueues() throws Exception {
+        startServer(0);
+        StateStore a = connect("a", SECRET);
+        StateStore b = connect("b", SECRET);
+
+        UUID player = UUID.randomUUID();
+        a.addMember("limbo", player);
+        a.enqueue("queue", new QueueTicket(player, 1, 100, "a"));
+        await(() -> b.getMemberCount("limbo") == 1 && b.getQueue("queue").size() == 1);
+        assertEquals("a", b.getQueue("queue").get(0).getProxy());
+
+        a.removeMember("limbo", player);
+        a.dequeue("queue", player);
+        await(() -> b.getMemberCount("limbo") == 0 && b.getQueue("queue").isEmpty());
+    }
+
+    @Test
+    void latecomerReceivesSnapshot() throws Exception {
+        startServer(0);
+        StateStore a = connect("a", SECRET);
+        a.addMember("limbo", UUID.randomUUID());
+        await(() -> serverHas("limbo", 1));
+
+        StateStore b = connect("b", SECRET);
+        await(() -> b.getMemberCount("limbo") == 1);
+    }
+
+    @Test
+    void disconnectedProxyEntriesAreDropped() throws Exception {
+        startServer(0);
+        StateStore a = connect("a", SECRET);
+        StateStore b = connect("b", SECRET);
+        a.addMember("limbo", UUID.randomUUID());
+        b.addMember("limbo", UUID.randomUUID());
+        await(() -> a.getMemberCount("limbo") == 2 && b.getMemberCount("limbo") == 2);
+
+        a.close();
+        await(() -> b.getMemberCount("limbo") == 1);
+
+        // The server forgot them too, so a new proxy only sees b's entry
+        StateStore c = connect("c", SECRET);
+        await(() -> c.getMemberCount("limbo") == 1);
+    }
+
+    @Test
+    void reconnectKeepsOwnEntriesAndResendsThem() throws Exception {
+        startServer(0);
+        int port = server.getPort();
+        StateStore a = connect("a", SECRET);
+        StateStore b = connect("b", SECRET);
+        a.addMember("limbo", UUID.randomUUID());
+        b.addMember("limbo", UUID.randomUUID());
+        await(() -> a.getMemberCount("limbo") == 2 && b.getMemberCount("limbo") == 2);
+
+        server.stop();
+        server = null;
+        // Each side keeps only its own entry while the server is gone
+        await(() -> a.getMemberCount("limbo") == 1 && b.getMemberCount("limbo") == 1);
+
+        startServer(port);
+        await(() -> a.getMemberCount("limbo") == 2 && b.getMemberCount("limbo") == 2);
+    }
+
+    @Test
+    void wrongSecretIsRejected() throws Exception {
+        startServer(0);
+        StateStore a = connect("a", SECRET);
+        StateStore intruder = connect("intruder", "wrong");
+        a.addMember("limbo", UUID.randomUUID());
+        intruder.addMember("limbo", UUID.randomUUID());
+
+        StateStore b = connect("b", SECRET);
+        await(() -> b.getMemberCount("limbo") == 1);
+        Thread.sleep(200);
+        assertEquals(1, b.getMemberCount("limbo"));
+        assertEquals(1, intruder.getMemberCount("limbo"));
+    }
+
+    @Test
+    void clientCannotActForAnotherProxy() throws Exception {
+        startServer(0);
+        StateStore a = connect("a", SECRET);
+        StateStore b = connect("b", SECRET);
+        a.addMember("limbo", UUID.randomUUID());
+        await(() -> b.getMemberCount("limbo") == 1);
+
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            StoreFrames.writeHello(out, "evil", SECRET);
+            out.write(StoreFrames.encode(List.of(StoreOp.proxyGone("a"))));
+            out.flush();
+
+            // The server hangs up instead of relaying the frame; the snapshot may or may not get out first
+            socket.setSoTimeout((int) TIMEOUT_MS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (readFrameOrEnd(in) != null) {
+                // Skip the snapshot
+            }
+        }
+
+        Thread.sleep(200);
+        assertEquals(1, b.getMemberCount("limbo"));
+    }
+
+    private void startServer(int port) throws IOException {
+        server = new StateStoreServer("127.0.0.1", port, SECRET, NOPLogger.NOP_LOGGER);
+        server.start();
+    }
+
+    private StateStore connect(String proxy, String secret) throws Exception {
+        NetworkStateStore store = new NetworkStateStore(proxy, "127.0.0.1", server.getPort(), secret, 10, NOPLogger.NOP_LOGGER);
+        store.start();
+        stores.add(store);
+        if (secret.equals(SECRET)) {
+            await(store::isConnected);
+        }
+        return store;
+    }
+
+    private boolean serverHas(String limbo, int members) {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            StoreFrames.writeHello(out, "observer-" + UUID.randomUUID(), SECRET);
+            out.flush();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            return StoreFrames.decode(StoreFrames.readFrame(in)).stream()
+                    .filter(op -> op.type == StoreOp.JOIN && op.key.equals(limbo))
+                    .count() == members;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] readFrameOrEnd(DataInputStream in) {
+        try {
+            return StoreFrames.readFrame(in);
+        } catch (SocketTimeoutException e) {
+            return fail("Server did not close the connection");
+        } catch (IOException e) {
+            // Reset by the server counts as hanging up
+            return null;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within " + TIMEOUT_MS + "ms");
+            }
+            Thread.sleep(10);
+        }
+    }
+}